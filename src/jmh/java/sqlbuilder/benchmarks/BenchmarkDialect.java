@@ -0,0 +1,27 @@
+package sqlbuilder.benchmarks;
+
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.dialects.*;
+
+import java.util.function.Supplier;
+
+/**
+ * The dialects every benchmark is run against.
+ */
+public enum BenchmarkDialect {
+    H2(H2Dialect::new),
+    POSTGRES(PostgresDialect::new),
+    ORACLE(OracleDialect::new),
+    MSSQL(MsSQLDialect::new),
+    DB2(DB2Dialect::new);
+
+    private final Supplier<SqlDialect> factory;
+
+    BenchmarkDialect(Supplier<SqlDialect> factory) {
+        this.factory = factory;
+    }
+
+    public SqlDialect create() {
+        return factory.get();
+    }
+}
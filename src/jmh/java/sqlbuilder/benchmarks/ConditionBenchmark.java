@@ -0,0 +1,79 @@
+package sqlbuilder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sqlbuilder.Query;
+import sqlbuilder.SelectBuilder;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.expressions.Condition;
+import sqlbuilder.expressions.Expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering of deep condition chains, large IN lists and nested EXISTS subqueries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConditionBenchmark {
+    @Param
+    public BenchmarkDialect dialect;
+
+    @Param({"10", "100"})
+    public int chainDepth;
+
+    @Param({"10", "1000"})
+    public int inListSize;
+
+    @Param({"3"})
+    public int existsDepth;
+
+    private SelectBuilder deepChain;
+    private SelectBuilder largeIn;
+    private SelectBuilder nestedExists;
+
+    @Setup
+    public void setUp() {
+        SqlDialect sqlDialect = dialect.create();
+
+        Condition chain = Expression.eq("c0", 0);
+        for (int i = 1; i < chainDepth; i++) {
+            chain = i % 2 == 0 ? chain.and().eq("c" + i, i) : chain.or().gt("c" + i, i);
+        }
+        deepChain = new SelectBuilder(sqlDialect).from("t").where(chain);
+
+        List<Object> values = new ArrayList<>(inListSize);
+        for (int i = 0; i < inListSize; i++) {
+            values.add(i);
+        }
+        largeIn = new SelectBuilder(sqlDialect).from("t").where(Expression.in("id", values));
+
+        SelectBuilder inner = new SelectBuilder(sqlDialect).select("id").from("t" + existsDepth)
+                .where(Expression.eq("level", existsDepth));
+        for (int level = existsDepth - 1; level >= 0; level--) {
+            inner = new SelectBuilder(sqlDialect).select("id").from("t" + level)
+                    .where(Expression.eq("level", level).and().exists(inner));
+        }
+        nestedExists = inner;
+    }
+
+    @Benchmark
+    public Query deepConditionChain() {
+        return deepChain.build();
+    }
+
+    @Benchmark
+    public Query largeInList() {
+        return largeIn.build();
+    }
+
+    @Benchmark
+    public Query nestedExistsSubqueries() {
+        return nestedExists.build();
+    }
+}
@@ -0,0 +1,66 @@
+package sqlbuilder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sqlbuilder.DeleteBuilder;
+import sqlbuilder.InsertBuilder;
+import sqlbuilder.Query;
+import sqlbuilder.UpdateBuilder;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.expressions.Expression;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code build()} of the INSERT, UPDATE and DELETE builders.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CrudBenchmark {
+    @Param
+    public BenchmarkDialect dialect;
+
+    private InsertBuilder insert;
+    private UpdateBuilder update;
+    private DeleteBuilder delete;
+
+    @Setup
+    public void setUp() {
+        SqlDialect sqlDialect = dialect.create();
+
+        insert = new InsertBuilder(sqlDialect)
+                .into("users")
+                .value("id", 1)
+                .value("name", "John Doe")
+                .value("email", "john@example.com")
+                .value("status", "active");
+
+        update = new UpdateBuilder(sqlDialect)
+                .table("users")
+                .set("name", "Jane Doe")
+                .set("status", "inactive")
+                .where(Expression.eq("id", 1).and().neq("status", "deleted"));
+
+        delete = new DeleteBuilder(sqlDialect)
+                .from("users")
+                .where(Expression.eq("status", "deleted").or().lt("last_login", 20200101));
+    }
+
+    @Benchmark
+    public Query insert() {
+        return insert.build();
+    }
+
+    @Benchmark
+    public Query update() {
+        return update.build();
+    }
+
+    @Benchmark
+    public Query delete() {
+        return delete.build();
+    }
+}
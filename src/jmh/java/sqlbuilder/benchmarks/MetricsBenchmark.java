@@ -0,0 +1,51 @@
+package sqlbuilder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sqlbuilder.Query;
+import sqlbuilder.SelectBuilder;
+import sqlbuilder.dialects.PostgresDialect;
+import sqlbuilder.expressions.Expression;
+import sqlbuilder.metrics.QueryMetrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of recording build times, comparing builders without metrics to builders
+ * recording into a registry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+    private SelectBuilder plain;
+    private SelectBuilder measured;
+
+    @Setup
+    public void setUp() {
+        PostgresDialect dialect = new PostgresDialect();
+        plain = select(dialect);
+        measured = select(dialect).useMetrics(new QueryMetrics());
+    }
+
+    private static SelectBuilder select(PostgresDialect dialect) {
+        return new SelectBuilder(dialect)
+                .select("id", "name", "email")
+                .from("users")
+                .where(Expression.eq("status", "active").and().gt("age", 18))
+                .orderBy("id").asc()
+                .limit(20);
+    }
+
+    @Benchmark
+    public Query disabled() {
+        return plain.build();
+    }
+
+    @Benchmark
+    public Query enabled() {
+        return measured.build();
+    }
+}
@@ -0,0 +1,90 @@
+package sqlbuilder.benchmarks;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sqlbuilder.Query;
+import sqlbuilder.SelectBuilder;
+import sqlbuilder.dialects.PostgresDialect;
+import sqlbuilder.execution.PipelineResults;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.expressions.Expression;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares executing independent queries one by one with executing them as a pipeline in one
+ * round trip, against a local H2 server speaking the PostgreSQL protocol.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PipelineBenchmark {
+    @Param({"2", "5", "10"})
+    public int queries;
+
+    private Server server;
+    private Connection connection;
+    private QueryExecutor executor;
+    private List<Query> batch;
+
+    @Setup
+    public void setUp() throws SQLException {
+        server = Server.createPgServer("-pgPort", "0", "-ifNotExists", "-key", "bench", "mem:bench").start();
+        connection = DriverManager.getConnection("jdbc:postgresql://localhost:" + server.getPort() + "/bench", "sa", "sa");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE users (\"id\" INT PRIMARY KEY, \"name\" VARCHAR(50))");
+            ddl.execute("INSERT INTO users SELECT \"X\", 'user' || \"X\" FROM SYSTEM_RANGE(1, 1000)");
+        }
+        executor = new QueryExecutor(connection);
+
+        PostgresDialect dialect = new PostgresDialect();
+        batch = new ArrayList<>();
+        for (int i = 0; i < queries; i++) {
+            batch.add(new SelectBuilder(dialect).from("users").select("id", "name")
+                    .where(Expression.gt("id", i * 50)).orderBy("id").asc().limit(10).build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        executor.close();
+        connection.close();
+        server.stop();
+    }
+
+    private static void consume(ResultSet resultSet, Blackhole blackhole) throws SQLException {
+        while (resultSet.next()) {
+            blackhole.consume(resultSet.getInt(1));
+            blackhole.consume(resultSet.getString(2));
+        }
+    }
+
+    @Benchmark
+    public void oneByOne(Blackhole blackhole) throws SQLException {
+        for (Query query : batch) {
+            try (ResultSet resultSet = executor.executeQuery(query)) {
+                consume(resultSet, blackhole);
+            }
+        }
+    }
+
+    @Benchmark
+    public void pipelined(Blackhole blackhole) throws SQLException {
+        try (PipelineResults results = executor.pipeline(batch)) {
+            while (results.hasNext()) {
+                consume(results.next(), blackhole);
+            }
+        }
+    }
+}
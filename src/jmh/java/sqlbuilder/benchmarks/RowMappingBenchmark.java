@@ -0,0 +1,114 @@
+package sqlbuilder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sqlbuilder.execution.RowMapper;
+import sqlbuilder.execution.RowMappers;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping the rows of an in-memory H2 result set to records by hand, with the generated
+ * mappers of {@link RowMappers} and with reflection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMappingBenchmark {
+    public record Account(long id, String name, int age, BigDecimal balance, LocalDate createdAt) {
+    }
+
+    @Param({"1000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+
+    private final RowMapper<Account> generated = RowMappers.of(Account.class);
+    private final RowMapper<Account> reflective = reflectiveMapper(Account.class);
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:mapping");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE accounts (id BIGINT, name VARCHAR(50), age INT, balance DECIMAL(10, 2), created_at DATE)");
+            ddl.execute("INSERT INTO accounts SELECT X, 'user' || X, MOD(X, 90), X / 3.0, DATEADD('DAY', X, DATE '2024-01-01') "
+                    + "FROM SYSTEM_RANGE(1, " + rows + ")");
+        }
+        statement = connection.prepareStatement("SELECT id, name, age, balance, created_at FROM accounts",
+                ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        resultSet = statement.executeQuery();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private void mapAll(RowMapper<Account> mapper, Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            blackhole.consume(mapper.map(resultSet));
+        }
+    }
+
+    @Benchmark
+    public void handWritten(Blackhole blackhole) throws SQLException {
+        mapAll(rs -> new Account(rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getBigDecimal(4),
+                rs.getObject(5, LocalDate.class)), blackhole);
+    }
+
+    @Benchmark
+    public void generated(Blackhole blackhole) throws SQLException {
+        mapAll(generated, blackhole);
+    }
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) throws SQLException {
+        mapAll(reflective, blackhole);
+    }
+
+    /**
+     * The usual reflective approach: look up every column by name and call the constructor reflectively.
+     */
+    private static <T extends Record> RowMapper<T> reflectiveMapper(Class<T> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        String[] columns = new String[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+            columns[i] = components[i].getName().replaceAll("([A-Z])", "_$1");
+        }
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor(types);
+            return rs -> {
+                Object[] arguments = new Object[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    Object value = rs.getObject(columns[i]);
+                    arguments[i] = value instanceof java.sql.Date date ? date.toLocalDate() : value;
+                }
+                try {
+                    return constructor.newInstance(arguments);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package sqlbuilder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sqlbuilder.Query;
+import sqlbuilder.SelectBuilder;
+import sqlbuilder.StatementCache;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.expressions.Expression;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SelectBuilder#build()} for simple, wide and multi-join SELECT statements.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectBenchmark {
+    private static final int WIDE_COLUMN_COUNT = 50;
+
+    @Param
+    public BenchmarkDialect dialect;
+
+    private SelectBuilder simple;
+    private SelectBuilder wide;
+    private SelectBuilder multiJoin;
+    private SelectBuilder cachedMultiJoin;
+
+    @Setup
+    public void setUp() {
+        SqlDialect sqlDialect = dialect.create();
+
+        simple = new SelectBuilder(sqlDialect)
+                .select("id", "name", "email")
+                .from("users")
+                .where(Expression.eq("id", 1));
+
+        String[] columns = new String[WIDE_COLUMN_COUNT];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = "u.column_" + i;
+        }
+        wide = new SelectBuilder(sqlDialect)
+                .select(columns)
+                .from("users", "u")
+                .where(Expression.eq("u.status", "active"))
+                .orderBy("u.column_0").asc()
+                .limit(100);
+
+        multiJoin = new SelectBuilder(sqlDialect, "app")
+                .select("u.name", "o.id", "p.name", "c.name")
+                .from("users", "u")
+                .join("orders", "o", Expression.eq("u.id", Expression.column("o.user_id")))
+                .leftJoin("order_items", "oi", Expression.eq("o.id", Expression.column("oi.order_id")))
+                .join("products", "p", Expression.eq("oi.product_id", Expression.column("p.id")))
+                .leftJoin("categories", "c", Expression.eq("p.category_id", Expression.column("c.id")))
+                .where(Expression.eq("u.status", "active").and().gt("o.total", 100))
+                .groupBy("u.name", "o.id", "p.name", "c.name")
+                .orderBy("u.name").asc();
+
+        cachedMultiJoin = new SelectBuilder(sqlDialect, "app")
+                .useStatementCache(new StatementCache(16))
+                .select("u.name", "o.id", "p.name", "c.name")
+                .from("users", "u")
+                .join("orders", "o", Expression.eq("u.id", Expression.column("o.user_id")))
+                .leftJoin("order_items", "oi", Expression.eq("o.id", Expression.column("oi.order_id")))
+                .join("products", "p", Expression.eq("oi.product_id", Expression.column("p.id")))
+                .leftJoin("categories", "c", Expression.eq("p.category_id", Expression.column("c.id")))
+                .where(Expression.eq("u.status", "active").and().gt("o.total", 100))
+                .groupBy("u.name", "o.id", "p.name", "c.name")
+                .orderBy("u.name").asc();
+    }
+
+    @Benchmark
+    public Query simpleSelect() {
+        return simple.build();
+    }
+
+    @Benchmark
+    public Query wideSelect() {
+        return wide.build();
+    }
+
+    @Benchmark
+    public Query multiJoinSelect() {
+        return multiJoin.build();
+    }
+
+    @Benchmark
+    public Query cachedMultiJoinSelect() {
+        return cachedMultiJoin.build();
+    }
+}
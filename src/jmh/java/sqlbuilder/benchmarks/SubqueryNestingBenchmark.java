@@ -0,0 +1,51 @@
+package sqlbuilder.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import sqlbuilder.Query;
+import sqlbuilder.SelectBuilder;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.expressions.Expression;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how building scales with the nesting depth of EXISTS subqueries inside IN subqueries.
+ * <p>
+ * Every nested builder is rendered once per build, so the average time per operation
+ * should grow linearly with {@code depth}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SubqueryNestingBenchmark {
+    @Param({"H2"})
+    public BenchmarkDialect dialect;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int depth;
+
+    private SelectBuilder nested;
+
+    @Setup
+    public void setUp() {
+        SqlDialect sqlDialect = dialect.create();
+
+        SelectBuilder inner = new SelectBuilder(sqlDialect).select("id").from("t0")
+                .where(Expression.eq("level", 0));
+        for (int level = 1; level <= depth; level++) {
+            SelectBuilder exists = new SelectBuilder(sqlDialect).select("id").from("e" + level)
+                    .where(Expression.eq("level", level).and().in("id", inner));
+            inner = new SelectBuilder(sqlDialect).select("id").from("t" + level)
+                    .where(Expression.exists(exists));
+        }
+        nested = inner;
+    }
+
+    @Benchmark
+    public Query nestedSubqueries() {
+        return nested.build();
+    }
+}
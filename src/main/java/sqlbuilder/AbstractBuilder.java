@@ -1,7 +1,15 @@
 package sqlbuilder;
 
+import sqlbuilder.dialects.InListPadding;
 import sqlbuilder.dialects.SqlDialect;
 import sqlbuilder.exceptions.ValueCannotBeEmptyException;
+import sqlbuilder.expressions.CompositeCondition;
+import sqlbuilder.expressions.Condition;
+import sqlbuilder.expressions.ConditionOptimizer;
+import sqlbuilder.metrics.Phase;
+import sqlbuilder.metrics.QueryMetrics;
+
+import java.util.List;
 
 /**
  * Base class for SQL builders, providing common fields and utility methods.
@@ -11,6 +19,23 @@ import sqlbuilder.exceptions.ValueCannotBeEmptyException;
 public abstract class AbstractBuilder<T extends AbstractBuilder<T>> {
     protected final SqlDialect dialect;
     protected final String schema;
+    private StatementCache statementCache;
+    private InListPadding inListPadding;
+    private QueryMetrics metrics;
+    private ConditionOptimizer conditionOptimizer;
+    private volatile Optimized optimizedWhere;
+    private volatile Optimized optimizedHaving;
+    private final BindContext bindContext = new BindContext() {
+        @Override
+        public SqlDialect getDialect() {
+            return dialect;
+        }
+
+        @Override
+        public InListPadding getInListPadding() {
+            return inListPadding;
+        }
+    };
 
     protected AbstractBuilder(SqlDialect dialect) {
         this(dialect, null);
@@ -47,12 +72,283 @@ public abstract class AbstractBuilder<T extends AbstractBuilder<T>> {
         }
     }
 
+    /**
+     * Uses a statement cache for this builder, so repeated builds of the same shape reuse the rendered SQL.
+     *
+     * @param statementCache the cache to use, or null to render every build
+     * @return this builder instance
+     */
+    public T useStatementCache(StatementCache statementCache) {
+        this.statementCache = statementCache;
+        return self();
+    }
+
+    /**
+     * Records the build time of this builder in a metrics registry, under its statement text.
+     *
+     * @param metrics the registry to record in, or null to disable metrics
+     * @return this builder instance
+     */
+    public T useMetrics(QueryMetrics metrics) {
+        this.metrics = metrics;
+        return self();
+    }
+
+    /**
+     * Sets the padding applied to IN lists of values in this statement, overriding the padding of the dialect.
+     *
+     * @param inListPadding the padding, or null to use the padding of the dialect
+     * @return this builder instance
+     */
+    public T inListPadding(InListPadding inListPadding) {
+        this.inListPadding = inListPadding;
+        return self();
+    }
+
+    /**
+     * Optimizes the WHERE and HAVING conditions of this statement before rendering, e.g. merging
+     * {@code a = 1 OR a = 2} into {@code a IN (1, 2)}. Conditions of subqueries are optimized by
+     * the optimizer of the subquery builder.
+     *
+     * @param conditionOptimizer the optimizer, e.g. {@link ConditionOptimizer#defaults()}, or null to render conditions as given
+     * @return this builder instance
+     */
+    public T optimizeConditions(ConditionOptimizer conditionOptimizer) {
+        this.conditionOptimizer = conditionOptimizer;
+        return self();
+    }
+
+    /**
+     * Copies the statement cache, metrics registry, IN list padding and condition optimizer of another builder.
+     *
+     * @param other the builder to copy from
+     */
+    void copySettings(AbstractBuilder<?> other) {
+        this.statementCache = other.statementCache;
+        this.inListPadding = other.inListPadding;
+        this.metrics = other.metrics;
+        this.conditionOptimizer = other.conditionOptimizer;
+    }
+
+    /**
+     * Applies the condition optimizer of this builder to a condition.
+     *
+     * @param condition the condition, may be null
+     * @return the condition to render, or null if there is none or it always holds
+     */
+    private Condition optimize(Condition condition) {
+        return conditionOptimizer == null || condition == null ? condition : conditionOptimizer.optimize(condition);
+    }
+
+    /**
+     * Combines WHERE conditions with AND and applies the condition optimizer of this builder.
+     * The result is kept until the conditions or the optimizer change, so counting, collecting and
+     * rendering a build share one optimized tree.
+     *
+     * @param conditions the conditions, which must not be modified in place
+     * @return the condition to render, or null if there is none or it always holds
+     */
+    Condition whereCondition(List<Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return null;
+        }
+        Optimized optimized = optimizedWhere;
+        if (optimized == null || optimized.source() != conditions || optimized.optimizer() != conditionOptimizer) {
+            Condition where = conditions.size() == 1 ? conditions.get(0) : new CompositeCondition("AND", conditions);
+            optimized = new Optimized(conditions, conditionOptimizer, optimize(where));
+            optimizedWhere = optimized;
+        }
+        return optimized.condition();
+    }
+
+    /**
+     * Applies the condition optimizer of this builder to the HAVING condition, keeping the result
+     * until the condition or the optimizer change.
+     *
+     * @param condition the condition, may be null
+     * @return the condition to render, or null if there is none or it always holds
+     */
+    Condition havingCondition(Condition condition) {
+        if (conditionOptimizer == null || condition == null) {
+            return condition;
+        }
+        Optimized optimized = optimizedHaving;
+        if (optimized == null || optimized.source() != condition || optimized.optimizer() != conditionOptimizer) {
+            optimized = new Optimized(condition, conditionOptimizer, conditionOptimizer.optimize(condition));
+            optimizedHaving = optimized;
+        }
+        return optimized.condition();
+    }
+
+    /**
+     * Appends an optional condition to a shape, marking whether it is present.
+     *
+     * @param shape     the statement shape
+     * @param condition the condition, may be null
+     */
+    static void appendWhereShape(StatementShape shape, Condition condition) {
+        shape.add(condition != null);
+        if (condition != null) {
+            condition.appendShape(shape);
+        }
+    }
+
+    /**
+     * Applies the settings of this builder to a render context.
+     *
+     * @param context the render context
+     * @return the prepared context
+     */
+    <C extends RenderContext> C prepare(C context) {
+        context.setInListPadding(inListPadding);
+        return context;
+    }
+
     /**
      * Builds the SQL query.
      *
      * @return the constructed Query object
      */
-    public abstract Query build();
+    public Query build() {
+        if (metrics == null) {
+            return buildQuery();
+        }
+        long start = System.nanoTime();
+        Query query = buildQuery();
+        metrics.record(query.getStatement(), Phase.BUILD, System.nanoTime() - start);
+        return query;
+    }
+
+    private Query buildQuery() {
+        if (statementCache != null) {
+            return statementCache.build(this);
+        }
+        return renderContext().toQuery();
+    }
+
+    /**
+     * Renders the statement into a context prepared with the settings of this builder.
+     *
+     * @return the render context holding the statement and its parameters
+     */
+    RenderContext renderContext() {
+        int parameterCount = countParameters();
+        // statement cache hits share the shape of a rendered statement, so checking here covers them
+        if (parameterCount > dialect.getMaxParameterCount()) {
+            throw new IllegalStateException("The statement has " + parameterCount + " parameters but the dialect allows at most "
+                    + dialect.getMaxParameterCount() + "; bind large IN lists with a single-parameter IN list strategy");
+        }
+        RenderContext context = prepare(new RenderContext(dialect, RenderContext.DEFAULT_CAPACITY, parameterCount));
+        render(context);
+        return context;
+    }
+
+    /**
+     * Returns the shape of the statement as built with the settings of this builder.
+     *
+     * @return the statement shape
+     */
+    StatementShape shape() {
+        StatementShape shape = new StatementShape(dialect, inListPadding);
+        appendShape(shape);
+        return shape;
+    }
+
+    /**
+     * Collects the parameters of the statement as built, without rendering any SQL.
+     *
+     * @return the parameters
+     */
+    ParameterArray collectParameters() {
+        ParameterArray parameters = new ParameterArray(countParameters(), bindContext);
+        collectBoundParameters(parameters);
+        return parameters;
+    }
+
+    /**
+     * Appends the SQL statement to the render context and registers its parameters.
+     *
+     * @param context the render context
+     */
+    public abstract void render(RenderContext context);
+
+    /**
+     * Appends the elements the SQL of the statement depends on to a shape, without rendering it.
+     * Everything that changes the rendered SQL must change the shape.
+     *
+     * @param shape the statement shape
+     */
+    public abstract void appendShape(StatementShape shape);
+
+    /**
+     * Returns the number of parameters the statement registers when built.
+     *
+     * @return the parameter count
+     */
+    public int countParameters() {
+        return countBoundParameters(bindContext);
+    }
+
+    /**
+     * Returns the number of parameters the statement registers when rendered in the given context,
+     * e.g. as a subquery. A context without a dialect counts the parameters of a build.
+     *
+     * @param context the bind context
+     * @return the parameter count
+     */
+    public int countParameters(BindContext context) {
+        return countBoundParameters(context.getDialect() != null ? context : bindContext);
+    }
+
+    /**
+     * Writes the parameters of the statement, in statement order, into the sink without rendering any SQL.
+     * They are collected as rendered in the context of the sink, or as built if the sink has no dialect.
+     *
+     * @param sink the parameter sink
+     */
+    public void collectParameters(ParameterSink sink) {
+        if (sink.getDialect() != null) {
+            collectBoundParameters(sink);
+            return;
+        }
+        collectBoundParameters(new ParameterSink() {
+            @Override
+            public void accept(Object parameter) {
+                sink.accept(parameter);
+            }
+
+            @Override
+            public SqlDialect getDialect() {
+                return dialect;
+            }
+
+            @Override
+            public InListPadding getInListPadding() {
+                return inListPadding;
+            }
+        });
+    }
+
+    /**
+     * Returns the number of parameters the statement registers when rendered in a context with a dialect.
+     *
+     * @param context the bind context
+     * @return the parameter count
+     */
+    protected abstract int countBoundParameters(BindContext context);
+
+    /**
+     * Writes the parameters of the statement, as rendered in the context of the sink, into the sink.
+     *
+     * @param sink the parameter sink, which has a dialect
+     */
+    protected abstract void collectBoundParameters(ParameterSink sink);
+
+    /**
+     * An optimized condition with the source and optimizer it was computed from.
+     */
+    private record Optimized(Object source, ConditionOptimizer optimizer, Condition condition) {
+    }
 
     /**
      * Returns this builder instance cast to the specific builder type.
@@ -0,0 +1,53 @@
+package sqlbuilder;
+
+import sqlbuilder.dialects.InListPadding;
+import sqlbuilder.dialects.SqlDialect;
+
+/**
+ * The settings that decide which bind values a statement registers: the dialect chooses how IN lists
+ * of values are bound and the padding how many placeholders they are rendered with.
+ * <p>
+ * Counting and collecting parameters with the context a statement is rendered with yields exactly
+ * the parameters of its placeholders.
+ */
+public interface BindContext {
+    /**
+     * Binds every value as given, one parameter per value.
+     */
+    BindContext NONE = of(null, null);
+
+    /**
+     * Returns the dialect the statement is rendered with.
+     *
+     * @return the SQL dialect, or null to bind every value as given
+     */
+    SqlDialect getDialect();
+
+    /**
+     * Returns the padding applied to IN lists of values.
+     *
+     * @return the IN list padding, or null to use the padding of the dialect
+     */
+    InListPadding getInListPadding();
+
+    /**
+     * Creates a bind context.
+     *
+     * @param dialect       the SQL dialect, or null to bind every value as given
+     * @param inListPadding the IN list padding, or null to use the padding of the dialect
+     * @return the bind context
+     */
+    static BindContext of(SqlDialect dialect, InListPadding inListPadding) {
+        return new BindContext() {
+            @Override
+            public SqlDialect getDialect() {
+                return dialect;
+            }
+
+            @Override
+            public InListPadding getInListPadding() {
+                return inListPadding;
+            }
+        };
+    }
+}
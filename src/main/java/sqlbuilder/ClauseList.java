@@ -0,0 +1,102 @@
+package sqlbuilder;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable list of clause elements that shares its storage with the lists it was appended from.
+ * <p>
+ * Appending returns a new list. The first list appended from a given length writes into the free
+ * capacity of the shared array; appending to the same list again, or to an older list, copies the
+ * elements instead. Every list only reads the slots below its own size, which never change once
+ * written, so forked builders share their clauses without copying them and can be appended to
+ * from different threads.
+ *
+ * @param <E> the type of the elements
+ */
+final class ClauseList<E> extends AbstractList<E> implements RandomAccess {
+    private static final ClauseList<?> EMPTY = new ClauseList<>(new Storage(0), 0);
+
+    private final Storage storage;
+    private final int size;
+
+    private ClauseList(Storage storage, int size) {
+        this.storage = storage;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @param <E> the type of the elements
+     * @return the empty list
+     */
+    @SuppressWarnings("unchecked")
+    static <E> ClauseList<E> empty() {
+        return (ClauseList<E>) EMPTY;
+    }
+
+    /**
+     * Returns a list with an element appended.
+     *
+     * @param element the element
+     * @return the new list
+     */
+    ClauseList<E> with(E element) {
+        Storage target = storage;
+        if (size == target.elements.length || !target.used.compareAndSet(size, size + 1)) {
+            target = new Storage(Math.max(4, size * 2));
+            System.arraycopy(storage.elements, 0, target.elements, 0, size);
+            target.used.set(size + 1);
+        }
+        target.elements[size] = element;
+        return new ClauseList<>(target, size + 1);
+    }
+
+    /**
+     * Returns a list with elements appended.
+     *
+     * @param elements the elements
+     * @return the new list
+     */
+    ClauseList<E> withAll(Iterable<? extends E> elements) {
+        ClauseList<E> list = this;
+        for (E element : elements) {
+            list = list.with(element);
+        }
+        return list;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return (E) storage.elements[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(storage.elements, size);
+    }
+
+    /**
+     * The array shared by the lists appended from each other, with the number of slots claimed so far.
+     */
+    private static final class Storage {
+        final Object[] elements;
+        final AtomicInteger used = new AtomicInteger();
+
+        Storage(int capacity) {
+            this.elements = new Object[capacity];
+        }
+    }
+}
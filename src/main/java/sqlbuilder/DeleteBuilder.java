@@ -5,16 +5,12 @@ import sqlbuilder.exceptions.ValueCannotBeEmptyException;
 import sqlbuilder.expressions.Condition;
 import sqlbuilder.expressions.*;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.StringJoiner;
-
 /**
  * A builder for creating SQL DELETE queries in a fluent manner.
  */
 public class DeleteBuilder extends AbstractBuilder<DeleteBuilder> {
     private String table;
-    private final List<Condition> conditions = new ArrayList<>();
+    private ClauseList<Condition> conditions = ClauseList.empty();
 
     /**
      * Constructs a DeleteBuilder with a specific SQL dialect.
@@ -57,38 +53,54 @@ public class DeleteBuilder extends AbstractBuilder<DeleteBuilder> {
      */
     public DeleteBuilder where(Condition condition) {
         if (condition != null) {
-            conditions.add(condition);
+            conditions = conditions.with(condition);
         }
         return self();
     }
 
     /**
-     * Builds the SQL query.
+     * Appends the DELETE statement to the render context.
      *
-     * @return the constructed Query object
+     * @param context the render context
      * @throws IllegalStateException if no table was specified
      */
     @Override
-    public Query build() {
+    public void render(RenderContext context) {
         if (table == null || table.isBlank()) {
             throw new IllegalStateException("A table to delete from must be specified");
         }
 
-        StringJoiner statement = new StringJoiner(" ")
-                .add("DELETE FROM")
-                .add(table);
+        context.addTable(table);
+        context.append("DELETE FROM ").append(table);
+
+        Condition where = whereCondition(conditions);
+        if (where != null) {
+            context.append(" WHERE ");
+            where.render(context);
+        }
+    }
+
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(DeleteBuilder.class).add(table);
+        appendWhereShape(shape, whereCondition(conditions));
+    }
 
-        Condition whereCondition = null;
-        if (!conditions.isEmpty()) {
-            statement.add("WHERE");
-            whereCondition = new CompositeCondition("AND", conditions);
-            statement.add(whereCondition.toSql(dialect));
+    @Override
+    protected int countBoundParameters(BindContext context) {
+        int count = 0;
+        Condition where = whereCondition(conditions);
+        if (where != null) {
+            count += where.countParameters(context);
         }
+        return count;
+    }
 
-        Query query = new Query(statement.toString());
-        if (whereCondition != null) {
-            whereCondition.getParameters().forEach(query::addParameter);
+    @Override
+    protected void collectBoundParameters(ParameterSink sink) {
+        Condition where = whereCondition(conditions);
+        if (where != null) {
+            where.collectParameters(sink);
         }
-        return query;
     }
 }
@@ -2,11 +2,15 @@ package sqlbuilder;
 
 import sqlbuilder.dialects.SqlDialect;
 import sqlbuilder.exceptions.ValueCannotBeEmptyException;
+import sqlbuilder.identifiers.Identifier;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.StringJoiner;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * A builder for creating SQL INSERT queries in a fluent manner.
@@ -14,6 +18,7 @@ import java.util.stream.Collectors;
 public class InsertBuilder extends AbstractBuilder<InsertBuilder> {
     private String table;
     private final Map<String, Object> values = new LinkedHashMap<>();
+    private final List<String> columns = new ArrayList<>();
 
     /**
      * Constructs an InsertBuilder with a specific SQL dialect.
@@ -61,6 +66,17 @@ public class InsertBuilder extends AbstractBuilder<InsertBuilder> {
         return self();
     }
 
+    /**
+     * Sets a declared column and its value for the insert operation.
+     *
+     * @param column the column
+     * @param value  the value to insert
+     * @return this builder instance
+     */
+    public InsertBuilder value(Identifier column, Object value) {
+        return value(column.getName(), value);
+    }
+
     /**
      * Sets multiple columns and their values for the insert operation.
      *
@@ -75,13 +91,173 @@ public class InsertBuilder extends AbstractBuilder<InsertBuilder> {
     }
 
     /**
-     * Builds the SQL query.
+     * Sets the columns of the rows inserted by {@link #buildRows(Iterator)}.
+     *
+     * @param columns the column names
+     * @return this builder instance
+     * @throws ValueCannotBeEmptyException if a column is null or blank
+     */
+    public InsertBuilder columns(String... columns) {
+        for (String column : columns) {
+            validateNotEmpty(column, "column");
+            this.columns.add(column);
+        }
+        return self();
+    }
+
+    /**
+     * Sets the declared columns of the rows inserted by {@link #buildRows(Iterator)}.
+     *
+     * @param columns the columns
+     * @return this builder instance
+     */
+    public InsertBuilder columns(Identifier... columns) {
+        for (Identifier column : columns) {
+            this.columns.add(column.getName());
+        }
+        return self();
+    }
+
+    /**
+     * Builds multi-row INSERT queries for the given rows.
+     * <p>
+     * Every row holds one value per column, in the order of {@link #columns(String...)}. The rows are
+     * read lazily and split into as many queries as needed to stay within the parameter, value,
+     * statement length and row limits of the dialect. All full chunks share the same statement text. Dialects
+     * without multi-row VALUES lists are rendered as {@code INSERT ALL}.
+     *
+     * @param rows the rows to insert
+     * @return an iterator over the queries
+     * @throws IllegalStateException if no table or columns were specified, or a single row exceeds the dialect limits
+     */
+    public Iterator<Query> buildRows(Iterator<? extends List<?>> rows) {
+        if (table == null || table.isBlank()) {
+            throw new IllegalStateException("A table to insert into must be specified");
+        }
+        if (columns.isEmpty()) {
+            throw new IllegalStateException("At least one column must be specified for a multi-row insert");
+        }
+        return new RowChunks(rows);
+    }
+
+    private String renderColumns() {
+        RenderContext context = new RenderContext(dialect);
+        context.append(table).append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                context.append(", ");
+            }
+            context.appendIdentifier(columns.get(i));
+        }
+        return context.append(')').getSql();
+    }
+
+    /**
+     * Splits rows into multi-row INSERT queries.
+     */
+    private final class RowChunks implements Iterator<Query> {
+        private final Iterator<? extends List<?>> rows;
+        private final int columnCount = columns.size();
+        private final String target = renderColumns();
+        private final Set<String> tables = Set.of(table);
+        private final String prefix;
+        private final String rowSql;
+        private final String separator;
+        private final String suffix;
+        private final int chunkSize;
+        private String fullStatement;
+        private int rowIndex;
+
+        RowChunks(Iterator<? extends List<?>> rows) {
+            this.rows = rows;
+
+            StringBuilder placeholders = new StringBuilder(columnCount * 3).append('(');
+            for (int i = 0; i < columnCount; i++) {
+                placeholders.append(i > 0 ? ", ?" : "?");
+            }
+            placeholders.append(')');
+
+            if (dialect.supportsMultiRowValues()) {
+                prefix = "INSERT INTO " + target + " VALUES ";
+                rowSql = placeholders.toString();
+                separator = ", ";
+                suffix = "";
+            } else {
+                prefix = "INSERT ALL";
+                rowSql = " INTO " + target + " VALUES " + placeholders;
+                separator = "";
+                suffix = " SELECT 1 FROM DUAL";
+            }
+
+            int byParameters = Math.min(dialect.getMaxParameterCount(), dialect.getMaxInsertValues()) / columnCount;
+            int byLength = (dialect.getMaxStatementLength() - prefix.length() - suffix.length() + separator.length())
+                    / (rowSql.length() + separator.length());
+            chunkSize = Math.min(dialect.getMaxInsertRows(), Math.min(byParameters, byLength));
+            if (chunkSize < 1) {
+                throw new IllegalStateException("A single row exceeds the statement limits of the dialect");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public Query next() {
+            if (!rows.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            ParameterArray parameters = new ParameterArray(chunkSize * columnCount);
+            int rowCount = 0;
+            while (rowCount < chunkSize && rows.hasNext()) {
+                List<?> row = rows.next();
+                if (row.size() != columnCount) {
+                    throw new IllegalArgumentException("Row " + rowIndex + " has " + row.size()
+                            + " values, but " + columnCount + " columns were specified");
+                }
+                for (Object value : row) {
+                    parameters.accept(value);
+                }
+                rowCount++;
+                rowIndex++;
+            }
+
+            String statement;
+            if (rowCount == chunkSize) {
+                if (fullStatement == null) {
+                    fullStatement = renderStatement(rowCount);
+                }
+                statement = fullStatement;
+            } else {
+                statement = renderStatement(rowCount);
+            }
+            return new Query(statement, parameters, dialect, tables);
+        }
+
+        private String renderStatement(int rowCount) {
+            StringBuilder sql = new StringBuilder(prefix.length() + suffix.length()
+                    + rowCount * (rowSql.length() + separator.length()));
+            sql.append(prefix);
+            for (int i = 0; i < rowCount; i++) {
+                if (i > 0) {
+                    sql.append(separator);
+                }
+                sql.append(rowSql);
+            }
+            return sql.append(suffix).toString();
+        }
+    }
+
+    /**
+     * Appends the INSERT statement to the render context.
      *
-     * @return the constructed Query object
+     * @param context the render context
      * @throws IllegalStateException if no table or values were specified
      */
     @Override
-    public Query build() {
+    public void render(RenderContext context) {
         if (table == null || table.isBlank()) {
             throw new IllegalStateException("A table to insert into must be specified");
         }
@@ -89,23 +265,46 @@ public class InsertBuilder extends AbstractBuilder<InsertBuilder> {
             throw new IllegalStateException("At least one column value must be specified for insert");
         }
 
-        String columns = values.keySet().stream()
-                .map(dialect::quote)
-                .collect(Collectors.joining(", "));
-        String placeHolders = values.keySet().stream()
-                .map(v -> "?")
-                .collect(Collectors.joining(", "));
-
-        String statement = new StringJoiner(" ")
-                .add("INSERT INTO")
-                .add(table)
-                .add("(" + columns + ")")
-                .add("VALUES")
-                .add("(" + placeHolders + ")")
-                .toString();
-
-        Query query = new Query(statement);
-        values.values().forEach(query::addParameter);
-        return query;
+        context.addTable(table);
+        context.append("INSERT INTO ").append(table).append(" (");
+        boolean first = true;
+        for (String column : values.keySet()) {
+            if (!first) {
+                context.append(", ");
+            }
+            context.appendIdentifier(column);
+            first = false;
+        }
+
+        context.append(") VALUES (");
+        first = true;
+        for (Object value : values.values()) {
+            if (!first) {
+                context.append(", ");
+            }
+            context.appendParameter(value);
+            first = false;
+        }
+        context.append(')');
+    }
+
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(InsertBuilder.class).add(table).add(values.size());
+        for (String column : values.keySet()) {
+            shape.add(column);
+        }
+    }
+
+    @Override
+    protected int countBoundParameters(BindContext context) {
+        return values.size();
+    }
+
+    @Override
+    protected void collectBoundParameters(ParameterSink sink) {
+        for (Object value : values.values()) {
+            sink.accept(value);
+        }
     }
 }
@@ -0,0 +1,220 @@
+package sqlbuilder;
+
+import sqlbuilder.identifiers.Identifier;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The ordering of a keyset (seek) pagination: a unique combination of columns, each sorted
+ * ascending or descending.
+ * <p>
+ * Instead of skipping rows with an offset, the next page is selected with a predicate on the key
+ * values of the last row of the previous page, so every page costs the same no matter how deep it
+ * is. The key values of a row are carried between pages as an opaque cursor token created by
+ * {@link #cursor(Object...)} or {@link #cursor(ResultSet)}. Key columns must not contain NULL.
+ * Keysets are immutable.
+ */
+public final class Keyset {
+    /**
+     * A column of the keyset with its sort direction.
+     *
+     * @param column     the column
+     * @param descending whether the column is sorted descending
+     */
+    public record Key(Identifier column, boolean descending) {
+    }
+
+    private final List<Key> keys;
+
+    private Keyset(List<Key> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Creates a keyset from its columns in sort order.
+     *
+     * @param first the first key
+     * @param more  further keys
+     * @return the keyset
+     */
+    public static Keyset of(Key first, Key... more) {
+        List<Key> keys = new ArrayList<>(more.length + 1);
+        keys.add(first);
+        keys.addAll(List.of(more));
+        return new Keyset(List.copyOf(keys));
+    }
+
+    /**
+     * Creates an ascending key.
+     *
+     * @param column the column name
+     * @return the key
+     */
+    public static Key asc(String column) {
+        return new Key(Identifier.of(column), false);
+    }
+
+    /**
+     * Creates a descending key.
+     *
+     * @param column the column name
+     * @return the key
+     */
+    public static Key desc(String column) {
+        return new Key(Identifier.of(column), true);
+    }
+
+    /**
+     * Returns the keys in sort order.
+     *
+     * @return the keys
+     */
+    public List<Key> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns whether all keys are sorted in the same direction.
+     *
+     * @return true if the directions are uniform
+     */
+    public boolean hasUniformDirection() {
+        for (Key key : keys) {
+            if (key.descending() != keys.get(0).descending()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the cursor token for a row from its key values.
+     *
+     * @param values the key values of the row, in key order
+     * @return the cursor token
+     * @throws IllegalArgumentException if the number of values doesn't match the keys, a value is null
+     *                                  or has an unsupported type
+     */
+    public String cursor(Object... values) {
+        if (values.length != keys.size()) {
+            throw new IllegalArgumentException("Expected " + keys.size() + " key values but got " + values.length);
+        }
+        StringBuilder token = new StringBuilder();
+        for (Object value : values) {
+            encode(token, value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates the cursor token for the current row of a result set, reading the key columns by name.
+     *
+     * @param resultSet the result set positioned on the last row of a page
+     * @return the cursor token
+     * @throws SQLException if a key column cannot be read
+     */
+    public String cursor(ResultSet resultSet) throws SQLException {
+        Object[] values = new Object[keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            String column = keys.get(i).column().getName();
+            Object value = resultSet.getObject(column.substring(column.lastIndexOf('.') + 1));
+            if (value instanceof Timestamp timestamp) {
+                value = timestamp.toLocalDateTime();
+            } else if (value instanceof java.sql.Date date) {
+                value = date.toLocalDate();
+            }
+            values[i] = value;
+        }
+        return cursor(values);
+    }
+
+    /**
+     * Decodes the key values of a cursor token.
+     *
+     * @param cursor the cursor token
+     * @return the key values in key order
+     * @throws IllegalArgumentException if the token is malformed or doesn't match the keys
+     */
+    public List<Object> decode(String cursor) {
+        String token;
+        try {
+            token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+
+        List<Object> values = new ArrayList<>(keys.size());
+        int position = 0;
+        try {
+            while (position < token.length()) {
+                char type = token.charAt(position);
+                int separator = token.indexOf(':', position + 1);
+                int length = Integer.parseInt(token, position + 1, separator, 10);
+                String text = token.substring(separator + 1, separator + 1 + length);
+                values.add(decode(type, text));
+                position = separator + 1 + length;
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        if (values.size() != keys.size()) {
+            throw new IllegalArgumentException("Cursor has " + values.size() + " values but the keyset has " + keys.size() + " keys");
+        }
+        return values;
+    }
+
+    private static void encode(StringBuilder token, Object value) {
+        char type;
+        if (value instanceof Long) {
+            type = 'L';
+        } else if (value instanceof Integer) {
+            type = 'I';
+        } else if (value instanceof String) {
+            type = 'S';
+        } else if (value instanceof BigDecimal) {
+            type = 'D';
+        } else if (value instanceof LocalDate) {
+            type = 'd';
+        } else if (value instanceof LocalDateTime) {
+            type = 't';
+        } else if (value instanceof Instant) {
+            type = 'i';
+        } else if (value instanceof UUID) {
+            type = 'U';
+        } else if (value instanceof Boolean) {
+            type = 'B';
+        } else if (value == null) {
+            throw new IllegalArgumentException("Key values must not be null");
+        } else {
+            throw new IllegalArgumentException("Unsupported key value type " + value.getClass().getName());
+        }
+        String text = value.toString();
+        token.append(type).append(text.length()).append(':').append(text);
+    }
+
+    private static Object decode(char type, String text) {
+        return switch (type) {
+            case 'L' -> Long.valueOf(text);
+            case 'I' -> Integer.valueOf(text);
+            case 'S' -> text;
+            case 'D' -> new BigDecimal(text);
+            case 'd' -> LocalDate.parse(text);
+            case 't' -> LocalDateTime.parse(text);
+            case 'i' -> Instant.parse(text);
+            case 'U' -> UUID.fromString(text);
+            case 'B' -> Boolean.valueOf(text);
+            default -> throw new IllegalArgumentException("Unknown value type " + type);
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package sqlbuilder;
+
+import sqlbuilder.dialects.InListPadding;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.expressions.Condition;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A parameter sink writing into an array that is sized up front and grows only if more
+ * parameters arrive than were counted.
+ */
+public final class ParameterArray implements ParameterSink {
+    private final BindContext context;
+    private Object[] parameters;
+    private int size;
+
+    /**
+     * Constructs a ParameterArray for the given number of parameters, collecting every value as given.
+     *
+     * @param capacity the expected number of parameters
+     */
+    public ParameterArray(int capacity) {
+        this(capacity, BindContext.NONE);
+    }
+
+    /**
+     * Constructs a ParameterArray for the given number of parameters, collecting them as they are
+     * bound in the given context.
+     *
+     * @param capacity the expected number of parameters
+     * @param context  the bind context
+     */
+    public ParameterArray(int capacity, BindContext context) {
+        this.context = context;
+        this.parameters = new Object[capacity];
+    }
+
+    /**
+     * Collects the parameters of a condition, with every value as given, into an exactly-sized list.
+     *
+     * @param condition the condition
+     * @return the parameters
+     */
+    public static List<Object> collect(Condition condition) {
+        return collect(condition, BindContext.NONE);
+    }
+
+    /**
+     * Collects the parameters of a condition, as they are bound in the given context, into an exactly-sized list.
+     *
+     * @param condition the condition
+     * @param context   the bind context
+     * @return the parameters
+     */
+    public static List<Object> collect(Condition condition, BindContext context) {
+        ParameterArray parameters = new ParameterArray(condition.countParameters(context), context);
+        condition.collectParameters(parameters);
+        return parameters.asList();
+    }
+
+    @Override
+    public SqlDialect getDialect() {
+        return context.getDialect();
+    }
+
+    @Override
+    public InListPadding getInListPadding() {
+        return context.getInListPadding();
+    }
+
+    @Override
+    public void accept(Object parameter) {
+        if (size == parameters.length) {
+            parameters = Arrays.copyOf(parameters, Math.max(8, size * 2));
+        }
+        parameters[size++] = parameter;
+    }
+
+    /**
+     * Returns the parameter at a position.
+     *
+     * @param index the position, starting at 0
+     * @return the parameter
+     */
+    public Object get(int index) {
+        return parameters[index];
+    }
+
+    /**
+     * Returns the number of collected parameters.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the collected parameters, trimmed to their exact size.
+     *
+     * @return the parameter array
+     */
+    public Object[] toArray() {
+        return size == parameters.length ? parameters : Arrays.copyOf(parameters, size);
+    }
+
+    /**
+     * Returns a list view of the collected parameters.
+     *
+     * @return the parameters
+     */
+    public List<Object> asList() {
+        return new View(this);
+    }
+
+    private static final class View extends AbstractList<Object> implements RandomAccess {
+        private final ParameterArray parameters;
+
+        private View(ParameterArray parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index < 0 || index >= parameters.size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return parameters.parameters[index];
+        }
+
+        @Override
+        public int size() {
+            return parameters.size;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package sqlbuilder;
+
+import sqlbuilder.dialects.InListPadding;
+import sqlbuilder.dialects.SqlDialect;
+
+/**
+ * Receives the bind values of a statement in statement order.
+ * <p>
+ * A sink is also the {@link BindContext} the values are collected for. By default it has no dialect,
+ * so every value is collected as given.
+ */
+@FunctionalInterface
+public interface ParameterSink extends BindContext {
+    /**
+     * Accepts the next bind value.
+     *
+     * @param parameter the bind value
+     */
+    void accept(Object parameter);
+
+    @Override
+    default SqlDialect getDialect() {
+        return null;
+    }
+
+    @Override
+    default InListPadding getInListPadding() {
+        return null;
+    }
+}
@@ -1,31 +1,103 @@
 package sqlbuilder;
 
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.execution.RowMapper;
+
 import java.sql.ResultSet;
-import java.util.ArrayList;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public class Query {
     private final String STATEMENT;
-    private final List<Object> parameters = new ArrayList<>();
+    private final ParameterArray parameters;
+    private final SqlDialect dialect;
+    private final Set<String> tables;
 
     public Query(String statement) {
+        this(statement, new ParameterArray(0), null, null);
+    }
+
+    Query(String statement, ParameterArray parameters, SqlDialect dialect, Set<String> tables) {
         this.STATEMENT = statement;
+        this.parameters = parameters;
+        this.dialect = dialect;
+        this.tables = tables;
     }
 
     public void addParameter(Object parameter) {
-        parameters.add(parameter);
+        parameters.accept(parameter);
     }
 
     public List<Object> getParameters() {
-        return parameters;
+        return parameters.asList();
+    }
+
+    public int getParameterCount() {
+        return parameters.size();
+    }
+
+    public Object getParameter(int index) {
+        return parameters.get(index);
     }
 
     public String getStatement() {
         return STATEMENT;
     }
 
-    public ResultSet execute() {
-        //TODO: implement execution of sql statement
-        return null;
+    /**
+     * Returns the dialect the statement was rendered for.
+     *
+     * @return the dialect, or null if the query was not built by a builder
+     */
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Returns the tables the statement reads or writes, including the tables of its subqueries.
+     *
+     * @return the table names, or null if the query was not built by a builder
+     */
+    public Set<String> getTables() {
+        return tables;
+    }
+
+    /**
+     * Executes this query and returns its rows.
+     *
+     * @param executor the executor to run the query on
+     * @return the result set, which must be closed by the caller
+     * @throws SQLException if the execution fails
+     */
+    public ResultSet execute(QueryExecutor executor) throws SQLException {
+        return executor.executeQuery(this);
+    }
+
+    /**
+     * Executes this query and streams its rows lazily.
+     *
+     * @param executor the executor to run the query on
+     * @param mapper   maps each row
+     * @param <T>      the type of the mapped rows
+     * @return the stream of mapped rows, which should be closed by the caller
+     * @throws SQLException if the execution fails
+     * @see QueryExecutor#stream(Query, RowMapper)
+     */
+    public <T> Stream<T> stream(QueryExecutor executor, RowMapper<T> mapper) throws SQLException {
+        return executor.stream(this, mapper);
+    }
+
+    /**
+     * Executes this query as an INSERT, UPDATE or DELETE statement.
+     *
+     * @param executor the executor to run the query on
+     * @return the number of affected rows
+     * @throws SQLException if the execution fails
+     */
+    public int executeUpdate(QueryExecutor executor) throws SQLException {
+        return executor.executeUpdate(this);
     }
 }
@@ -0,0 +1,103 @@
+package sqlbuilder;
+
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.expressions.Parameter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An immutable, precompiled statement with a binding plan.
+ * <p>
+ * A template is compiled once from a builder. Literal values of the builder are kept as they are,
+ * while every {@link Parameter} (see {@code Expression.param(int)}) becomes a slot that is filled
+ * by {@link #bind(Object...)}. Binding produces a {@link Query} without rendering or walking the
+ * builder tree. Templates are thread-safe.
+ */
+public final class QueryTemplate {
+    private static final int LITERAL = -1;
+
+    private final String statement;
+    private final SqlDialect dialect;
+    private final Set<String> tables;
+    private final Object[] literals;
+    private final int[] slots;
+    private final int argumentCount;
+
+    private QueryTemplate(String statement, SqlDialect dialect, Set<String> tables, Object[] literals, int[] slots, int argumentCount) {
+        this.statement = statement;
+        this.dialect = dialect;
+        this.tables = tables;
+        this.literals = literals;
+        this.slots = slots;
+        this.argumentCount = argumentCount;
+    }
+
+    /**
+     * Compiles a builder into a template.
+     *
+     * @param builder the builder to compile
+     * @return the template
+     * @throws IllegalArgumentException if a parameter index is smaller than 1
+     */
+    public static QueryTemplate compile(AbstractBuilder<?> builder) {
+        Query query = builder.build();
+        List<Object> parameters = query.getParameters();
+
+        Object[] literals = new Object[parameters.size()];
+        int[] slots = new int[parameters.size()];
+        int argumentCount = 0;
+        for (int i = 0; i < parameters.size(); i++) {
+            Object parameter = parameters.get(i);
+            if (parameter instanceof Parameter slot) {
+                if (slot.getIndex() < 1) {
+                    throw new IllegalArgumentException("Parameter index must be at least 1 but was " + slot.getIndex());
+                }
+                slots[i] = slot.getIndex() - 1;
+                argumentCount = Math.max(argumentCount, slot.getIndex());
+            } else {
+                slots[i] = LITERAL;
+                literals[i] = parameter;
+            }
+        }
+        return new QueryTemplate(query.getStatement(), query.getDialect(), query.getTables(), literals, slots, argumentCount);
+    }
+
+    /**
+     * Creates a query by binding arguments to the parameter slots of this template.
+     * The argument at position {@code n - 1} is bound to every {@code Expression.param(n)}.
+     *
+     * @param arguments the arguments
+     * @return the Query
+     * @throws IllegalArgumentException if the number of arguments doesn't match the template
+     */
+    public Query bind(Object... arguments) {
+        if (arguments.length != argumentCount) {
+            throw new IllegalArgumentException("Expected " + argumentCount + " arguments but got " + arguments.length);
+        }
+
+        ParameterArray parameters = new ParameterArray(slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            parameters.accept(slots[i] == LITERAL ? literals[i] : arguments[slots[i]]);
+        }
+        return new Query(statement, parameters, dialect, tables);
+    }
+
+    /**
+     * Returns the SQL statement of this template.
+     *
+     * @return the SQL string
+     */
+    public String getStatement() {
+        return statement;
+    }
+
+    /**
+     * Returns the number of arguments {@link #bind(Object...)} expects.
+     *
+     * @return the argument count
+     */
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+}
@@ -0,0 +1,276 @@
+package sqlbuilder;
+
+import sqlbuilder.dialects.InListPadding;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.identifiers.Identifier;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared state for rendering a statement in a single pass.
+ * <p>
+ * Builders, joins, conditions and operands append their SQL fragments into one growable buffer
+ * and register their bind values in the same pass, so a whole statement, including nested
+ * subqueries, is produced without intermediate strings or parameter lists.
+ */
+public class RenderContext implements ParameterSink {
+    static final int DEFAULT_CAPACITY = 128;
+    private static final int DEFAULT_PARAMETER_CAPACITY = 8;
+
+    private final SqlDialect dialect;
+    private final StringBuilder sql;
+    private final ParameterArray parameters;
+    private Map<AbstractBuilder<?>, int[]> renderedSubqueries;
+    private Set<String> tables;
+    private InListPadding inListPadding;
+
+    /**
+     * Constructs a RenderContext for a specific SQL dialect.
+     *
+     * @param dialect the SQL dialect to use
+     */
+    public RenderContext(SqlDialect dialect) {
+        this(dialect, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a RenderContext for a specific SQL dialect with an initial buffer capacity.
+     *
+     * @param dialect  the SQL dialect to use
+     * @param capacity the initial capacity of the SQL buffer
+     */
+    public RenderContext(SqlDialect dialect, int capacity) {
+        this(dialect, capacity, DEFAULT_PARAMETER_CAPACITY);
+    }
+
+    /**
+     * Constructs a RenderContext with an initial buffer capacity and the number of parameters
+     * the statement is expected to register, so they are written into an exactly-sized array.
+     *
+     * @param dialect        the SQL dialect to use
+     * @param capacity       the initial capacity of the SQL buffer
+     * @param parameterCount the expected number of parameters
+     */
+    public RenderContext(SqlDialect dialect, int capacity, int parameterCount) {
+        this.dialect = dialect;
+        this.sql = new StringBuilder(capacity);
+        this.parameters = new ParameterArray(parameterCount);
+    }
+
+    /**
+     * Returns the dialect used for rendering.
+     *
+     * @return the SQL dialect
+     */
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Returns the padding applied to IN lists of values, which defaults to the padding of the dialect.
+     *
+     * @return the IN list padding
+     */
+    public InListPadding getInListPadding() {
+        return inListPadding != null ? inListPadding : dialect.getInListPadding();
+    }
+
+    /**
+     * Overrides the padding applied to IN lists of values for this context.
+     *
+     * @param inListPadding the padding, or null to use the padding of the dialect
+     */
+    public void setInListPadding(InListPadding inListPadding) {
+        this.inListPadding = inListPadding;
+    }
+
+    /**
+     * Appends a raw SQL fragment (keyword, operator or punctuation).
+     *
+     * @param fragment the SQL fragment
+     * @return this context
+     */
+    public RenderContext append(String fragment) {
+        sql.append(fragment);
+        return this;
+    }
+
+    /**
+     * Appends a single character.
+     *
+     * @param c the character
+     * @return this context
+     */
+    public RenderContext append(char c) {
+        sql.append(c);
+        return this;
+    }
+
+    /**
+     * Appends an integer literal.
+     *
+     * @param value the value
+     * @return this context
+     */
+    public RenderContext append(int value) {
+        sql.append(value);
+        return this;
+    }
+
+    /**
+     * Appends a database identifier quoted by the dialect.
+     *
+     * @param identifier the identifier to quote
+     * @return this context
+     */
+    public RenderContext appendIdentifier(String identifier) {
+        sql.append(dialect.quote(identifier));
+        return this;
+    }
+
+    /**
+     * Appends a declared identifier in the form quoted by the dialect.
+     *
+     * @param identifier the identifier
+     * @return this context
+     */
+    public RenderContext appendIdentifier(Identifier identifier) {
+        sql.append(identifier.quoted(dialect));
+        return this;
+    }
+
+    /**
+     * Appends a placeholder and registers its bind value.
+     *
+     * @param value the bind value
+     * @return this context
+     */
+    public RenderContext appendParameter(Object value) {
+        sql.append('?');
+        parameters.accept(value);
+        return this;
+    }
+
+    /**
+     * Appends the statement of a nested builder.
+     * <p>
+     * Every builder is rendered at most once per context. When the same builder is referenced again,
+     * its previously rendered SQL and parameters are repeated, so all occurrences come from one build.
+     *
+     * @param subQuery the nested builder
+     * @return this context
+     */
+    public RenderContext appendSubquery(AbstractBuilder<?> subQuery) {
+        int[] segment = renderedSubqueries == null ? null : renderedSubqueries.get(subQuery);
+        if (segment != null) {
+            replay(segment[0], segment[1]);
+            for (int i = segment[2]; i < segment[3]; i++) {
+                parameters.accept(parameters.get(i));
+            }
+            return this;
+        }
+
+        int start = mark();
+        int parameterStart = parameters.size();
+        subQuery.render(this);
+        if (renderedSubqueries == null) {
+            renderedSubqueries = new IdentityHashMap<>();
+        }
+        renderedSubqueries.put(subQuery, new int[]{start, mark(), parameterStart, parameters.size()});
+        return this;
+    }
+
+    /**
+     * Returns the current position in the rendered output.
+     *
+     * @return the position
+     */
+    private int mark() {
+        return sql.length();
+    }
+
+    /**
+     * Appends the output rendered between two positions again.
+     *
+     * @param start the start position (inclusive)
+     * @param end   the end position (exclusive)
+     */
+    private void replay(int start, int end) {
+        sql.append(sql, start, end);
+    }
+
+    /**
+     * Registers a bind value without appending a placeholder.
+     *
+     * @param value the bind value
+     * @return this context
+     */
+    public RenderContext addParameter(Object value) {
+        parameters.accept(value);
+        return this;
+    }
+
+    @Override
+    public void accept(Object parameter) {
+        addParameter(parameter);
+    }
+
+    /**
+     * Records a table the statement reads or writes. Cached results of the statement are
+     * invalidated when one of its tables is written through the library.
+     *
+     * @param table the table name
+     * @return this context
+     */
+    public RenderContext addTable(String table) {
+        if (tables == null) {
+            tables = new LinkedHashSet<>();
+        }
+        tables.add(table);
+        return this;
+    }
+
+    /**
+     * Returns the tables recorded so far.
+     *
+     * @return the table names
+     */
+    public Set<String> getTables() {
+        return tables == null ? Set.of() : Set.copyOf(tables);
+    }
+
+    /**
+     * Returns the SQL rendered so far.
+     *
+     * @return the SQL string
+     */
+    public String getSql() {
+        return sql.toString();
+    }
+
+    /**
+     * Returns the parameters collected so far.
+     *
+     * @return the parameters
+     */
+    public List<Object> getParameters() {
+        return parameters.asList();
+    }
+
+    /**
+     * Creates a Query from the rendered statement and the collected parameters.
+     *
+     * @return the Query
+     */
+    public Query toQuery() {
+        return toQuery(getSql());
+    }
+
+    Query toQuery(String statement) {
+        return new Query(statement, parameters, dialect, getTables());
+    }
+}
@@ -4,6 +4,8 @@ import sqlbuilder.dialects.SqlDialect;
 import sqlbuilder.exceptions.ValueCannotBeEmptyException;
 import sqlbuilder.expressions.Condition;
 import sqlbuilder.expressions.*;
+import sqlbuilder.identifiers.Identifier;
+import sqlbuilder.identifiers.Table;
 import sqlbuilder.joins.*;
 
 import java.util.*;
@@ -14,16 +16,19 @@ import java.util.*;
 public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
     private static final String ERROR_MESSAGE_MULTIPLE_ORDER_DIRECTION_CALLS = "order direction can only be set once. Multiple calls of desc() or asc() are not allowed!";
 
-    private final List<String> columns = new ArrayList<>();
-    private final List<String> tables = new ArrayList<>();
-    private final Set<String> tablesContext = new HashSet<>();
+    // clause lists are persistent, so fork() shares them instead of copying
+    private ClauseList<String> columns = ClauseList.empty();
+    private ClauseList<String> tables = ClauseList.empty();
+    private ClauseList<String> tablesContext = ClauseList.empty();
 
-    private final List<Join> joins = new ArrayList<>();
-    private final List<Condition> conditions = new ArrayList<>();
-    private final List<String> groupColumns = new ArrayList<>();
+    private ClauseList<Join> joins = ClauseList.empty();
+    private ClauseList<Condition> conditions = ClauseList.empty();
+    private ClauseList<Identifier> groupColumns = ClauseList.empty();
     private Condition havingCondition = null;
-    private final List<String> orderColumns = new ArrayList<>();
+    private ClauseList<Identifier> orderColumns = ClauseList.empty();
     private String orderDirection = null;
+    private Keyset keyset = null;
+    private Condition seekCondition = null;
     private boolean distinct = false;
 
     private int limit = -1;
@@ -48,6 +53,35 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
         super(dialect, schema);
     }
 
+    /**
+     * Returns an independent copy of this builder, e.g. to derive several queries from a common base.
+     * <p>
+     * The copy shares the clauses of this builder instead of copying them, so forking costs the same
+     * regardless of the size of the query. Clauses added to the copy don't affect this builder and
+     * vice versa, and forks of one base may be extended and built from different threads.
+     *
+     * @return the copy
+     */
+    public SelectBuilder fork() {
+        SelectBuilder fork = new SelectBuilder(dialect, schema);
+        fork.copySettings(this);
+        fork.columns = columns;
+        fork.tables = tables;
+        fork.tablesContext = tablesContext;
+        fork.joins = joins;
+        fork.conditions = conditions;
+        fork.groupColumns = groupColumns;
+        fork.havingCondition = havingCondition;
+        fork.orderColumns = orderColumns;
+        fork.orderDirection = orderDirection;
+        fork.keyset = keyset;
+        fork.seekCondition = seekCondition;
+        fork.distinct = distinct;
+        fork.limit = limit;
+        fork.offset = offset;
+        return fork;
+    }
+
     /**
      * Specifies the columns to select.
      *
@@ -60,9 +94,24 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
             throw new ValueCannotBeEmptyException("columns");
         }
 
-        Arrays.stream(columns)
-                .map(dialect::quote)
-                .forEach(this.columns::add);
+        for (String column : columns) {
+            this.columns = this.columns.with(dialect.quote(column));
+        }
+        return self();
+    }
+
+    /**
+     * Specifies the declared columns to select.
+     *
+     * @param column  the first column to select
+     * @param columns further columns to select
+     * @return this builder instance
+     */
+    public SelectBuilder select(Identifier column, Identifier... columns) {
+        this.columns = this.columns.with(column.quoted(dialect));
+        for (Identifier other : columns) {
+            this.columns = this.columns.with(other.quoted(dialect));
+        }
         return self();
     }
 
@@ -100,9 +149,10 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
             throw new ValueCannotBeEmptyException("tables");
         }
 
-        List<String> tableList = Arrays.asList(tables);
-        this.tables.addAll(tableList.stream().map(this::addSchemaToTable).toList());
-        this.tablesContext.addAll(tableList);
+        for (String table : tables) {
+            this.tables = this.tables.with(addSchemaToTable(table));
+            this.tablesContext = this.tablesContext.with(table);
+        }
         return self();
     }
 
@@ -116,8 +166,8 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
     public SelectBuilder from(String table) {
         validateNotEmpty(table, "table");
 
-        this.tables.add(addSchemaToTable(table));
-        this.tablesContext.add(table);
+        this.tables = this.tables.with(addSchemaToTable(table));
+        this.tablesContext = this.tablesContext.with(table);
         return self();
     }
 
@@ -133,11 +183,21 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
             return from(table);
         }
 
-        this.tables.add(addSchemaToTable(table) + " " + alias);
-        this.tablesContext.add(table);
+        this.tables = this.tables.with(addSchemaToTable(table) + " " + alias);
+        this.tablesContext = this.tablesContext.with(table);
         return self();
     }
 
+    /**
+     * Specifies a declared table, with its alias if it has one, to select from.
+     *
+     * @param table the table
+     * @return this builder instance
+     */
+    public SelectBuilder from(Table table) {
+        return from(table.getName(), table.getAlias());
+    }
+
     /**
      * Adds an INNER JOIN to the query.
      *
@@ -161,6 +221,17 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
         return innerJoin(table, alias, joinCondition);
     }
 
+    /**
+     * Adds an INNER JOIN with a declared table to the query.
+     *
+     * @param table         the table to join
+     * @param joinCondition the join condition
+     * @return this builder instance
+     */
+    public SelectBuilder join(Table table, Condition joinCondition) {
+        return join(table.getName(), table.getAlias(), joinCondition);
+    }
+
     /**
      * Adds an INNER JOIN to the query.
      *
@@ -181,11 +252,22 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
      * @return this builder instance
      */
     public SelectBuilder innerJoin(String table, String alias, Condition joinCondition) {
-        tablesContext.add(table);
-        joins.add(new InnerJoin(table, alias, joinCondition));
+        tablesContext = tablesContext.with(table);
+        joins = joins.with(new InnerJoin(table, alias, joinCondition));
         return self();
     }
 
+    /**
+     * Adds an INNER JOIN with a declared table to the query.
+     *
+     * @param table         the table to join
+     * @param joinCondition the join condition
+     * @return this builder instance
+     */
+    public SelectBuilder innerJoin(Table table, Condition joinCondition) {
+        return innerJoin(table.getName(), table.getAlias(), joinCondition);
+    }
+
     /**
      * Adds a LEFT JOIN to the query.
      *
@@ -206,11 +288,22 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
      * @return this builder instance
      */
     public SelectBuilder leftJoin(String table, String alias, Condition joinCondition) {
-        tablesContext.add(table);
-        joins.add(new LeftJoin(table, alias, joinCondition));
+        tablesContext = tablesContext.with(table);
+        joins = joins.with(new LeftJoin(table, alias, joinCondition));
         return self();
     }
 
+    /**
+     * Adds a LEFT JOIN with a declared table to the query.
+     *
+     * @param table         the table to join
+     * @param joinCondition the join condition
+     * @return this builder instance
+     */
+    public SelectBuilder leftJoin(Table table, Condition joinCondition) {
+        return leftJoin(table.getName(), table.getAlias(), joinCondition);
+    }
+
     /**
      * Adds a RIGHT JOIN to the query.
      *
@@ -231,11 +324,22 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
      * @return this builder instance
      */
     public SelectBuilder rightJoin(String table, String alias, Condition joinCondition) {
-        tablesContext.add(table);
-        joins.add(new RightJoin(table, alias, joinCondition));
+        tablesContext = tablesContext.with(table);
+        joins = joins.with(new RightJoin(table, alias, joinCondition));
         return self();
     }
 
+    /**
+     * Adds a RIGHT JOIN with a declared table to the query.
+     *
+     * @param table         the table to join
+     * @param joinCondition the join condition
+     * @return this builder instance
+     */
+    public SelectBuilder rightJoin(Table table, Condition joinCondition) {
+        return rightJoin(table.getName(), table.getAlias(), joinCondition);
+    }
+
     /**
      * Adds a FULL JOIN to the query.
      *
@@ -256,11 +360,22 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
      * @return this builder instance
      */
     public SelectBuilder fullJoin(String table, String alias, Condition joinCondition) {
-        tablesContext.add(table);
-        joins.add(new FullJoin(table, alias, joinCondition));
+        tablesContext = tablesContext.with(table);
+        joins = joins.with(new FullJoin(table, alias, joinCondition));
         return self();
     }
 
+    /**
+     * Adds a FULL JOIN with a declared table to the query.
+     *
+     * @param table         the table to join
+     * @param joinCondition the join condition
+     * @return this builder instance
+     */
+    public SelectBuilder fullJoin(Table table, Condition joinCondition) {
+        return fullJoin(table.getName(), table.getAlias(), joinCondition);
+    }
+
     /**
      * Define conditions to limit the query result.
      * When called multiple times the conditions are chained together using an AND.
@@ -273,7 +388,7 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
             return self();
         }
 
-        conditions.add(condition);
+        conditions = conditions.with(condition);
         return self();
     }
 
@@ -284,7 +399,21 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
      * @return this builder instance
      */
     public SelectBuilder groupBy(String... columns) {
-        groupColumns.addAll(List.of(columns));
+        for (String column : columns) {
+            groupColumns = groupColumns.with(Identifier.unchecked(column));
+        }
+        return self();
+    }
+
+    /**
+     * Defines the declared columns to group the result by.
+     *
+     * @param column  the first column to group by
+     * @param columns further columns to group by
+     * @return this builder instance
+     */
+    public SelectBuilder groupBy(Identifier column, Identifier... columns) {
+        groupColumns = groupColumns.with(column).withAll(List.of(columns));
         return self();
     }
 
@@ -306,7 +435,21 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
      * @return this builder instance
      */
     public SelectBuilder orderBy(String... columns) {
-        orderColumns.addAll(List.of(columns));
+        for (String column : columns) {
+            orderColumns = orderColumns.with(Identifier.unchecked(column));
+        }
+        return self();
+    }
+
+    /**
+     * Sets the declared columns to order the result by.
+     *
+     * @param column  the first column to order by
+     * @param columns further columns to order by
+     * @return this builder instance
+     */
+    public SelectBuilder orderBy(Identifier column, Identifier... columns) {
+        orderColumns = orderColumns.with(column).withAll(List.of(columns));
         return self();
     }
 
@@ -363,73 +506,241 @@ public class SelectBuilder extends AbstractBuilder<SelectBuilder> {
     }
 
     /**
-     * Builds the SQL query.
+     * Selects the first page of a keyset pagination: orders by the keyset and limits the result to the page size.
+     *
+     * @param keyset   the keyset to order and seek by
+     * @param pageSize the number of rows per page
+     * @return this builder instance
+     */
+    public SelectBuilder seek(Keyset keyset, int pageSize) {
+        return seek(keyset, pageSize, null);
+    }
+
+    /**
+     * Selects the page after the row identified by a cursor token, ordered by the keyset and
+     * limited to the page size. Unlike an offset, the cost of a page doesn't grow with its depth.
+     *
+     * @param keyset   the keyset to order and seek by
+     * @param pageSize the number of rows per page
+     * @param cursor   the cursor token of the last row of the previous page, or null for the first page
+     * @return this builder instance
+     * @throws IllegalArgumentException if the cursor doesn't match the keyset
+     * @see Keyset#cursor(Object...)
+     */
+    public SelectBuilder seek(Keyset keyset, int pageSize, String cursor) {
+        this.keyset = keyset;
+        this.seekCondition = cursor == null ? null
+                : new KeysetCondition(keyset, keyset.decode(cursor), dialect.supportsRowValueComparison());
+        return limit(pageSize).offset(0);
+    }
+
+    /**
+     * Selects the page after the row with the given key values, ordered by the keyset and limited to the page size.
+     *
+     * @param keyset    the keyset to order and seek by
+     * @param pageSize  the number of rows per page
+     * @param keyValues the key values of the last row of the previous page, in key order
+     * @return this builder instance
+     * @throws IllegalArgumentException if the number of values doesn't match the keys
+     */
+    public SelectBuilder seekAfter(Keyset keyset, int pageSize, Object... keyValues) {
+        this.keyset = keyset;
+        this.seekCondition = new KeysetCondition(keyset, List.of(keyValues), dialect.supportsRowValueComparison());
+        return limit(pageSize).offset(0);
+    }
+
+    /**
+     * Appends the SELECT statement to the render context.
      *
-     * @return the constructed Query object
+     * @param context the render context
      * @throws IllegalStateException if no table was specified
      */
     @Override
-    public Query build() {
+    public void render(RenderContext context) {
         if (tables.isEmpty()) {
             throw new IllegalStateException("A table to select from must be specified");
         }
 
-        if (columns.isEmpty()) {
-            columns.add("*");
-        }
+        SqlDialect pagingDialect = context.getDialect();
+        String top = limit > -1 ? pagingDialect.applyTop(limit, offset) : null;
 
-        StringJoiner statement = new StringJoiner(" ")
-                .add("SELECT");
+        context.append("SELECT ");
         if (distinct) {
-            statement.add("DISTINCT");
+            context.append("DISTINCT ");
+        }
+        if (top != null) {
+            context.append(top).append(' ');
+            for (Object parameter : pagingDialect.getPagingParameters(limit, offset)) {
+                context.addParameter(parameter);
+            }
+        }
+        if (columns.isEmpty()) {
+            context.append('*');
+        } else {
+            appendList(context, columns);
+        }
+        context.append(" FROM ");
+        appendList(context, tables);
+        for (String table : tablesContext) {
+            context.addTable(table);
         }
-        statement.add(String.join(", ", columns))
-                .add("FROM")
-                .add(String.join(", ", tables));
 
-        joins.forEach(join -> statement.add(join.toSql(dialect, schema)));
+        for (Join join : joins) {
+            context.append(' ');
+            join.render(context, schema);
+        }
 
-        Condition whereCondition = null;
-        if (!conditions.isEmpty()) {
-            statement.add("WHERE");
-            whereCondition = new CompositeCondition("AND", conditions);
-            statement.add(whereCondition.toSql(dialect));
+        Condition where = whereCondition(conditions);
+        if (seekCondition != null) {
+            context.append(" WHERE ");
+            if (where != null) {
+                context.append('(');
+                where.render(context);
+                context.append(") AND ");
+            }
+            seekCondition.render(context);
+        } else if (where != null) {
+            context.append(" WHERE ");
+            where.render(context);
         }
 
         if (!groupColumns.isEmpty()) {
-            String quotedGroups = groupColumns.stream()
-                    .map(dialect::quote)
-                    .collect(java.util.stream.Collectors.joining(", "));
-            statement.add("GROUP BY").add(quotedGroups);
+            context.append(" GROUP BY ");
+            appendIdentifierList(context, groupColumns);
         }
 
-        if (havingCondition != null) {
-            statement.add("HAVING").add(havingCondition.toSql(dialect));
+        Condition having = havingCondition(havingCondition);
+        if (having != null) {
+            context.append(" HAVING ");
+            having.render(context);
         }
 
-        if (!orderColumns.isEmpty()) {
-            if (orderDirection == null) {
-                orderDirection = "DESC";
+        if (keyset != null) {
+            if (!orderColumns.isEmpty()) {
+                throw new IllegalStateException("orderBy() cannot be combined with keyset pagination");
+            }
+            context.append(" ORDER BY ");
+            List<Keyset.Key> keys = keyset.getKeys();
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    context.append(", ");
+                }
+                context.appendIdentifier(keys.get(i).column()).append(keys.get(i).descending() ? " DESC" : " ASC");
             }
+        } else if (!orderColumns.isEmpty()) {
+            context.append(" ORDER BY ");
+            appendIdentifierList(context, orderColumns);
+            context.append(' ').append(orderDirection == null ? "DESC" : orderDirection);
+        } else if (limit > -1 && top == null && pagingDialect.requiresOrderByForPaging()) {
+            context.append(" ORDER BY (SELECT NULL)");
+        }
 
-            String quotedOrders = orderColumns.stream()
-                    .map(dialect::quote)
-                    .collect(java.util.stream.Collectors.joining(", "));
-            statement.add("ORDER BY").add(quotedOrders).add(orderDirection);
+        if (limit > -1 && top == null) {
+            context.append(' ').append(pagingDialect.applyPaging(limit, offset));
+            for (Object parameter : pagingDialect.getPagingParameters(limit, offset)) {
+                context.addParameter(parameter);
+            }
         }
+    }
 
+    @Override
+    public void appendShape(StatementShape shape) {
+        SqlDialect pagingDialect = shape.getDialect();
+        shape.add(SelectBuilder.class).add(distinct).add(limit > -1);
         if (limit > -1) {
-            statement.add(dialect.applyPaging(limit, offset));
+            String top = pagingDialect.applyTop(limit, offset);
+            shape.add(top).add(top == null ? pagingDialect.applyPaging(limit, offset) : null);
+        }
+        appendListShape(shape, columns);
+        appendListShape(shape, tables);
+        appendListShape(shape, tablesContext);
+        shape.add(schema).add(joins.size());
+        for (Join join : joins) {
+            join.appendShape(shape, schema);
+        }
+        appendWhereShape(shape, whereCondition(conditions));
+        appendWhereShape(shape, seekCondition);
+        appendListShape(shape, groupColumns);
+        appendWhereShape(shape, havingCondition(havingCondition));
+        appendListShape(shape, keyset == null ? List.of() : keyset.getKeys());
+        appendListShape(shape, orderColumns);
+        shape.add(orderDirection);
+    }
+
+    private static void appendListShape(StatementShape shape, List<?> elements) {
+        shape.add(elements.size());
+        for (Object element : elements) {
+            shape.add(element);
+        }
+    }
+
+    @Override
+    protected int countBoundParameters(BindContext context) {
+        int count = limit > -1 ? context.getDialect().getPagingParameterCount(limit, offset) : 0;
+        for (Join join : joins) {
+            count += join.countParameters(context);
+        }
+        Condition where = whereCondition(conditions);
+        if (where != null) {
+            count += where.countParameters(context);
+        }
+        if (seekCondition != null) {
+            count += seekCondition.countParameters(context);
+        }
+        Condition having = havingCondition(havingCondition);
+        if (having != null) {
+            count += having.countParameters(context);
         }
+        return count;
+    }
 
-        Query query = new Query(statement.toString());
-        joins.forEach(join -> join.getParameters().forEach(query::addParameter));
-        if (whereCondition != null) {
-            whereCondition.getParameters().forEach(query::addParameter);
+    @Override
+    protected void collectBoundParameters(ParameterSink sink) {
+        SqlDialect pagingDialect = sink.getDialect();
+        boolean top = limit > -1 && pagingDialect.applyTop(limit, offset) != null;
+        if (top) {
+            collectPagingParameters(pagingDialect, sink);
+        }
+        for (Join join : joins) {
+            join.collectParameters(sink);
+        }
+        Condition where = whereCondition(conditions);
+        if (where != null) {
+            where.collectParameters(sink);
+        }
+        if (seekCondition != null) {
+            seekCondition.collectParameters(sink);
         }
-        if (havingCondition != null) {
-            havingCondition.getParameters().forEach(query::addParameter);
+        Condition having = havingCondition(havingCondition);
+        if (having != null) {
+            having.collectParameters(sink);
+        }
+        if (limit > -1 && !top) {
+            collectPagingParameters(pagingDialect, sink);
+        }
+    }
+
+    private void collectPagingParameters(SqlDialect pagingDialect, ParameterSink sink) {
+        for (Object parameter : pagingDialect.getPagingParameters(limit, offset)) {
+            sink.accept(parameter);
+        }
+    }
+
+    private static void appendList(RenderContext context, List<String> fragments) {
+        for (int i = 0; i < fragments.size(); i++) {
+            if (i > 0) {
+                context.append(", ");
+            }
+            context.append(fragments.get(i));
+        }
+    }
+
+    private static void appendIdentifierList(RenderContext context, List<Identifier> identifiers) {
+        for (int i = 0; i < identifiers.size(); i++) {
+            if (i > 0) {
+                context.append(", ");
+            }
+            context.appendIdentifier(identifiers.get(i));
         }
-        return query;
     }
 }
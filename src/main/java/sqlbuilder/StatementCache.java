@@ -0,0 +1,142 @@
+package sqlbuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of rendered SQL statements keyed by the structural shape of a builder.
+ * <p>
+ * The {@link StatementShape} covers the dialect, schema, clauses, identifiers and the number of
+ * placeholders (e.g. the IN-list arity) but not the bound values. On a hit, building a query only
+ * walks the shape and collects the parameters, reusing the cached SQL string instead of quoting
+ * identifiers and rendering the statement again. The least recently used entries are evicted
+ * once the cache is full.
+ * <p>
+ * A cache is thread-safe and can be shared by any number of builders.
+ */
+public class StatementCache {
+    private final int maximumSize;
+    private final Map<StatementShape, Statement> statements;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a StatementCache holding at most the given number of statements.
+     *
+     * @param maximumSize the maximum number of cached statements
+     * @throws IllegalArgumentException if maximumSize is smaller than 1
+     */
+    public StatementCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+        this.maximumSize = maximumSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementShape, Statement> eldest) {
+                if (size() > StatementCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Builds the query of a builder, reusing the cached SQL text if a statement of the same shape was built before.
+     *
+     * @param builder the builder to build
+     * @return the constructed Query object
+     */
+    public Query build(AbstractBuilder<?> builder) {
+        StatementShape shape = builder.shape();
+
+        Statement statement;
+        synchronized (statements) {
+            statement = statements.get(shape);
+        }
+
+        if (statement != null) {
+            hits.increment();
+            return new Query(statement.sql(), builder.collectParameters(), builder.dialect, statement.tables());
+        }
+
+        misses.increment();
+        RenderContext context = builder.renderContext();
+        statement = new Statement(context.getSql(), context.getTables());
+        synchronized (statements) {
+            Statement existing = statements.putIfAbsent(shape.compact(), statement);
+            if (existing != null) {
+                statement = existing;
+            }
+        }
+        return context.toQuery(statement.sql());
+    }
+
+    /**
+     * Returns the number of builds that reused a cached statement.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of builds that had to render their statement.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of statements evicted because the cache was full.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the maximum number of cached statements.
+     *
+     * @return the maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the number of currently cached statements.
+     *
+     * @return the size
+     */
+    public int size() {
+        synchronized (statements) {
+            return statements.size();
+        }
+    }
+
+    /**
+     * Removes all cached statements. The counters are kept.
+     */
+    public void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    /**
+     * A rendered statement with the tables it reads or writes.
+     */
+    private record Statement(String sql, Set<String> tables) {
+    }
+}
@@ -0,0 +1,130 @@
+package sqlbuilder;
+
+import sqlbuilder.dialects.InListPadding;
+import sqlbuilder.dialects.SqlDialect;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The structural fingerprint of a statement: its dialect and the clauses, identifiers and
+ * placeholder counts of a builder, without the bound values.
+ * <p>
+ * Builders, joins, conditions and operands append the elements their SQL depends on, without
+ * quoting identifiers or writing any SQL. Two builders with the same shape render the same SQL
+ * text, so the shape is used as the key of the {@link StatementCache}. Elements must have value
+ * equality, e.g. strings, identifiers, classes or enum constants.
+ */
+public final class StatementShape implements BindContext {
+    private final SqlDialect dialect;
+    private final InListPadding inListPadding;
+    private Object[] elements;
+    private int elementCount;
+    private int[] numbers;
+    private int numberCount;
+    private int hash;
+
+    StatementShape(SqlDialect dialect, InListPadding inListPadding) {
+        this(dialect, inListPadding, new Object[16], new int[8]);
+    }
+
+    private StatementShape(SqlDialect dialect, InListPadding inListPadding, Object[] elements, int[] numbers) {
+        this.dialect = dialect;
+        this.inListPadding = inListPadding;
+        this.elements = elements;
+        this.numbers = numbers;
+        this.hash = System.identityHashCode(dialect);
+    }
+
+    @Override
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    @Override
+    public InListPadding getInListPadding() {
+        return inListPadding;
+    }
+
+    /**
+     * Appends an element the SQL depends on.
+     *
+     * @param element the element, which may be null
+     * @return this shape
+     */
+    public StatementShape add(Object element) {
+        if (elementCount == elements.length) {
+            elements = Arrays.copyOf(elements, elementCount * 2);
+        }
+        elements[elementCount++] = element;
+        hash = 31 * hash + Objects.hashCode(element);
+        return this;
+    }
+
+    /**
+     * Appends a number the SQL depends on, e.g. a placeholder or element count.
+     *
+     * @param number the number
+     * @return this shape
+     */
+    public StatementShape add(int number) {
+        if (numberCount == numbers.length) {
+            numbers = Arrays.copyOf(numbers, numberCount * 2);
+        }
+        numbers[numberCount++] = number;
+        hash = 31 * hash + number;
+        return this;
+    }
+
+    /**
+     * Appends a flag the SQL depends on.
+     *
+     * @param flag the flag
+     * @return this shape
+     */
+    public StatementShape add(boolean flag) {
+        return add(flag ? 1 : 0);
+    }
+
+    /**
+     * Creates a render context with the dialect and IN list padding of this shape, for elements
+     * that can only describe their shape by their rendered SQL.
+     *
+     * @return the render context
+     */
+    public RenderContext newRenderContext() {
+        RenderContext context = new RenderContext(dialect);
+        context.setInListPadding(inListPadding);
+        return context;
+    }
+
+    /**
+     * Returns a copy of this shape trimmed to its elements, to be kept as a cache key.
+     */
+    StatementShape compact() {
+        StatementShape copy = new StatementShape(dialect, inListPadding,
+                Arrays.copyOf(elements, elementCount), Arrays.copyOf(numbers, numberCount));
+        copy.elementCount = elementCount;
+        copy.numberCount = numberCount;
+        copy.hash = hash;
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StatementShape other)) {
+            return false;
+        }
+        return hash == other.hash && dialect == other.dialect
+                && Arrays.equals(numbers, 0, numberCount, other.numbers, 0, other.numberCount)
+                && Arrays.equals(elements, 0, elementCount, other.elements, 0, other.elementCount);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -2,6 +2,7 @@ package sqlbuilder;
 
 import sqlbuilder.dialects.SqlDialect;
 import sqlbuilder.exceptions.ValueCannotBeEmptyException;
+import sqlbuilder.identifiers.Identifier;
 import sqlbuilder.expressions.Condition;
 import sqlbuilder.expressions.*;
 
@@ -13,7 +14,7 @@ import java.util.*;
 public class UpdateBuilder extends AbstractBuilder<UpdateBuilder> {
     private String table;
     private final Map<String, Object> values = new LinkedHashMap<>();
-    private final List<Condition> conditions = new ArrayList<>();
+    private ClauseList<Condition> conditions = ClauseList.empty();
 
     /**
      * Constructs an UpdateBuilder with a specific SQL dialect.
@@ -61,6 +62,17 @@ public class UpdateBuilder extends AbstractBuilder<UpdateBuilder> {
         return self();
     }
 
+    /**
+     * Sets a declared column and its value for the update operation.
+     *
+     * @param column the column
+     * @param value  the value to set
+     * @return this builder instance
+     */
+    public UpdateBuilder set(Identifier column, Object value) {
+        return set(column.getName(), value);
+    }
+
     /**
      * Sets multiple columns and their values for the update operation.
      *
@@ -83,19 +95,19 @@ public class UpdateBuilder extends AbstractBuilder<UpdateBuilder> {
      */
     public UpdateBuilder where(Condition condition) {
         if (condition != null) {
-            conditions.add(condition);
+            conditions = conditions.with(condition);
         }
         return self();
     }
 
     /**
-     * Builds the SQL query.
+     * Appends the UPDATE statement to the render context.
      *
-     * @return the constructed Query object
+     * @param context the render context
      * @throws IllegalStateException if no table or values were specified
      */
     @Override
-    public Query build() {
+    public void render(RenderContext context) {
         if (table == null || table.isBlank()) {
             throw new IllegalStateException("A table to update must be specified");
         }
@@ -103,27 +115,52 @@ public class UpdateBuilder extends AbstractBuilder<UpdateBuilder> {
             throw new IllegalStateException("At least one column value must be specified for update");
         }
 
-        StringJoiner statement = new StringJoiner(" ")
-                .add("UPDATE")
-                .add(table)
-                .add("SET");
+        context.addTable(table);
+        context.append("UPDATE ").append(table).append(" SET ");
 
-        StringJoiner setClause = new StringJoiner(", ");
-        values.keySet().forEach(column -> setClause.add(dialect.quote(column) + " = ?"));
-        statement.add(setClause.toString());
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (!first) {
+                context.append(", ");
+            }
+            context.appendIdentifier(entry.getKey()).append(" = ").appendParameter(entry.getValue());
+            first = false;
+        }
 
-        Condition whereCondition = null;
-        if (!conditions.isEmpty()) {
-            statement.add("WHERE");
-            whereCondition = new CompositeCondition("AND", conditions);
-            statement.add(whereCondition.toSql(dialect));
+        Condition where = whereCondition(conditions);
+        if (where != null) {
+            context.append(" WHERE ");
+            where.render(context);
         }
+    }
 
-        Query query = new Query(statement.toString());
-        values.values().forEach(query::addParameter);
-        if (whereCondition != null) {
-            whereCondition.getParameters().forEach(query::addParameter);
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(UpdateBuilder.class).add(table).add(values.size());
+        for (String column : values.keySet()) {
+            shape.add(column);
+        }
+        appendWhereShape(shape, whereCondition(conditions));
+    }
+
+    @Override
+    protected int countBoundParameters(BindContext context) {
+        int count = values.size();
+        Condition where = whereCondition(conditions);
+        if (where != null) {
+            count += where.countParameters(context);
+        }
+        return count;
+    }
+
+    @Override
+    protected void collectBoundParameters(ParameterSink sink) {
+        for (Object value : values.values()) {
+            sink.accept(value);
+        }
+        Condition where = whereCondition(conditions);
+        if (where != null) {
+            where.collectParameters(sink);
         }
-        return query;
     }
 }
@@ -0,0 +1,171 @@
+package sqlbuilder.dialects;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class for the built-in dialects, caching quoted identifiers.
+ * <p>
+ * The cache is concurrent and bounded: once it holds the maximum number of identifiers,
+ * further identifiers are quoted on every call instead of being cached.
+ */
+public abstract class AbstractSqlDialect implements SqlDialect {
+    /**
+     * The default maximum number of cached identifiers.
+     */
+    public static final int DEFAULT_QUOTE_CACHE_SIZE = 4096;
+
+    /**
+     * The largest IN list the built-in dialects expand into placeholders before switching to
+     * their strategy for large lists.
+     */
+    protected static final int LARGE_IN_LIST_THRESHOLD = 100;
+
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    private final int quoteCacheSize;
+    private final Map<String, String> quoteCache = new ConcurrentHashMap<>();
+    private volatile InListPadding inListPadding = InListPadding.NONE;
+    private volatile InListStrategy largeInListStrategy = InListStrategy.EXPAND;
+    private volatile int largeInListThreshold = Integer.MAX_VALUE;
+    private volatile boolean pagingParameters = true;
+
+    protected AbstractSqlDialect() {
+        this(DEFAULT_QUOTE_CACHE_SIZE);
+    }
+
+    protected AbstractSqlDialect(int quoteCacheSize) {
+        this.quoteCacheSize = quoteCacheSize;
+    }
+
+    @Override
+    public String quote(String identifier) {
+        if (identifier == null) {
+            return null;
+        }
+
+        String quoted = quoteCache.get(identifier);
+        if (quoted == null) {
+            quoted = SqlDialect.super.quote(identifier);
+            if (quoteCache.size() < quoteCacheSize) {
+                quoteCache.putIfAbsent(identifier, quoted);
+            }
+        }
+        return quoted;
+    }
+
+    @Override
+    public InListPadding getInListPadding() {
+        return inListPadding;
+    }
+
+    /**
+     * Sets the padding applied to IN lists of values rendered for this dialect.
+     *
+     * @param inListPadding the padding, or null for no padding
+     */
+    public void setInListPadding(InListPadding inListPadding) {
+        this.inListPadding = inListPadding == null ? InListPadding.NONE : inListPadding;
+    }
+
+    @Override
+    public InListStrategy getInListStrategy(int size) {
+        return size > largeInListThreshold ? largeInListStrategy : InListStrategy.EXPAND;
+    }
+
+    /**
+     * Sets the strategy used for IN lists with more values than the threshold.
+     * Smaller lists are always expanded into one placeholder per value.
+     *
+     * @param strategy  the strategy for large lists
+     * @param threshold the largest list size that is still expanded
+     */
+    public final void setLargeInListStrategy(InListStrategy strategy, int threshold) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("IN list strategy must not be null");
+        }
+        this.largeInListStrategy = strategy;
+        this.largeInListThreshold = threshold;
+    }
+
+    /**
+     * Returns whether paging values are bound as parameters instead of being inlined into the statement.
+     * Bound paging keeps the statement text the same for every page.
+     *
+     * @return true if paging values are bound as parameters
+     */
+    public boolean isPagingParameters() {
+        return pagingParameters;
+    }
+
+    /**
+     * Sets whether paging values are bound as parameters instead of being inlined into the statement.
+     * Dialects that support bound paging do so by default.
+     *
+     * @param pagingParameters true to bind paging values as parameters
+     */
+    public void setPagingParameters(boolean pagingParameters) {
+        this.pagingParameters = pagingParameters;
+    }
+
+    /**
+     * Renders paging with the standard {@code OFFSET ... ROWS FETCH NEXT ... ROWS ONLY} syntax, or
+     * {@code FETCH FIRST ... ROWS ONLY} without an offset.
+     *
+     * @param limit  the limit of how many entries the SQL statement will return
+     * @param offset the offset at which the limit counting starts
+     * @return the paging statement
+     * @see #getOffsetFetchParameters(int, int)
+     */
+    protected String applyOffsetFetch(int limit, int offset) {
+        if (offset == 0) {
+            return pagingParameters ? "FETCH FIRST ? ROWS ONLY" : "FETCH FIRST " + limit + " ROWS ONLY";
+        }
+        return pagingParameters ? "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY"
+                : "OFFSET " + offset + " ROWS FETCH NEXT " + limit + " ROWS ONLY";
+    }
+
+    /**
+     * Returns the paging parameters of {@link #applyOffsetFetch(int, int)}.
+     *
+     * @param limit  the limit of how many entries the SQL statement will return
+     * @param offset the offset at which the limit counting starts
+     * @return the paging parameters
+     */
+    protected Object[] getOffsetFetchParameters(int limit, int offset) {
+        return offset == 0 ? pagingParameters(limit) : pagingParameters(offset, limit);
+    }
+
+    /**
+     * Returns the number of paging parameters of {@link #applyOffsetFetch(int, int)}.
+     *
+     * @param limit  the limit of how many entries the SQL statement will return
+     * @param offset the offset at which the limit counting starts
+     * @return the number of paging parameters
+     */
+    protected int getOffsetFetchParameterCount(int limit, int offset) {
+        if (!pagingParameters) {
+            return 0;
+        }
+        return offset == 0 ? 1 : 2;
+    }
+
+    /**
+     * Returns the given paging values if paging values are bound as parameters, or no values otherwise.
+     *
+     * @param values the paging values in the order of their placeholders
+     * @return the paging parameters
+     */
+    protected Object[] pagingParameters(Object... values) {
+        return pagingParameters ? values : NO_PARAMETERS;
+    }
+
+    /**
+     * Returns the number of currently cached identifiers.
+     *
+     * @return the cached identifier count
+     */
+    public int getCachedIdentifierCount() {
+        return quoteCache.size();
+    }
+}
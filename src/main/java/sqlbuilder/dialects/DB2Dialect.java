@@ -6,11 +6,20 @@ import java.util.Set;
 /**
  * DB2-specific SQL dialect implementation.
  */
-public class DB2Dialect implements SqlDialect {
+public class DB2Dialect extends AbstractSqlDialect {
     @Override
     public String applyPaging(int limit, int offset) {
-        //TODO implement paging syntax
-        return "";
+        return applyOffsetFetch(limit, offset);
+    }
+
+    @Override
+    public Object[] getPagingParameters(int limit, int offset) {
+        return getOffsetFetchParameters(limit, offset);
+    }
+
+    @Override
+    public int getPagingParameterCount(int limit, int offset) {
+        return getOffsetFetchParameterCount(limit, offset);
     }
 
     @Override
@@ -0,0 +1,33 @@
+package sqlbuilder.dialects;
+
+import java.util.List;
+
+/**
+ * The statements that show the execution plan of a statement without executing it.
+ * <p>
+ * The setup statements are executed first, then the plan statement, whose result sets hold the
+ * plan, and finally the teardown statements, which also run if an earlier statement failed, so
+ * session settings changed by the setup are restored. Only the plan statement may take the
+ * parameters of the explained statement; setup and teardown statements are executed as they are.
+ *
+ * @param setup          the statements to execute before the plan statement
+ * @param plan           the statement returning the plan
+ * @param bindParameters whether the parameters of the explained statement are bound to the plan statement
+ * @param teardown       the statements to execute after the plan statement
+ */
+public record Explain(List<String> setup, String plan, boolean bindParameters, List<String> teardown) {
+    public Explain {
+        setup = List.copyOf(setup);
+        teardown = List.copyOf(teardown);
+    }
+
+    /**
+     * Creates an explain of a single statement that takes the parameters of the explained statement.
+     *
+     * @param plan the statement returning the plan
+     * @return the explain
+     */
+    public static Explain of(String plan) {
+        return new Explain(List.of(), plan, true, List.of());
+    }
+}
@@ -3,9 +3,33 @@ package sqlbuilder.dialects;
 /**
  * H2-specific SQL dialect implementation.
  */
-public class H2Dialect implements SqlDialect {
+public class H2Dialect extends AbstractSqlDialect {
+    public H2Dialect() {
+        setLargeInListStrategy(InListStrategy.ARRAY, LARGE_IN_LIST_THRESHOLD);
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
     @Override
     public String applyPaging(int limit, int offset) {
-        return "LIMIT " + limit + " OFFSET " + offset;
+        return isPagingParameters() ? "LIMIT ? OFFSET ?" : "LIMIT " + limit + " OFFSET " + offset;
+    }
+
+    @Override
+    public Object[] getPagingParameters(int limit, int offset) {
+        return pagingParameters(limit, offset);
+    }
+
+    @Override
+    public int getPagingParameterCount(int limit, int offset) {
+        return isPagingParameters() ? 2 : 0;
+    }
+
+    @Override
+    public Explain explain(String statement) {
+        return Explain.of("EXPLAIN " + statement);
     }
 }
@@ -0,0 +1,103 @@
+package sqlbuilder.dialects;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Defines how many placeholders an IN list of values is rendered with.
+ * <p>
+ * Without padding every list length produces its own statement text, which fills the statement
+ * caches of the database and the driver with near-identical statements. With padding the
+ * placeholder count is rounded up to a power of two or to the next configured bucket and the
+ * last value is repeated, so far fewer distinct statements are produced. Built queries and the
+ * counted and collected parameters of a builder include the repeated values; {@code getParameters()}
+ * of a condition returns the values as given.
+ * <p>
+ * Every instance counts the distinct placeholder counts it has rendered.
+ */
+public final class InListPadding {
+    /**
+     * Renders exactly one placeholder per value.
+     */
+    public static final InListPadding NONE = new InListPadding(null);
+
+    private final int[] buckets;
+    private final Set<Integer> shapes = ConcurrentHashMap.newKeySet();
+
+    private InListPadding(int[] buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * Creates a padding that rounds the placeholder count up to the next power of two.
+     *
+     * @return the padding
+     */
+    public static InListPadding powerOfTwo() {
+        return new InListPadding(new int[0]);
+    }
+
+    /**
+     * Creates a padding that rounds the placeholder count up to the next bucket size.
+     * Lists longer than the largest bucket are padded to a multiple of the largest bucket.
+     *
+     * @param sizes the bucket sizes
+     * @return the padding
+     * @throws IllegalArgumentException if no sizes are given or a size is smaller than 1
+     */
+    public static InListPadding buckets(int... sizes) {
+        if (sizes.length == 0) {
+            throw new IllegalArgumentException("At least one bucket size must be specified");
+        }
+        int[] sorted = sizes.clone();
+        Arrays.sort(sorted);
+        if (sorted[0] < 1) {
+            throw new IllegalArgumentException("Bucket sizes must be at least 1");
+        }
+        return new InListPadding(sorted);
+    }
+
+    /**
+     * Returns the number of placeholders to render for a list of values.
+     *
+     * @param size the number of values
+     * @return the number of placeholders
+     */
+    public int paddedSize(int size) {
+        if (buckets == null || size < 1) {
+            return size;
+        }
+        if (buckets.length == 0) {
+            return Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+        }
+        for (int bucket : buckets) {
+            if (size <= bucket) {
+                return bucket;
+            }
+        }
+        int largest = buckets[buckets.length - 1];
+        return (size + largest - 1) / largest * largest;
+    }
+
+    /**
+     * Records that an IN list was rendered with the given number of placeholders.
+     *
+     * @param placeholders the number of placeholders
+     */
+    public void recordShape(int placeholders) {
+        Integer shape = placeholders;
+        if (!shapes.contains(shape)) {
+            shapes.add(shape);
+        }
+    }
+
+    /**
+     * Returns the number of distinct placeholder counts rendered with this padding.
+     *
+     * @return the distinct IN shape count
+     */
+    public int getDistinctShapeCount() {
+        return shapes.size();
+    }
+}
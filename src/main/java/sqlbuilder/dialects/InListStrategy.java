@@ -0,0 +1,29 @@
+package sqlbuilder.dialects;
+
+/**
+ * The ways an IN list of values can be rendered.
+ * <p>
+ * Dialects choose a strategy by list size, so large lists stay within the limits of the
+ * database and do not produce a new, long statement text for every list length.
+ */
+public enum InListStrategy {
+    /**
+     * One placeholder per value. Lists longer than the maximum IN list size of the dialect are
+     * split into several IN lists joined with OR, or with AND for NOT IN.
+     */
+    EXPAND,
+    /**
+     * A single array parameter compared with {@code = ANY (?)}, or {@code <> ALL (?)} for NOT IN.
+     */
+    ARRAY,
+    /**
+     * One placeholder per value in a {@code VALUES} derived table. Like {@link #EXPAND}, it is
+     * limited by the maximum parameter count of the dialect.
+     */
+    VALUES,
+    /**
+     * A single JSON array parameter expanded by the {@linkplain SqlDialect#getJsonArrayQuery() JSON
+     * array query} of the dialect, e.g. {@code OPENJSON} or {@code JSON_TABLE}.
+     */
+    JSON
+}
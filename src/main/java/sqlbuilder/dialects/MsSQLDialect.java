@@ -1,12 +1,82 @@
 package sqlbuilder.dialects;
 
+import java.util.List;
+
 /**
  * Microsoft SQL Server-specific SQL dialect implementation.
  */
-public class MsSQLDialect implements SqlDialect {
+public class MsSQLDialect extends AbstractSqlDialect {
+    private static final int MAX_PARAMETER_COUNT = 2100;
+    /**
+     * A table value constructor accepts at most 1000 rows.
+     */
+    private static final int MAX_INSERT_ROWS = 1000;
+
+    /**
+     * Large IN lists are bound as one JSON parameter, since SQL Server accepts at most 2100
+     * parameters per statement.
+     */
+    public MsSQLDialect() {
+        setLargeInListStrategy(InListStrategy.JSON, LARGE_IN_LIST_THRESHOLD);
+    }
+
+    @Override
+    public int getMaxParameterCount() {
+        return MAX_PARAMETER_COUNT;
+    }
+
+    @Override
+    public int getMaxInsertRows() {
+        return MAX_INSERT_ROWS;
+    }
+
+    /**
+     * A batch of statements returns one result set per statement.
+     */
+    @Override
+    public String pipeline(List<String> statements) {
+        return String.join("; ", statements);
+    }
+
+    /**
+     * OFFSET and FETCH are only allowed after an ORDER BY clause.
+     */
+    @Override
+    public boolean requiresOrderByForPaging() {
+        return true;
+    }
+
+    /**
+     * Pages without an offset are limited with {@code TOP}, which needs no ORDER BY clause.
+     */
+    @Override
+    public String applyTop(int limit, int offset) {
+        if (offset > 0) {
+            return null;
+        }
+        return isPagingParameters() ? "TOP (?)" : "TOP (" + limit + ")";
+    }
+
     @Override
     public String applyPaging(int limit, int offset) {
-        //TODO implement paging syntax
-        return "";
+        return applyOffsetFetch(limit, offset);
+    }
+
+    @Override
+    public Object[] getPagingParameters(int limit, int offset) {
+        return getOffsetFetchParameters(limit, offset);
+    }
+
+    @Override
+    public int getPagingParameterCount(int limit, int offset) {
+        return getOffsetFetchParameterCount(limit, offset);
+    }
+
+    /**
+     * With {@code SHOWPLAN_TEXT} enabled, the statement returns its estimated plan instead of executing.
+     */
+    @Override
+    public Explain explain(String statement) {
+        return new Explain(List.of("SET SHOWPLAN_TEXT ON"), statement, true, List.of("SET SHOWPLAN_TEXT OFF"));
     }
 }
@@ -1,11 +1,121 @@
 package sqlbuilder.dialects;
 
+import java.util.List;
+
 /**
  * Oracle-specific SQL dialect implementation.
  */
-public class OracleDialect implements SqlDialect {
+public class OracleDialect extends AbstractSqlDialect {
+    /**
+     * Oracle rejects IN lists with more than 1000 expressions (ORA-01795).
+     */
+    private static final int MAX_IN_LIST_SIZE = 1000;
+    private static final int MAX_PARAMETER_COUNT = 65535;
+    /**
+     * The INTO clauses of an {@code INSERT ALL} may name at most 999 columns combined (ORA-24335).
+     */
+    private static final int MAX_INSERT_VALUES = 999;
+
+    /**
+     * Large IN lists are bound as one JSON array expanded with {@code JSON_TABLE}, instead of
+     * OR'ed chunks of 1000 placeholders that are limited by the maximum parameter count.
+     */
+    public OracleDialect() {
+        setLargeInListStrategy(InListStrategy.JSON, LARGE_IN_LIST_THRESHOLD);
+    }
+
+    @Override
+    public int getMaxInListSize() {
+        return MAX_IN_LIST_SIZE;
+    }
+
+    @Override
+    public int getMaxParameterCount() {
+        return MAX_PARAMETER_COUNT;
+    }
+
+    /**
+     * The values are read as strings and converted to the type of the compared column.
+     */
+    @Override
+    public String getJsonArrayQuery() {
+        return "SELECT v FROM JSON_TABLE(?, '$[*]' COLUMNS (v PATH '$'))";
+    }
+
+    @Override
+    public int getMaxInsertValues() {
+        return MAX_INSERT_VALUES;
+    }
+
+    @Override
+    public boolean supportsMultiRowValues() {
+        return false;
+    }
+
+    /**
+     * Opens a cursor per statement in an anonymous block and returns them as implicit results,
+     * which requires Oracle 12c or later.
+     */
+    @Override
+    public String pipeline(List<String> statements) {
+        StringBuilder block = new StringBuilder("DECLARE");
+        for (int i = 0; i < statements.size(); i++) {
+            block.append(" c").append(i).append(" SYS_REFCURSOR;");
+        }
+        block.append(" BEGIN");
+        for (int i = 0; i < statements.size(); i++) {
+            block.append(" OPEN c").append(i).append(" FOR ").append(statements.get(i))
+                    .append("; DBMS_SQL.RETURN_RESULT(c").append(i).append(");");
+        }
+        return block.append(" END;").toString();
+    }
+
+    /**
+     * Oracle 12c and later support the row limiting clause.
+     */
     @Override
     public String applyPaging(int limit, int offset) {
-        return "LIMIT " + limit + " OFFSET " + offset;
+        return applyOffsetFetch(limit, offset);
+    }
+
+    @Override
+    public Object[] getPagingParameters(int limit, int offset) {
+        return getOffsetFetchParameters(limit, offset);
+    }
+
+    @Override
+    public int getPagingParameterCount(int limit, int offset) {
+        return getOffsetFetchParameterCount(limit, offset);
+    }
+
+    /**
+     * {@code EXPLAIN PLAN} stores the plan in the plan table, from which {@code DBMS_XPLAN} formats it.
+     * It cannot take bind values, so the placeholders are renamed to unbound bind variables.
+     */
+    @Override
+    public Explain explain(String statement) {
+        return new Explain(List.of("EXPLAIN PLAN FOR " + namePlaceholders(statement)),
+                "SELECT PLAN_TABLE_OUTPUT FROM TABLE(DBMS_XPLAN.DISPLAY())", false, List.of());
+    }
+
+    private static String namePlaceholders(String statement) {
+        StringBuilder named = new StringBuilder(statement.length() + 16);
+        int index = 0;
+        char quote = 0;
+        for (int i = 0; i < statement.length(); i++) {
+            char c = statement.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '?') {
+                named.append(':').append(++index);
+                continue;
+            }
+            named.append(c);
+        }
+        return named.toString();
     }
 }
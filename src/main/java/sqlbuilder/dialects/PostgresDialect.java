@@ -1,11 +1,53 @@
 package sqlbuilder.dialects;
 
+import java.util.List;
+
 /**
  * PostgreSQL-specific SQL dialect implementation.
  */
-public class PostgresDialect implements SqlDialect {
+public class PostgresDialect extends AbstractSqlDialect {
+    public PostgresDialect() {
+        setLargeInListStrategy(InListStrategy.ARRAY, LARGE_IN_LIST_THRESHOLD);
+    }
+
+    /**
+     * The PostgreSQL driver only fetches rows in portions when autocommit is disabled.
+     */
+    @Override
+    public boolean requiresTransactionForStreaming() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    /**
+     * The driver sends all statements of a multi-statement query before reading their results.
+     */
+    @Override
+    public String pipeline(List<String> statements) {
+        return String.join("; ", statements);
+    }
+
     @Override
     public String applyPaging(int limit, int offset) {
-        return "LIMIT " + limit + " OFFSET " + offset;
+        return isPagingParameters() ? "LIMIT ? OFFSET ?" : "LIMIT " + limit + " OFFSET " + offset;
+    }
+
+    @Override
+    public Object[] getPagingParameters(int limit, int offset) {
+        return pagingParameters(limit, offset);
+    }
+
+    @Override
+    public int getPagingParameterCount(int limit, int offset) {
+        return isPagingParameters() ? 2 : 0;
+    }
+
+    @Override
+    public Explain explain(String statement) {
+        return Explain.of("EXPLAIN " + statement);
     }
 }
@@ -1,5 +1,6 @@
 package sqlbuilder.dialects;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -16,16 +17,31 @@ public interface SqlDialect {
         if (identifier == null || identifier.isBlank() || identifier.equals("*") || identifier.contains("(")) {
             return identifier;
         }
-        if (identifier.contains(".")) {
-            String[] parts = identifier.split("\\.");
-            StringBuilder quoted = new StringBuilder();
-            for (int i = 0; i < parts.length; i++) {
-                if (i > 0) quoted.append(".");
-                quoted.append(quote(parts[i]));
+
+        int dot = identifier.indexOf('.');
+        if (dot < 0) {
+            return "\"" + identifier + "\"";
+        }
+
+        // quote every part of a qualified identifier, ignoring trailing dots
+        int end = identifier.length();
+        while (end > 0 && identifier.charAt(end - 1) == '.') {
+            end--;
+        }
+        StringBuilder quoted = new StringBuilder(end + 8);
+        int start = 0;
+        while (start < end) {
+            int next = identifier.indexOf('.', start);
+            if (next < 0 || next > end) {
+                next = end;
+            }
+            if (start > 0) {
+                quoted.append('.');
             }
-            return quoted.toString();
+            quoted.append(quote(identifier.substring(start, next)));
+            start = next + 1;
         }
-        return "\"" + identifier + "\"";
+        return quoted.toString();
     }
 
     /**
@@ -39,8 +55,180 @@ public interface SqlDialect {
         return tableIdentifier;
     }
 
+    /**
+     * Returns the padding applied to IN lists of values rendered for this dialect.
+     *
+     * @return the IN list padding
+     */
+    default InListPadding getInListPadding() {
+        return InListPadding.NONE;
+    }
+
+    /**
+     * Returns the maximum number of values in a single IN list.
+     *
+     * @return the maximum IN list size
+     */
+    default int getMaxInListSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the strategy used to render an IN list of values.
+     *
+     * @param size the number of values
+     * @return the IN list strategy
+     */
+    default InListStrategy getInListStrategy(int size) {
+        return InListStrategy.EXPAND;
+    }
+
+    /**
+     * Returns the subquery that expands the JSON array bound by {@link InListStrategy#JSON} into
+     * one row per value. It contains a single {@code ?} for the JSON array.
+     *
+     * @return the JSON array subquery
+     */
+    default String getJsonArrayQuery() {
+        return "SELECT value FROM OPENJSON(?)";
+    }
+
+    /**
+     * Returns the maximum number of bind parameters in a single statement. Statements with more
+     * parameters fail to build.
+     *
+     * @return the maximum parameter count
+     */
+    default int getMaxParameterCount() {
+        return 32767;
+    }
+
+    /**
+     * Returns the maximum length of a single statement in characters.
+     *
+     * @return the maximum statement length
+     */
+    default int getMaxStatementLength() {
+        return 1 << 20;
+    }
+
+    /**
+     * Returns the maximum number of rows in a single multi-row INSERT.
+     *
+     * @return the maximum row count
+     */
+    default int getMaxInsertRows() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the maximum number of values in a single multi-row INSERT, across all of its rows.
+     *
+     * @return the maximum value count
+     */
+    default int getMaxInsertValues() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns whether the dialect supports {@code INSERT ... VALUES (...), (...)}. Dialects without
+     * support insert multiple rows with {@code INSERT ALL}.
+     *
+     * @return true if multi-row VALUES lists are supported
+     */
+    default boolean supportsMultiRowValues() {
+        return true;
+    }
+
+    /**
+     * Returns whether row values can be compared with {@code <} and {@code >}, e.g. {@code (a, b) > (?, ?)}.
+     *
+     * @return true if row value comparisons are supported
+     */
+    default boolean supportsRowValueComparison() {
+        return false;
+    }
+
+    /**
+     * Returns whether result sets are only streamed with a cursor inside a transaction, so
+     * autocommit has to be disabled while a result is streamed.
+     *
+     * @return true if streaming requires autocommit to be disabled
+     */
+    default boolean requiresTransactionForStreaming() {
+        return false;
+    }
+
+    /**
+     * Combines statements into one statement that returns their result sets in order, so they are
+     * executed in a single round trip.
+     *
+     * @param statements the statements, each returning one result set
+     * @return the combined statement, or null if the statements have to be executed one by one
+     */
+    default String pipeline(List<String> statements) {
+        return null;
+    }
+
+    /**
+     * Returns the statements that show the execution plan of a statement without executing it.
+     *
+     * @param statement the statement with its placeholders
+     * @return the explain statements, or null if the dialect has no EXPLAIN support
+     */
+    default Explain explain(String statement) {
+        return null;
+    }
+
+    /**
+     * Returns whether paging requires an ORDER BY clause. Statements without one are ordered by
+     * {@code (SELECT NULL)}, which keeps the order undefined.
+     *
+     * @return true if paging requires an ORDER BY clause
+     */
+    default boolean requiresOrderByForPaging() {
+        return false;
+    }
+
+    /**
+     * Returns the row limiting clause placed after {@code SELECT} (and {@code DISTINCT}), e.g.
+     * {@code TOP (?)}. If a clause is returned, it replaces {@link #applyPaging(int, int)} and the
+     * paging parameters are bound at its position.
+     *
+     * @param limit  the limit of how many entries the SQL statement will return
+     * @param offset the offset at which the limit counting starts
+     * @return the row limiting clause, or null to page with {@link #applyPaging(int, int)}
+     */
+    default String applyTop(int limit, int offset) {
+        return null;
+    }
+
+    /**
+     * Returns the values bound to the placeholders of {@link #applyPaging(int, int)}, in the order
+     * they appear. Dialects that inline the numbers return an empty array.
+     *
+     * @param limit  the limit of how many entries the SQL statement will return
+     * @param offset the offset at which the limit counting starts
+     * @return the paging parameters
+     */
+    default Object[] getPagingParameters(int limit, int offset) {
+        return new Object[0];
+    }
+
+    /**
+     * Returns the number of values {@link #getPagingParameters(int, int)} returns, without creating them.
+     *
+     * @param limit  the limit of how many entries the SQL statement will return
+     * @param offset the offset at which the limit counting starts
+     * @return the number of paging parameters
+     */
+    default int getPagingParameterCount(int limit, int offset) {
+        return getPagingParameters(limit, offset).length;
+    }
+
     /**
      * Applies paging with an offset to the SQL statement using the dialect specific syntax.
+     * Dialects may render placeholders, whose values are returned by {@link #getPagingParameters(int, int)}.
      *
      * @param limit  The limit of how many entries the SQL statement will return
      * @param offset The offset at which the limit counting starts
@@ -0,0 +1,14 @@
+package sqlbuilder.exceptions;
+
+import java.sql.SQLException;
+
+public class QueryExecutionException extends RuntimeException {
+    public QueryExecutionException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
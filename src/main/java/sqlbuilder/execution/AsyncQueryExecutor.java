@@ -0,0 +1,496 @@
+package sqlbuilder.execution;
+
+import sqlbuilder.Query;
+import sqlbuilder.metrics.QueryMetrics;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executes queries asynchronously, each on its own virtual thread with a connection from a DataSource.
+ * <p>
+ * At most {@link #getMaxConcurrency()} queries hold a connection at the same time; further queries
+ * wait for a permit, so a burst of queries doesn't exhaust the connection pool. The cap applies per
+ * executor, so one executor should be shared per DataSource.
+ * <p>
+ * Rows are read completely before the future completes, since the connection is returned right
+ * after the query. Independent queries that belong together are run in a {@link Group}, which
+ * shares one deadline and cancels the remaining queries once one fails.
+ * <p>
+ * Executors are thread-safe. Closing an executor waits for running queries to finish.
+ */
+public class AsyncQueryExecutor implements AutoCloseable {
+    /**
+     * The default maximum number of queries holding a connection at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 10;
+
+    private final DataSource dataSource;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final ExecutorService threads = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("sql-async-", 0).factory());
+    private volatile ResultCache resultCache;
+    private volatile QueryMetrics metrics;
+    private volatile SlowQueryLog slowQueryLog;
+
+    /**
+     * Constructs an AsyncQueryExecutor with the default concurrency cap.
+     *
+     * @param dataSource the data source
+     */
+    public AsyncQueryExecutor(DataSource dataSource) {
+        this(dataSource, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Constructs an AsyncQueryExecutor.
+     *
+     * @param dataSource     the data source
+     * @param maxConcurrency the maximum number of queries holding a connection at the same time
+     * @throws IllegalArgumentException if dataSource is null or maxConcurrency is smaller than 1
+     */
+    public AsyncQueryExecutor(DataSource dataSource, int maxConcurrency) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("DataSource must not be null");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.dataSource = dataSource;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Executes a query that returns rows.
+     *
+     * @param query  the query
+     * @param mapper maps each row
+     * @param <T>    the type of the mapped rows
+     * @return the future of all mapped rows
+     */
+    public <T> CompletableFuture<List<T>> query(Query query, RowMapper<T> mapper) {
+        return query(query, mapper, 0, null);
+    }
+
+    /**
+     * Executes an INSERT, UPDATE or DELETE query.
+     *
+     * @param query the query
+     * @return the future of the number of affected rows
+     */
+    public CompletableFuture<Integer> update(Query query) {
+        return submit(new Task<>(query, updateWork(query), 0), null);
+    }
+
+    /**
+     * Sets the cache {@link #query(Query, RowMapper)} reads results from. Updates executed by this
+     * executor invalidate the results of the tables they touch. Rows read on a connection in a
+     * transaction (autocommit disabled) are not cached.
+     * Cached rows are shared between callers, so mappers of cached queries must produce immutable rows.
+     *
+     * @param resultCache the cache, or null to disable result caching
+     */
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Returns the cache query results are read from.
+     *
+     * @return the result cache, or null if result caching is disabled
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Sets the registry execution and fetch latencies of queries and updates are recorded in.
+     * Latencies of published rows are not recorded.
+     *
+     * @param metrics the registry, or null to disable metrics
+     */
+    public void setMetrics(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the registry execution and fetch latencies are recorded in.
+     *
+     * @return the registry, or null if metrics are disabled
+     */
+    public QueryMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the log that slow queries and updates are reported to. The plan is captured on the
+     * connection of the query before it is released. Published rows are not checked.
+     *
+     * @param slowQueryLog the log, or null to disable slow query reports
+     */
+    public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    /**
+     * Returns the log that slow queries are reported to.
+     *
+     * @return the log, or null if slow query reports are disabled
+     */
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    /**
+     * Returns a publisher of the rows of a query that reads rows only as they are requested.
+     * Every subscription executes the query again and holds a connection until all rows are
+     * published or it is cancelled.
+     *
+     * @param query  the query
+     * @param mapper maps each row
+     * @param <T>    the type of the mapped rows
+     * @return the publisher
+     */
+    public <T> Flow.Publisher<T> publish(Query query, RowMapper<T> mapper) {
+        return new QueryPublisher<>(query, mapper, dataSource, permits, threads);
+    }
+
+    /**
+     * Starts a group of queries that share a deadline.
+     *
+     * @param timeout the time the whole group may take, starting now
+     * @return the group
+     * @throws IllegalArgumentException if timeout is null or not positive
+     */
+    public Group group(Duration timeout) {
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        return new Group(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Returns the maximum number of queries holding a connection at the same time.
+     *
+     * @return the concurrency cap
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Returns the number of queries currently holding a connection.
+     *
+     * @return the active query count
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Stops accepting queries and waits for running queries to finish. Subscriptions of
+     * {@linkplain #publish(Query, RowMapper) publishers} that are waiting for demand must be cancelled first.
+     */
+    @Override
+    public void close() {
+        threads.close();
+    }
+
+    private <T> Task<T> submit(Task<T> task, Phaser running) {
+        if (running != null) {
+            running.register();
+        }
+        try {
+            threads.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    if (running != null) {
+                        running.arriveAndDeregister();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (running != null) {
+                running.arriveAndDeregister();
+            }
+            task.completeExceptionally(new IllegalStateException("Executor is closed", e));
+        }
+        return task;
+    }
+
+    private <T> CompletableFuture<List<T>> query(Query query, RowMapper<T> mapper, long deadline, Group group) {
+        ResultCache cache = resultCache;
+        QueryMetrics metrics = this.metrics;
+        ResultCache.Key key = cache != null ? cache.key(query, mapper) : null;
+        if (key == null) {
+            Task<List<T>> task = new Task<>(query, statement -> QueryExecutor.readAll(
+                    QueryExecutor.executeQuery(statement, query, metrics), mapper, query, metrics), deadline);
+            return group != null ? group.add(task) : submit(task, null);
+        }
+        List<T> cached = cache.get(key);
+        if (cached != null) {
+            if (group != null) {
+                group.checkOpen();
+            }
+            return CompletableFuture.completedFuture(cached);
+        }
+        long generation = cache.generation();
+        Task<List<T>> task = new Task<>(query, statement -> {
+            List<T> rows = QueryExecutor.readAll(QueryExecutor.executeQuery(statement, query, metrics), mapper, query, metrics);
+            return statement.getConnection().getAutoCommit() ? cache.put(key, rows, generation) : rows;
+        }, deadline);
+        return group != null ? group.add(task) : submit(task, null);
+    }
+
+    private Work<Integer> updateWork(Query query) {
+        ResultCache cache = resultCache;
+        QueryMetrics metrics = this.metrics;
+        if (cache == null) {
+            return statement -> QueryExecutor.executeUpdate(statement, query, metrics);
+        }
+        return statement -> {
+            try {
+                return QueryExecutor.executeUpdate(statement, query, metrics);
+            } finally {
+                cache.invalidate(query.getTables());
+            }
+        };
+    }
+
+    private interface Work<T> {
+        T execute(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * A query running on its own thread. Cancelling the future cancels the running statement on the
+     * database. The thread is never interrupted, since interrupting a virtual thread blocked in socket
+     * I/O closes the socket and would return a broken connection to the pool.
+     */
+    private final class Task<T> extends CompletableFuture<T> {
+        private final Query query;
+        private final Work<T> work;
+        private final long deadline;
+        private volatile PreparedStatement statement;
+
+        Task(Query query, Work<T> work, long deadline) {
+            this.query = query;
+            this.work = work;
+            this.deadline = deadline;
+        }
+
+        void run() {
+            try {
+                if (!isDone()) {
+                    complete(execute());
+                }
+            } catch (Throwable e) {
+                completeExceptionally(e);
+            }
+        }
+
+        private T execute() throws SQLException, InterruptedException {
+            if (deadline == 0) {
+                permits.acquire();
+            } else if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTimeoutException("Deadline expired while waiting for a connection");
+            }
+            if (isDone()) {
+                // cancelled while waiting for a permit
+                permits.release();
+                return null;
+            }
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement prepared = connection.prepareStatement(query.getStatement())) {
+                statement = prepared;
+                if (isDone()) {
+                    return null;
+                }
+                if (deadline != 0) {
+                    long remaining = deadline - System.nanoTime();
+                    prepared.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999)));
+                }
+                QueryExecutor.bind(prepared, query);
+                SlowQueryLog log = slowQueryLog;
+                if (log == null) {
+                    return work.execute(prepared);
+                }
+                long start = System.nanoTime();
+                T result = work.execute(prepared);
+                log.check(connection, query, System.nanoTime() - start);
+                return result;
+            } finally {
+                statement = null;
+                permits.release();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                abort();
+            }
+            return cancelled;
+        }
+
+        /**
+         * Cancels the running statement, whether or not the future is already completed. A task that
+         * has not started its statement yet sees that its future is done and doesn't start it.
+         */
+        void abort() {
+            PreparedStatement running = statement;
+            if (running != null) {
+                try {
+                    running.cancel();
+                } catch (SQLException ignored) {
+                    // the statement finished or was closed in the meantime
+                }
+            }
+        }
+    }
+
+    /**
+     * A group of queries run concurrently with one shared deadline.
+     * <p>
+     * Once a query of the group fails or the deadline expires, the remaining queries are cancelled:
+     * their futures complete with a {@link java.util.concurrent.CancellationException}, waiting
+     * queries don't start once they get a connection and running statements are cancelled on the database. A query
+     * that misses the deadline completes with a {@link java.util.concurrent.TimeoutException}.
+     * <pre>{@code
+     * try (AsyncQueryExecutor.Group group = executor.group(Duration.ofSeconds(2))) {
+     *     CompletableFuture<List<User>> users = group.query(usersQuery, RowMappers.of(User.class));
+     *     CompletableFuture<List<Long>> totals = group.query(totalsQuery, rs -> rs.getLong(1));
+     *     group.join();
+     *     render(users.join(), totals.join());
+     * }
+     * }</pre>
+     * Closing a group cancels its unfinished queries and waits until none of them runs anymore.
+     */
+    public final class Group implements AutoCloseable {
+        private final long deadline;
+        private final List<Task<?>> tasks = new ArrayList<>();
+        private final Phaser running = new Phaser(1);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private boolean joined;
+
+        private Group(long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Adds a query that returns rows to the group.
+         *
+         * @param query  the query
+         * @param mapper maps each row
+         * @param <T>    the type of the mapped rows
+         * @return the future of all mapped rows
+         * @throws IllegalStateException if the group was already joined or closed
+         */
+        public <T> CompletableFuture<List<T>> query(Query query, RowMapper<T> mapper) {
+            return AsyncQueryExecutor.this.query(query, mapper, deadline, this);
+        }
+
+        /**
+         * Adds an INSERT, UPDATE or DELETE query to the group.
+         *
+         * @param query the query
+         * @return the future of the number of affected rows
+         * @throws IllegalStateException if the group was already joined or closed
+         */
+        public CompletableFuture<Integer> update(Query query) {
+            return add(new Task<>(query, updateWork(query), deadline));
+        }
+
+        private synchronized void checkOpen() {
+            if (joined) {
+                throw new IllegalStateException("Queries cannot be added to a joined group");
+            }
+        }
+
+        private <T> CompletableFuture<T> add(Task<T> task) {
+            synchronized (this) {
+                checkOpen();
+                tasks.add(task);
+            }
+            task.whenComplete((result, e) -> {
+                if (e == null) {
+                    return;
+                }
+                // a task completed by orTimeout keeps running its statement unless aborted
+                task.abort();
+                if (failure.compareAndSet(null, e)) {
+                    cancelAll();
+                }
+            });
+            task.orTimeout(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            return submit(task, running);
+        }
+
+        /**
+         * Waits until every query of the group has finished.
+         *
+         * @throws CompletionException  with the first failure as its cause if a query failed or the deadline expired
+         * @throws InterruptedException if the thread was interrupted while waiting; the queries are cancelled
+         */
+        public void join() throws InterruptedException {
+            try {
+                running.awaitAdvanceInterruptibly(arrive());
+            } catch (InterruptedException e) {
+                cancelAll();
+                throw e;
+            }
+            Throwable first = failure.get();
+            if (first != null) {
+                throw new CompletionException(first);
+            }
+        }
+
+        /**
+         * Cancels the unfinished queries of the group and waits until none of them runs anymore.
+         */
+        @Override
+        public void close() {
+            cancelAll();
+            running.awaitAdvance(arrive());
+        }
+
+        private synchronized int arrive() {
+            if (joined) {
+                return 0;
+            }
+            joined = true;
+            return running.arriveAndDeregister();
+        }
+
+        private void cancelAll() {
+            List<Task<?>> snapshot;
+            synchronized (this) {
+                snapshot = List.copyOf(tasks);
+            }
+            for (Task<?> task : snapshot) {
+                if (!task.cancel(false)) {
+                    task.abort();
+                }
+            }
+        }
+    }
+}
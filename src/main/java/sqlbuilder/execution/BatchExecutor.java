@@ -0,0 +1,191 @@
+package sqlbuilder.execution;
+
+import sqlbuilder.AbstractBuilder;
+import sqlbuilder.Query;
+import sqlbuilder.StatementCache;
+import sqlbuilder.metrics.Phase;
+import sqlbuilder.metrics.QueryMetrics;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Executes queries in JDBC batches.
+ * <p>
+ * Consecutive queries with the same statement text are queued with {@code addBatch} on one prepared
+ * statement. The queue is executed when it reaches the batch size, when a query with a different
+ * statement text is added, and on {@link #flush()} or {@link #close()}. Every executed batch is
+ * reported as a {@link BatchResult}; a failing batch is recorded and does not stop later batches.
+ * <p>
+ * Builders can be added directly. Their statement text is taken from a statement cache, so rows
+ * of the same shape only collect their parameters. Like its executor, a batch is not thread-safe.
+ */
+public class BatchExecutor implements AutoCloseable {
+    /**
+     * The default maximum number of queries per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    private final QueryExecutor executor;
+    private final int batchSize;
+    private final List<BatchResult> results = new ArrayList<>();
+    private StatementCache statementCache;
+    private PreparedStatement pending;
+    private String pendingStatement;
+    private Set<String> pendingTables;
+    private int pendingCount;
+
+    /**
+     * Constructs a BatchExecutor with the default batch size.
+     *
+     * @param executor the executor providing the connection and prepared statements
+     */
+    public BatchExecutor(QueryExecutor executor) {
+        this(executor, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a BatchExecutor.
+     *
+     * @param executor  the executor providing the connection and prepared statements
+     * @param batchSize the maximum number of queries per batch
+     * @throws IllegalArgumentException if batchSize is smaller than 1
+     */
+    public BatchExecutor(QueryExecutor executor, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queues a query, executing the pending batch first if its statement text differs.
+     *
+     * @param query the query
+     * @throws SQLException if preparing, binding or executing fails for reasons other than a batch failure
+     */
+    public void add(Query query) throws SQLException {
+        String statement = query.getStatement();
+        if (pending != null && !statement.equals(pendingStatement)) {
+            flush();
+        }
+        if (pending == null) {
+            pending = executor.prepare(query);
+            pendingStatement = statement;
+            pendingTables = query.getTables();
+        } else {
+            pending.clearParameters();
+            QueryExecutor.bind(pending, query);
+        }
+        pending.addBatch();
+        if (++pendingCount >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Queues the statement of a builder.
+     *
+     * @param builder the builder
+     * @throws SQLException if preparing, binding or executing fails for reasons other than a batch failure
+     */
+    public void add(AbstractBuilder<?> builder) throws SQLException {
+        if (statementCache == null) {
+            statementCache = new StatementCache(STATEMENT_CACHE_SIZE);
+        }
+        add(statementCache.build(builder));
+    }
+
+    /**
+     * Executes the pending batch.
+     *
+     * @return the result of the batch, or null if no queries were pending
+     * @throws SQLException if executing fails for reasons other than a batch failure
+     */
+    public BatchResult flush() throws SQLException {
+        if (pending == null) {
+            return null;
+        }
+
+        PreparedStatement statement = pending;
+        String text = pendingStatement;
+        Set<String> tables = pendingTables;
+        pending = null;
+        pendingStatement = null;
+        pendingTables = null;
+        pendingCount = 0;
+
+        QueryMetrics metrics = executor.getMetrics();
+        long start = metrics != null ? System.nanoTime() : 0;
+        BatchResult result;
+        try {
+            result = new BatchResult(text, statement.executeBatch(), null);
+        } catch (BatchUpdateException e) {
+            int[] counts = e.getUpdateCounts();
+            result = new BatchResult(text, counts != null ? counts : new int[0], e);
+        } finally {
+            if (metrics != null) {
+                metrics.record(text, Phase.EXECUTE, System.nanoTime() - start);
+            }
+            if (!executor.isStatementCaching()) {
+                statement.close();
+            }
+            executor.written(tables);
+        }
+        if (metrics != null && !result.isSuccessful()) {
+            metrics.recordError(text);
+        }
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * Returns the number of queries waiting in the pending batch.
+     *
+     * @return the pending query count
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Returns the results of all executed batches in execution order.
+     *
+     * @return the batch results
+     */
+    public List<BatchResult> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Returns whether any executed batch failed.
+     *
+     * @return true if a batch failed
+     */
+    public boolean hasFailures() {
+        for (BatchResult result : results) {
+            if (!result.isSuccessful()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Executes the pending batch. The executor is not closed.
+     *
+     * @throws SQLException if executing fails for reasons other than a batch failure
+     */
+    @Override
+    public void close() throws SQLException {
+        flush();
+    }
+}
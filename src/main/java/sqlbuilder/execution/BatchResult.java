@@ -0,0 +1,72 @@
+package sqlbuilder.execution;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+
+/**
+ * The outcome of one executed JDBC batch: its statement text, the update count of every queued
+ * query and the failure, if the batch failed.
+ */
+public final class BatchResult {
+    private final String statement;
+    private final int[] updateCounts;
+    private final BatchUpdateException failure;
+
+    BatchResult(String statement, int[] updateCounts, BatchUpdateException failure) {
+        this.statement = statement;
+        this.updateCounts = updateCounts;
+        this.failure = failure;
+    }
+
+    /**
+     * Returns the statement text of the batch.
+     *
+     * @return the statement
+     */
+    public String getStatement() {
+        return statement;
+    }
+
+    /**
+     * Returns the update counts reported by the driver, one per queued query in order. For a failed
+     * batch the driver may report fewer counts or {@link Statement#EXECUTE_FAILED} entries.
+     *
+     * @return a copy of the update counts
+     */
+    public int[] getUpdateCounts() {
+        return updateCounts.clone();
+    }
+
+    /**
+     * Returns the sum of all known update counts.
+     *
+     * @return the number of affected rows
+     */
+    public long getUpdateCount() {
+        long total = 0;
+        for (int count : updateCounts) {
+            if (count > 0) {
+                total += count;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the failure of the batch.
+     *
+     * @return the failure, or null if the batch succeeded
+     */
+    public BatchUpdateException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Returns whether the batch succeeded.
+     *
+     * @return true if no failure occurred
+     */
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+}
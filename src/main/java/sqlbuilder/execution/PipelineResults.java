@@ -0,0 +1,129 @@
+package sqlbuilder.execution;
+
+import sqlbuilder.Query;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The result sets of a pipeline of queries, read in the order of the queries.
+ * <p>
+ * If the dialect combines the queries into one statement, they are all executed in a single round
+ * trip when the first result set is requested; otherwise each query is executed when its result set
+ * is requested. As with a statement returning multiple results, requesting the next result set
+ * closes the previous one.
+ *
+ * @see QueryExecutor#pipeline(List)
+ */
+public final class PipelineResults implements AutoCloseable {
+    private final QueryExecutor executor;
+    private final List<Query> queries;
+    private final PreparedStatement statement;
+    private final boolean ownsStatement;
+    private ResultSet current;
+    private int position;
+
+    PipelineResults(QueryExecutor executor, List<Query> queries, PreparedStatement statement, boolean ownsStatement) {
+        this.executor = executor;
+        this.queries = queries;
+        this.statement = statement;
+        this.ownsStatement = ownsStatement;
+    }
+
+    /**
+     * Returns whether the queries are executed in a single round trip.
+     *
+     * @return true if the queries were combined into one statement
+     */
+    public boolean isPipelined() {
+        return statement != null;
+    }
+
+    /**
+     * Returns the number of queries in the pipeline.
+     *
+     * @return the query count
+     */
+    public int size() {
+        return queries.size();
+    }
+
+    /**
+     * Returns whether there are result sets left.
+     *
+     * @return true if {@link #next()} returns another result set
+     */
+    public boolean hasNext() {
+        return position < queries.size();
+    }
+
+    /**
+     * Returns the result set of the next query and closes the previous one.
+     *
+     * @return the result set
+     * @throws SQLException           if the execution fails or the statement returned fewer result sets than expected
+     * @throws NoSuchElementException if all result sets were read
+     */
+    public ResultSet next() throws SQLException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("All " + queries.size() + " result sets were read");
+        }
+        if (statement == null) {
+            if (current != null) {
+                current.close();
+            }
+            current = executor.executeQuery(queries.get(position));
+        } else {
+            boolean result = position == 0 ? statement.execute() || statement.getMoreResults() : statement.getMoreResults();
+            while (!result && statement.getUpdateCount() != -1) {
+                result = statement.getMoreResults();
+            }
+            if (!result) {
+                throw new SQLException("The pipeline returned " + position + " result sets for " + queries.size() + " queries");
+            }
+            current = statement.getResultSet();
+        }
+        position++;
+        return current;
+    }
+
+    /**
+     * Reads all rows of the next result set.
+     *
+     * @param mapper maps each row
+     * @param <T>    the type of the mapped rows
+     * @return the mapped rows
+     * @throws SQLException           if the execution fails
+     * @throws NoSuchElementException if all result sets were read
+     */
+    public <T> List<T> next(RowMapper<T> mapper) throws SQLException {
+        ResultSet resultSet = next();
+        List<T> rows = new ArrayList<>();
+        while (resultSet.next()) {
+            rows.add(mapper.map(resultSet));
+        }
+        return rows;
+    }
+
+    /**
+     * Closes the current result set, and the combined statement unless it is cached by the executor.
+     *
+     * @throws SQLException if closing fails
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (current != null) {
+                current.close();
+            }
+        } finally {
+            if (ownsStatement) {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package sqlbuilder.execution;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A least-recently-used cache of prepared statements of one connection, keyed by statement text.
+ * <p>
+ * Evicted statements are closed. Like the connection it belongs to, the cache is not thread-safe;
+ * only its counters may be read from other threads.
+ */
+final class PreparedStatementCache {
+    private final int maximumSize;
+    private final Map<String, PreparedStatement> statements;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    PreparedStatementCache(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Statement cache size must not be negative");
+        }
+        this.maximumSize = maximumSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= PreparedStatementCache.this.maximumSize) {
+                    return false;
+                }
+                evictions.increment();
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the open statement cached for a statement text, counting a hit or a miss.
+     *
+     * @param sql the statement text
+     * @return the cached statement, or null if none is cached
+     */
+    PreparedStatement get(String sql) {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !isClosed(statement)) {
+            hits.increment();
+            return statement;
+        }
+        if (statement != null) {
+            statements.remove(sql);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches a statement, evicting and closing the least recently used one if the cache is full.
+     *
+     * @param sql       the statement text
+     * @param statement the prepared statement
+     * @return true if the statement was cached, false if caching is disabled
+     */
+    boolean put(String sql, PreparedStatement statement) {
+        if (maximumSize == 0) {
+            return false;
+        }
+        statements.put(sql, statement);
+        return true;
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    int getMaximumSize() {
+        return maximumSize;
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Closes and removes all cached statements.
+     *
+     * @throws SQLException the first failure to close a statement, with later failures suppressed
+     */
+    void clear() throws SQLException {
+        List<PreparedStatement> open = new ArrayList<>(statements.values());
+        statements.clear();
+        SQLException failure = null;
+        for (PreparedStatement statement : open) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static boolean isClosed(PreparedStatement statement) {
+        try {
+            return statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // the statement is discarded either way
+        }
+    }
+}
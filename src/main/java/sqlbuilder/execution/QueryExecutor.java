@@ -0,0 +1,671 @@
+package sqlbuilder.execution;
+
+import sqlbuilder.Query;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.metrics.Phase;
+import sqlbuilder.metrics.QueryMetrics;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Executes queries on one connection and reuses their prepared statements.
+ * <p>
+ * Prepared statements are kept in a bounded least-recently-used cache keyed by statement text, so
+ * executing a statement again only binds new parameters instead of preparing it again. As with
+ * plain JDBC, executing a statement again, or evicting it from the cache, closes result sets
+ * previously obtained from it.
+ * <p>
+ * An executor is bound to a single connection and, like the connection, is not thread-safe.
+ * When created from a DataSource, the connection is obtained on first use and closed with the executor.
+ */
+public class QueryExecutor implements AutoCloseable {
+    /**
+     * The default maximum number of cached prepared statements.
+     */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    /**
+     * The default number of rows fetched per round trip when streaming.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final PreparedStatementCache statements;
+    private Connection connection;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private ResultCache resultCache;
+    private QueryMetrics metrics;
+    private SlowQueryLog slowQueryLog;
+    private Set<String> uncommittedTables;
+    private boolean uncommittedUnknownTables;
+
+    /**
+     * Constructs a QueryExecutor for a connection with the default statement cache size.
+     * The connection is not closed by the executor.
+     *
+     * @param connection the connection to execute on
+     */
+    public QueryExecutor(Connection connection) {
+        this(connection, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructs a QueryExecutor for a connection. The connection is not closed by the executor.
+     *
+     * @param connection         the connection to execute on
+     * @param statementCacheSize the maximum number of cached prepared statements, 0 to disable caching
+     */
+    public QueryExecutor(Connection connection, int statementCacheSize) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection must not be null");
+        }
+        this.dataSource = null;
+        this.connection = connection;
+        this.statements = new PreparedStatementCache(statementCacheSize);
+    }
+
+    /**
+     * Constructs a QueryExecutor that obtains its connection from a DataSource, with the default
+     * statement cache size.
+     *
+     * @param dataSource the data source
+     */
+    public QueryExecutor(DataSource dataSource) {
+        this(dataSource, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructs a QueryExecutor that obtains its connection from a DataSource.
+     *
+     * @param dataSource         the data source
+     * @param statementCacheSize the maximum number of cached prepared statements, 0 to disable caching
+     */
+    public QueryExecutor(DataSource dataSource, int statementCacheSize) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("DataSource must not be null");
+        }
+        this.dataSource = dataSource;
+        this.statements = new PreparedStatementCache(statementCacheSize);
+    }
+
+    /**
+     * Returns the connection of this executor, obtaining it from the DataSource if necessary.
+     *
+     * @return the connection
+     * @throws SQLException if the connection cannot be obtained
+     */
+    public Connection getConnection() throws SQLException {
+        if (connection == null) {
+            connection = dataSource.getConnection();
+        }
+        return connection;
+    }
+
+    /**
+     * Returns a prepared statement for the query with its parameters bound.
+     * <p>
+     * Cached statements are owned by the executor and must not be closed by the caller. If caching is
+     * disabled, the statement closes itself once its results are closed.
+     *
+     * @param query the query
+     * @return the bound statement
+     * @throws SQLException if preparing or binding fails
+     */
+    public PreparedStatement prepare(Query query) throws SQLException {
+        String sql = query.getStatement();
+        PreparedStatement statement = statements.get(sql);
+        boolean cached = true;
+        if (statement == null) {
+            statement = getConnection().prepareStatement(sql);
+            if (!statements.put(sql, statement)) {
+                statement.closeOnCompletion();
+                cached = false;
+            }
+        } else {
+            statement.clearParameters();
+        }
+        try {
+            bind(statement, query);
+        } catch (SQLException | RuntimeException e) {
+            if (!cached) {
+                // nobody else owns the statement, and it never produces results that would close it
+                try {
+                    statement.close();
+                } catch (SQLException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+            throw e;
+        }
+        return statement;
+    }
+
+    /**
+     * Executes a query that returns rows.
+     * <p>
+     * If a slow query log is set, the query is checked once the result set is closed, so its duration
+     * includes reading the rows and its plan is never captured while the result set is still open.
+     *
+     * @param query the query
+     * @return the result set, which must be closed by the caller
+     * @throws SQLException if the execution fails
+     */
+    public ResultSet executeQuery(Query query) throws SQLException {
+        SlowQueryLog log = slowQueryLog;
+        if (log == null) {
+            return executeQuery(prepareMeasured(query), query, metrics);
+        }
+        long start = System.nanoTime();
+        ResultSet resultSet = executeQuery(prepareMeasured(query), query, metrics);
+        return (ResultSet) Proxy.newProxyInstance(QueryExecutor.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                new CheckOnClose(resultSet, getConnection(), log, query, start));
+    }
+
+    /**
+     * Forwards every call to a result set and checks the query against the slow query log once it is first closed.
+     */
+    private static final class CheckOnClose implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final Connection connection;
+        private final SlowQueryLog log;
+        private final Query query;
+        private final long start;
+        private boolean checked;
+
+        CheckOnClose(ResultSet resultSet, Connection connection, SlowQueryLog log, Query query, long start) {
+            this.resultSet = resultSet;
+            this.connection = connection;
+            this.log = log;
+            this.query = query;
+            this.start = start;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (!checked && method.getName().equals("close")) {
+                checked = true;
+                log.check(connection, query, System.nanoTime() - start);
+            }
+            return result;
+        }
+    }
+
+    private PreparedStatement prepareMeasured(Query query) throws SQLException {
+        try {
+            return prepare(query);
+        } catch (SQLException e) {
+            if (metrics != null) {
+                metrics.recordError(query.getStatement());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Executes a bound statement that returns rows, recording its latency if metrics are given.
+     */
+    static ResultSet executeQuery(PreparedStatement statement, Query query, QueryMetrics metrics) throws SQLException {
+        if (metrics == null) {
+            return statement.executeQuery();
+        }
+        long start = System.nanoTime();
+        try {
+            return statement.executeQuery();
+        } catch (SQLException e) {
+            metrics.recordError(query.getStatement());
+            throw e;
+        } finally {
+            metrics.record(query.getStatement(), Phase.EXECUTE, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Executes a bound INSERT, UPDATE or DELETE statement, recording its latency if metrics are given.
+     */
+    static int executeUpdate(PreparedStatement statement, Query query, QueryMetrics metrics) throws SQLException {
+        if (metrics == null) {
+            return statement.executeUpdate();
+        }
+        long start = System.nanoTime();
+        try {
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            metrics.recordError(query.getStatement());
+            throw e;
+        } finally {
+            metrics.record(query.getStatement(), Phase.EXECUTE, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Executes a query and reads all its rows, from the result cache if one is set.
+     * <p>
+     * While the connection is in a transaction (autocommit disabled), the result cache is bypassed,
+     * since the transaction may see its own uncommitted writes.
+     *
+     * @param query  the query
+     * @param mapper maps each row
+     * @param <T>    the type of the mapped rows
+     * @return the mapped rows as an unmodifiable list
+     * @throws SQLException if the execution fails
+     * @see #setResultCache(ResultCache)
+     */
+    public <T> List<T> query(Query query, RowMapper<T> mapper) throws SQLException {
+        ResultCache cache = resultCache;
+        ResultCache.Key key = cache != null && getConnection().getAutoCommit() ? cache.key(query, mapper) : null;
+        if (key == null) {
+            return Collections.unmodifiableList(fetch(query, mapper));
+        }
+        List<T> rows = cache.get(key);
+        if (rows != null) {
+            return rows;
+        }
+        long generation = cache.generation();
+        return cache.put(key, fetch(query, mapper), generation);
+    }
+
+    private <T> List<T> fetch(Query query, RowMapper<T> mapper) throws SQLException {
+        SlowQueryLog log = slowQueryLog;
+        long start = log != null ? System.nanoTime() : 0;
+        List<T> rows = readAll(executeQuery(prepareMeasured(query), query, metrics), mapper, query, metrics);
+        if (log != null) {
+            log.check(getConnection(), query, System.nanoTime() - start);
+        }
+        return rows;
+    }
+
+    /**
+     * Reads all rows of a result set and closes it, recording the fetch latency if metrics are given.
+     */
+    static <T> List<T> readAll(ResultSet resultSet, RowMapper<T> mapper, Query query, QueryMetrics metrics) throws SQLException {
+        long start = metrics != null ? System.nanoTime() : 0;
+        try (resultSet) {
+            List<T> rows = new ArrayList<>();
+            while (resultSet.next()) {
+                rows.add(mapper.map(resultSet));
+            }
+            if (metrics != null) {
+                metrics.recordFetch(query.getStatement(), System.nanoTime() - start, rows.size());
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Sets the registry execution and fetch latencies are recorded in. Latencies are recorded for
+     * {@link #executeQuery(Query)}, {@link #query(Query, RowMapper)}, {@link #executeUpdate(Query)}
+     * and batches of a {@link BatchExecutor}, but not for streams and pipelines.
+     *
+     * @param metrics the registry, or null to disable metrics
+     */
+    public void setMetrics(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the registry execution and fetch latencies are recorded in.
+     *
+     * @return the registry, or null if metrics are disabled
+     */
+    public QueryMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the log that slow queries are reported to, with their plan captured on this executor's
+     * connection. Queries are checked in {@link #executeQuery(Query)} (once the result set is closed),
+     * {@link #query(Query, RowMapper)} (execution and fetch) and {@link #executeUpdate(Query)}.
+     *
+     * @param slowQueryLog the log, or null to disable slow query reports
+     */
+    public void setSlowQueryLog(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    /**
+     * Returns the log that slow queries are reported to.
+     *
+     * @return the log, or null if slow query reports are disabled
+     */
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueryLog;
+    }
+
+    /**
+     * Sets the cache {@link #query(Query, RowMapper)} reads results from. Writes executed by this
+     * executor invalidate the results of the tables they touch. Writes in a transaction are
+     * invalidated again on {@link #commit()} or {@link #rollback()}, so transactions should be
+     * ended through the executor rather than the connection.
+     * Cached rows are shared between callers, so mappers of cached queries must produce immutable rows.
+     *
+     * @param resultCache the cache, or null to disable result caching
+     */
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Returns the cache query results are read from.
+     *
+     * @return the result cache, or null if result caching is disabled
+     */
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Commits the transaction of the connection and invalidates the cached results of the tables written in it.
+     *
+     * @throws SQLException if committing fails
+     */
+    public void commit() throws SQLException {
+        try {
+            getConnection().commit();
+        } finally {
+            invalidateUncommitted();
+        }
+    }
+
+    /**
+     * Rolls back the transaction of the connection and invalidates the cached results of the tables written in it.
+     *
+     * @throws SQLException if rolling back fails
+     */
+    public void rollback() throws SQLException {
+        try {
+            getConnection().rollback();
+        } finally {
+            invalidateUncommitted();
+        }
+    }
+
+    /**
+     * Invalidates the cached results of tables written by this executor.
+     *
+     * @param tables the written tables, or null if they are unknown
+     * @throws SQLException if the autocommit mode cannot be read
+     */
+    void written(Collection<String> tables) throws SQLException {
+        ResultCache cache = resultCache;
+        if (cache == null) {
+            return;
+        }
+        cache.invalidate(tables);
+        if (!getConnection().getAutoCommit()) {
+            if (tables == null) {
+                uncommittedUnknownTables = true;
+            } else {
+                if (uncommittedTables == null) {
+                    uncommittedTables = new HashSet<>();
+                }
+                uncommittedTables.addAll(tables);
+            }
+        }
+    }
+
+    private void invalidateUncommitted() {
+        ResultCache cache = resultCache;
+        if (cache != null && uncommittedUnknownTables) {
+            cache.invalidateAll();
+        } else if (cache != null && uncommittedTables != null) {
+            cache.invalidate(uncommittedTables);
+        }
+        uncommittedTables = null;
+        uncommittedUnknownTables = false;
+    }
+
+    /**
+     * Sets the number of rows fetched per round trip when streaming.
+     *
+     * @param fetchSize the fetch size, 0 to use the driver default
+     * @throws IllegalArgumentException if fetchSize is negative
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("fetchSize must not be negative");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Returns the number of rows fetched per round trip when streaming.
+     *
+     * @return the fetch size
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Executes a query and streams its rows lazily from the result set.
+     * <p>
+     * Rows are fetched in portions of the fetch size while the stream is consumed. Dialects that
+     * only stream inside a transaction get autocommit disabled until the stream is released. The
+     * result set and its statement are released once all rows are read or the stream is closed, so
+     * streams that may not be fully consumed should be used in a try-with-resources block. The
+     * statement is prepared for the stream alone and is not taken from the statement cache.
+     * Failures while reading rows are thrown as {@link sqlbuilder.exceptions.QueryExecutionException}.
+     *
+     * @param query  the query
+     * @param mapper maps each row
+     * @param <T>    the type of the mapped rows
+     * @return the stream of mapped rows
+     * @throws SQLException if the execution fails
+     */
+    public <T> Stream<T> stream(Query query, RowMapper<T> mapper) throws SQLException {
+        Connection connection = getConnection();
+        boolean cursorTransaction = query.getDialect() != null
+                && query.getDialect().requiresTransactionForStreaming()
+                && connection.getAutoCommit();
+        if (cursorTransaction) {
+            connection.setAutoCommit(false);
+        }
+
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(query.getStatement(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            bind(statement, query);
+        } catch (SQLException e) {
+            ResultStream.release(connection, statement, cursorTransaction, e);
+            throw e;
+        }
+
+        ResultStream<T> rows = ResultStream.open(connection, statement, mapper, cursorTransaction);
+        return StreamSupport.stream(rows, false).onClose(rows);
+    }
+
+    /**
+     * Executes queries that each return one result set, in a single round trip if possible.
+     * <p>
+     * If all queries were built for the same dialect and it can {@linkplain SqlDialect#pipeline(List)
+     * combine} them within its parameter limit, they are sent as one statement, which is cached
+     * like any other statement. Otherwise they are executed one by one as their result sets are read.
+     *
+     * @param queries the queries
+     * @return the result sets in the order of the queries, which must be closed by the caller
+     * @throws SQLException if preparing the combined statement fails
+     */
+    public PipelineResults pipeline(List<Query> queries) throws SQLException {
+        List<Query> copy = List.copyOf(queries);
+        Query combined = combine(copy);
+        if (combined == null) {
+            return new PipelineResults(this, copy, null, false);
+        }
+        if (isStatementCaching()) {
+            return new PipelineResults(this, copy, prepare(combined), false);
+        }
+        PreparedStatement statement = getConnection().prepareStatement(combined.getStatement());
+        try {
+            bind(statement, combined);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        return new PipelineResults(this, copy, statement, true);
+    }
+
+    /**
+     * Executes queries that each return one result set, in a single round trip if possible.
+     *
+     * @param queries the queries
+     * @return the result sets in the order of the queries, which must be closed by the caller
+     * @throws SQLException if preparing the combined statement fails
+     * @see #pipeline(List)
+     */
+    public PipelineResults pipeline(Query... queries) throws SQLException {
+        return pipeline(List.of(queries));
+    }
+
+    private static Query combine(List<Query> queries) {
+        if (queries.size() < 2) {
+            return null;
+        }
+        SqlDialect dialect = queries.get(0).getDialect();
+        int parameterCount = 0;
+        List<String> statements = new ArrayList<>(queries.size());
+        for (Query query : queries) {
+            if (dialect == null || query.getDialect() != dialect) {
+                return null;
+            }
+            parameterCount += query.getParameterCount();
+            statements.add(query.getStatement());
+        }
+        if (parameterCount > dialect.getMaxParameterCount()) {
+            return null;
+        }
+        String statement = dialect.pipeline(statements);
+        if (statement == null) {
+            return null;
+        }
+
+        Query combined = new Query(statement);
+        for (Query query : queries) {
+            for (int i = 0, count = query.getParameterCount(); i < count; i++) {
+                combined.addParameter(query.getParameter(i));
+            }
+        }
+        return combined;
+    }
+
+    /**
+     * Executes an INSERT, UPDATE or DELETE query.
+     *
+     * @param query the query
+     * @return the number of affected rows
+     * @throws SQLException if the execution fails
+     */
+    public int executeUpdate(Query query) throws SQLException {
+        SlowQueryLog log = slowQueryLog;
+        long start = log != null ? System.nanoTime() : 0;
+        PreparedStatement statement = prepareMeasured(query);
+        int count;
+        try {
+            count = executeUpdate(statement, query, metrics);
+        } finally {
+            if (!isStatementCaching()) {
+                statement.close();
+            }
+            written(query.getTables());
+        }
+        if (log != null) {
+            log.check(getConnection(), query, System.nanoTime() - start);
+        }
+        return count;
+    }
+
+    boolean isStatementCaching() {
+        return statements.getMaximumSize() > 0;
+    }
+
+    /**
+     * Binds the parameters of a query to a statement.
+     *
+     * @param statement the statement
+     * @param query     the query
+     * @throws SQLException if a parameter cannot be bound
+     */
+    static void bind(PreparedStatement statement, Query query) throws SQLException {
+        for (int i = 0, count = query.getParameterCount(); i < count; i++) {
+            statement.setObject(i + 1, query.getParameter(i));
+        }
+    }
+
+    /**
+     * Returns how often a prepared statement was reused from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return statements.getHitCount();
+    }
+
+    /**
+     * Returns how often a statement had to be prepared.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return statements.getMissCount();
+    }
+
+    /**
+     * Returns how many prepared statements were closed because the cache was full.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return statements.getEvictionCount();
+    }
+
+    /**
+     * Returns the number of currently cached prepared statements.
+     *
+     * @return the cached statement count
+     */
+    public int getCachedStatementCount() {
+        return statements.size();
+    }
+
+    /**
+     * Closes all cached statements, and the connection if it was obtained from a DataSource.
+     * Cached results of tables written in an unfinished transaction are invalidated.
+     *
+     * @throws SQLException if closing fails
+     */
+    @Override
+    public void close() throws SQLException {
+        invalidateUncommitted();
+        try {
+            statements.clear();
+        } finally {
+            if (dataSource != null && connection != null) {
+                Connection owned = connection;
+                connection = null;
+                owned.close();
+            }
+        }
+    }
+}
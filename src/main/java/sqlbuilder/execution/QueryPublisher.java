@@ -0,0 +1,252 @@
+package sqlbuilder.execution;
+
+import sqlbuilder.Query;
+import sqlbuilder.exceptions.QueryExecutionException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the rows of a query, reading only as many rows as the subscriber requested plus one.
+ * <p>
+ * Every subscription executes the query on its own connection, which is obtained on the first
+ * request and holds a concurrency permit until the subscription ends. Rows are read on a virtual
+ * thread while there is outstanding demand; the fetch size follows the requested amount. Once the
+ * demand is met, the next row is read ahead, so a result set that is exhausted completes right
+ * away. Without demand no thread runs and the result set stays open, so a slow subscriber holds
+ * back the read. The statement and connection are released when all rows are published, on cancel
+ * and on error.
+ *
+ * @param <T> the type of the mapped rows
+ */
+final class QueryPublisher<T> implements Flow.Publisher<T> {
+    private final Query query;
+    private final RowMapper<T> mapper;
+    private final DataSource dataSource;
+    private final Semaphore permits;
+    private final Executor executor;
+
+    QueryPublisher(Query query, RowMapper<T> mapper, DataSource dataSource, Semaphore permits, Executor executor) {
+        this.query = query;
+        this.mapper = mapper;
+        this.dataSource = dataSource;
+        this.permits = permits;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new RowSubscription(subscriber));
+    }
+
+    private static int fetchSize(long demand) {
+        return (int) Math.min(demand, QueryExecutor.DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * A subscription whose signals are serialized by a work-in-progress counter: only the thread
+     * that increments it from zero drains, later requests and cancels are picked up by that thread.
+     */
+    private final class RowSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // only accessed by the draining thread
+        private boolean done;
+        private boolean permit;
+        private Connection connection;
+        private ResultStream<T> rows;
+        private T next;
+        private boolean buffered;
+
+        RowSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested rows must be positive but was " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // the counter stays taken, so no drain can run concurrently or later
+                    finish(new IllegalStateException("Executor is closed", e));
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    emitRequested();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emitRequested() {
+            if (cancelled) {
+                finish(null);
+                return;
+            }
+            if (invalidRequest != null) {
+                finish(invalidRequest);
+                return;
+            }
+            long requested = demand.get();
+            if (requested == 0) {
+                return;
+            }
+            try {
+                if (rows == null) {
+                    open(requested);
+                } else {
+                    rows.setFetchSize(fetchSize(requested));
+                }
+                long emitted = 0;
+                while (emitted < requested) {
+                    if (cancelled) {
+                        finish(null);
+                        return;
+                    }
+                    if (!buffered && !rows.tryAdvance(this::buffer)) {
+                        finish(null);
+                        return;
+                    }
+                    T row = next;
+                    next = null;
+                    buffered = false;
+                    emit(row);
+                    emitted++;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+                // read ahead, so a subscriber that requested exactly the remaining rows is completed
+                // and the connection released without waiting for another request
+                if (!cancelled && !rows.tryAdvance(this::buffer)) {
+                    finish(null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finish(e);
+            } catch (QueryExecutionException e) {
+                finish(e.getCause());
+            } catch (SQLException | RuntimeException e) {
+                finish(e);
+            }
+        }
+
+        private void buffer(T row) {
+            next = row;
+            buffered = true;
+        }
+
+        private void emit(T row) {
+            try {
+                subscriber.onNext(row);
+            } catch (RuntimeException e) {
+                // a subscriber must not throw; its subscription is considered cancelled
+                cancelled = true;
+            }
+        }
+
+        private void open(long requested) throws SQLException, InterruptedException {
+            permits.acquire();
+            permit = true;
+            connection = dataSource.getConnection();
+            boolean cursorTransaction = query.getDialect() != null
+                    && query.getDialect().requiresTransactionForStreaming()
+                    && connection.getAutoCommit();
+            if (cursorTransaction) {
+                connection.setAutoCommit(false);
+            }
+
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement(query.getStatement(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize(requested));
+                QueryExecutor.bind(statement, query);
+            } catch (SQLException e) {
+                ResultStream.release(connection, statement, cursorTransaction, e);
+                throw e;
+            }
+            rows = ResultStream.open(connection, statement, mapper, cursorTransaction);
+        }
+
+        /**
+         * Releases the statement, the connection and the permit, then signals completion or the
+         * failure unless the subscription was cancelled.
+         */
+        private void finish(Throwable failure) {
+            done = true;
+            Throwable releaseFailure = release();
+            if (cancelled) {
+                return;
+            }
+            if (failure == null) {
+                failure = releaseFailure;
+            }
+            if (failure == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(failure);
+            }
+        }
+
+        private Throwable release() {
+            Throwable failure = null;
+            if (rows != null) {
+                try {
+                    rows.run();
+                } catch (QueryExecutionException e) {
+                    failure = e.getCause();
+                }
+            }
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (permit) {
+                permit = false;
+                permits.release();
+            }
+            return failure;
+        }
+    }
+}
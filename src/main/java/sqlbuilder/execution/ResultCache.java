@@ -0,0 +1,321 @@
+package sqlbuilder.execution;
+
+import sqlbuilder.Query;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An opt-in cache of the mapped rows of queries, keyed by statement text, parameters and row mapper.
+ * <p>
+ * Every entry is tagged with the tables its query reads, as recorded by the builder. Writes executed
+ * through a {@link QueryExecutor}, {@link BatchExecutor} or {@link AsyncQueryExecutor} using the cache
+ * invalidate the entries of the tables they touch, and writes of queries not built by a builder
+ * invalidate all entries. A read that overlaps with an invalidation of one of its tables is not
+ * cached, so a read started after a write completed never returns rows cached before it. Queries
+ * not built by a builder are never cached.
+ * <p>
+ * Entries expire after a fixed time to live, which bounds how long changes made outside the library
+ * stay invisible. The cache holds at most a maximum number of entries and a maximum number of rows
+ * in total, evicting the least recently used entries first. Row mappers should be reused, e.g. kept
+ * in constants, since an entry is only found again with the same mapper instance. Array parameters,
+ * e.g. {@code byte[]} or an IN list bound as an array, are compared by their contents and must not
+ * be modified after the query is executed.
+ * <p>
+ * Cached rows are shared: every caller that hits an entry receives the same row objects. Only use
+ * a result cache with mappers that produce immutable rows, such as records of immutable values
+ * (see {@link RowMappers#of(Class)}) or single column values like strings and numbers.
+ * <p>
+ * A cache is thread-safe and can be shared by any number of executors on the same database.
+ */
+public class ResultCache {
+    private final int maximumSize;
+    private final long maximumWeight;
+    private final long timeToLive;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<Key>> keysByTable = new HashMap<>();
+    private final Map<String, Long> invalidatedAt = new HashMap<>();
+    private long generation;
+    private long allInvalidatedAt;
+    private long weight;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a ResultCache.
+     *
+     * @param maximumSize   the maximum number of cached results
+     * @param maximumWeight the maximum number of rows of all cached results together
+     * @param timeToLive    how long a result stays cached
+     * @throws IllegalArgumentException if a bound is smaller than 1 or timeToLive is null or not positive
+     */
+    public ResultCache(int maximumSize, long maximumWeight, Duration timeToLive) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("maximumWeight must be at least 1");
+        }
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.timeToLive = timeToLive.toNanos();
+    }
+
+    /**
+     * Returns the key of a query, or null if the query cannot be cached.
+     */
+    Key key(Query query, RowMapper<?> mapper) {
+        Set<String> tables = query.getTables();
+        if (tables == null || tables.isEmpty()) {
+            return null;
+        }
+        Set<String> normalized = new HashSet<>();
+        for (String table : tables) {
+            normalized.add(normalize(table));
+        }
+        return new Key(query.getStatement(), query.getParameters().toArray(), mapper, normalized);
+    }
+
+    /**
+     * Returns the cached rows for a key, counting a hit or a miss.
+     *
+     * @return the rows, or null if none are cached
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> List<T> get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+            hits.increment();
+            return (List<T>) entry.rows;
+        }
+        if (entry != null) {
+            remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns the current invalidation generation, which is taken before a query is executed and
+     * passed to {@link #put(Key, List, long)} with its rows.
+     */
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Caches the rows of a query unless one of its tables was invalidated since the generation was taken.
+     *
+     * @return the rows as an unmodifiable list
+     */
+    synchronized <T> List<T> put(Key key, List<T> rows, long since) {
+        List<T> result = Collections.unmodifiableList(rows);
+        if (allInvalidatedAt > since || weigh(rows) > maximumWeight) {
+            return result;
+        }
+        for (String table : key.tables) {
+            if (invalidatedAt.getOrDefault(table, 0L) > since) {
+                return result;
+            }
+        }
+
+        remove(key);
+        entries.put(key, new Entry(result, System.nanoTime() + timeToLive));
+        weight += weigh(result);
+        for (String table : key.tables) {
+            keysByTable.computeIfAbsent(table, t -> new HashSet<>()).add(key);
+        }
+
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maximumSize || weight > maximumWeight) {
+            Map.Entry<Key, Entry> evicted = eldest.next();
+            eldest.remove();
+            unlink(evicted.getKey(), evicted.getValue());
+            evictions.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Invalidates the cached results of the tables a write touched.
+     *
+     * @param tables the tables, or null to invalidate all results
+     */
+    synchronized void invalidate(Collection<String> tables) {
+        if (tables == null) {
+            invalidateAll();
+            return;
+        }
+        generation++;
+        for (String table : tables) {
+            String name = normalize(table);
+            invalidatedAt.put(name, generation);
+            Set<Key> keys = keysByTable.remove(name);
+            if (keys != null) {
+                for (Key key : new ArrayList<>(keys)) {
+                    remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidates the cached results of tables, e.g. after they were written without the library.
+     *
+     * @param tables the table names
+     */
+    public void invalidate(String... tables) {
+        invalidate(List.of(tables));
+    }
+
+    /**
+     * Invalidates all cached results.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        allInvalidatedAt = generation;
+        entries.clear();
+        keysByTable.clear();
+        weight = 0;
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return the size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of rows of all cached results together.
+     *
+     * @return the weight
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns how often rows were served from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how often a cacheable query had to be executed.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how many results were evicted because the cache was full.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unlink(key, entry);
+        }
+    }
+
+    private void unlink(Key key, Entry entry) {
+        weight -= weigh(entry.rows);
+        for (String table : key.tables) {
+            Set<Key> keys = keysByTable.get(table);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByTable.remove(table);
+            }
+        }
+    }
+
+    private static long weigh(List<?> rows) {
+        return Math.max(1, rows.size());
+    }
+
+    /**
+     * Normalizes a table name to its unquoted, lower-case name without schema, so different
+     * spellings of a table match. Tables of the same name in different schemas share their
+     * invalidations, which only makes invalidation broader.
+     */
+    static String normalize(String table) {
+        String name = table.trim();
+        int space = name.indexOf(' ');
+        if (space > 0) {
+            name = name.substring(0, space);
+        }
+        name = name.substring(name.lastIndexOf('.') + 1);
+        StringBuilder plain = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '"' && c != '`' && c != '[' && c != ']') {
+                plain.append(c);
+            }
+        }
+        return plain.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The identity of a cached result. Parameters are compared deeply, so array parameters match by content.
+     */
+    static final class Key {
+        private final String statement;
+        private final Object[] parameters;
+        private final RowMapper<?> mapper;
+        private final Set<String> tables;
+        private final int hash;
+
+        Key(String statement, Object[] parameters, RowMapper<?> mapper, Set<String> tables) {
+            this.statement = statement;
+            this.parameters = parameters;
+            this.mapper = mapper;
+            this.tables = tables;
+            this.hash = 31 * (31 * statement.hashCode() + Arrays.deepHashCode(parameters)) + System.identityHashCode(mapper);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            return o instanceof Key other && hash == other.hash && mapper == other.mapper
+                    && statement.equals(other.statement) && Arrays.deepEquals(parameters, other.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private record Entry(List<?> rows, long expiresAt) {
+    }
+}
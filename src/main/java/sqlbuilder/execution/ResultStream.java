@@ -0,0 +1,129 @@
+package sqlbuilder.execution;
+
+import sqlbuilder.exceptions.QueryExecutionException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Reads the rows of an open result set one at a time and releases the result set, its statement and
+ * the cursor transaction once all rows are read or the stream is closed.
+ *
+ * @param <T> the type of the mapped rows
+ */
+final class ResultStream<T> extends Spliterators.AbstractSpliterator<T> implements Runnable {
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final RowMapper<T> mapper;
+    private final boolean restoreAutoCommit;
+    private boolean closed;
+
+    ResultStream(Connection connection, PreparedStatement statement, ResultSet resultSet, RowMapper<T> mapper,
+                 boolean restoreAutoCommit) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.mapper = mapper;
+        this.restoreAutoCommit = restoreAutoCommit;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+        T row;
+        try {
+            if (!resultSet.next()) {
+                run();
+                return false;
+            }
+            row = mapper.map(resultSet);
+        } catch (SQLException e) {
+            try {
+                run();
+            } catch (QueryExecutionException suppressed) {
+                e.addSuppressed(suppressed.getCause());
+            }
+            throw new QueryExecutionException(e);
+        }
+        action.accept(row);
+        return true;
+    }
+
+    /**
+     * Changes the number of rows fetched per round trip for the remaining rows.
+     */
+    void setFetchSize(int rows) throws SQLException {
+        resultSet.setFetchSize(rows);
+    }
+
+    /**
+     * Releases the resources of the stream. Called when the stream is closed.
+     */
+    @Override
+    public void run() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        SQLException failure = null;
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            failure = e;
+        }
+        if (restoreAutoCommit) {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw new QueryExecutionException(failure);
+        }
+    }
+
+    /**
+     * Opens a stream over the rows of a bound statement.
+     */
+    static <T> ResultStream<T> open(Connection connection, PreparedStatement statement, RowMapper<T> mapper,
+                                    boolean restoreAutoCommit) throws SQLException {
+        try {
+            return new ResultStream<>(connection, statement, statement.executeQuery(), mapper, restoreAutoCommit);
+        } catch (SQLException e) {
+            release(connection, statement, restoreAutoCommit, e);
+            throw e;
+        }
+    }
+
+    static void release(Connection connection, PreparedStatement statement, boolean restoreAutoCommit,
+                        SQLException failure) {
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+        try {
+            if (restoreAutoCommit) {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package sqlbuilder.execution;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Creates row mappers for records and plain Java classes without reflection on the read path.
+ * <p>
+ * A class is inspected once. Records are created through their canonical constructor; other
+ * classes through their no-argument constructor, after which every property with a setter or a
+ * non-final field is set. Each property is read with the typed getter of its type
+ * ({@code getLong}, {@code getString}, ...), so primitives are not boxed, and boxed types, enums
+ * and other types keep SQL NULL as null. The constructor, getters and setters are composed into
+ * method handles when the class is first inspected.
+ * <p>
+ * Properties are matched to column labels ignoring case and underscores, so {@code createdAt}
+ * matches {@code CREATED_AT}. Column indices are resolved from the result set metadata once per
+ * result set and reused for its rows; each thread keeps the resolution of the result set it maps,
+ * so concurrent queries do not resolve each other's columns. Mappers are thread-safe.
+ */
+public final class RowMappers {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType READER_TYPE = MethodType.methodType(Object.class, ResultSet.class, int[].class);
+    private static final MethodType PROPERTY_TYPE = MethodType.methodType(void.class, Object.class, ResultSet.class, int[].class);
+
+    private static final ClassValue<RowMapper<?>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected RowMapper<?> computeValue(Class<?> type) {
+            return type.isRecord() ? forRecord(type) : forClass(type);
+        }
+    };
+
+    private RowMappers() {
+    }
+
+    /**
+     * Returns the row mapper for a record or class.
+     *
+     * @param type the record or class
+     * @param <T>  the mapped type
+     * @return the row mapper
+     * @throws IllegalArgumentException if the type is neither a record nor has an accessible no-argument constructor
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> of(Class<T> type) {
+        return (RowMapper<T>) MAPPERS.get(type);
+    }
+
+    private static RowMapper<?> forRecord(Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        String[] names = new String[components.length];
+        for (int i = 0; i < components.length; i++) {
+            parameterTypes[i] = components[i].getType();
+            names[i] = components[i].getName();
+        }
+
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            MethodHandle reader = LOOKUP.unreflectConstructor(constructor);
+            for (int i = 0; i < components.length; i++) {
+                reader = MethodHandles.collectArguments(reader, i * 2, columnReader(parameterTypes[i], i));
+            }
+            // every component reads from the same (ResultSet, int[]) pair
+            int[] reorder = new int[components.length * 2];
+            for (int i = 0; i < components.length; i++) {
+                reorder[i * 2] = 0;
+                reorder[i * 2 + 1] = 1;
+            }
+            MethodType spread = MethodType.methodType(type, ResultSet.class, int[].class);
+            reader = MethodHandles.permuteArguments(reader, spread, reorder).asType(READER_TYPE);
+            return new RecordMapper<>(type, names, true, reader);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot create a row mapper for " + type.getName(), e);
+        }
+    }
+
+    private static RowMapper<?> forClass(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            MethodHandle create = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+
+            Map<String, MethodHandle> setters = new HashMap<>();
+            List<String> names = new ArrayList<>();
+            for (Method method : type.getMethods()) {
+                if (method.getName().length() > 3 && method.getName().startsWith("set")
+                        && method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers())) {
+                    String name = Character.toLowerCase(method.getName().charAt(3)) + method.getName().substring(4);
+                    method.setAccessible(true);
+                    if (setters.putIfAbsent(normalize(name), LOOKUP.unreflect(method)) == null) {
+                        names.add(name);
+                    }
+                }
+            }
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.isSynthetic()
+                            && !setters.containsKey(normalize(field.getName()))) {
+                        field.setAccessible(true);
+                        setters.put(normalize(field.getName()), LOOKUP.unreflectSetter(field));
+                        names.add(field.getName());
+                    }
+                }
+            }
+
+            MethodHandle[] properties = new MethodHandle[names.size()];
+            for (int i = 0; i < properties.length; i++) {
+                MethodHandle setter = setters.get(normalize(names.get(i)));
+                properties[i] = MethodHandles.collectArguments(setter, 1, columnReader(setter.type().parameterType(1), i))
+                        .asType(PROPERTY_TYPE);
+            }
+            return new ClassMapper<>(type, names.toArray(new String[0]), create, properties);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot create a row mapper for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Creates a handle of type {@code (ResultSet, int[]) -> type} that reads the column at
+     * {@code indexes[position]} with the getter matching the type.
+     */
+    private static MethodHandle columnReader(Class<?> type, int position) throws ReflectiveOperationException {
+        MethodHandle getter;
+        if (type == long.class) {
+            getter = resultSetGetter("getLong", long.class);
+        } else if (type == int.class) {
+            getter = resultSetGetter("getInt", int.class);
+        } else if (type == double.class) {
+            getter = resultSetGetter("getDouble", double.class);
+        } else if (type == boolean.class) {
+            getter = resultSetGetter("getBoolean", boolean.class);
+        } else if (type == float.class) {
+            getter = resultSetGetter("getFloat", float.class);
+        } else if (type == short.class) {
+            getter = resultSetGetter("getShort", short.class);
+        } else if (type == byte.class) {
+            getter = resultSetGetter("getByte", byte.class);
+        } else if (type == String.class) {
+            getter = resultSetGetter("getString", String.class);
+        } else if (type == BigDecimal.class) {
+            getter = resultSetGetter("getBigDecimal", BigDecimal.class);
+        } else if (type == byte[].class) {
+            getter = resultSetGetter("getBytes", byte[].class);
+        } else if (type.isEnum()) {
+            MethodHandle toEnum = LOOKUP.findStatic(RowMappers.class, "toEnum",
+                    MethodType.methodType(Enum.class, Class.class, String.class));
+            getter = MethodHandles.filterReturnValue(resultSetGetter("getString", String.class),
+                    MethodHandles.insertArguments(toEnum, 0, type));
+        } else if (type == Object.class) {
+            getter = resultSetGetter("getObject", Object.class);
+        } else {
+            MethodHandle getObject = LOOKUP.findVirtual(ResultSet.class, "getObject",
+                    MethodType.methodType(Object.class, int.class, Class.class));
+            getter = MethodHandles.insertArguments(getObject, 2, type.isPrimitive() ? Object.class : type);
+        }
+
+        MethodHandle index = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(int[].class), 1, position);
+        return MethodHandles.filterArguments(getter, 1, index).asType(MethodType.methodType(type, ResultSet.class, int[].class));
+    }
+
+    private static MethodHandle resultSetGetter(String name, Class<?> type) throws ReflectiveOperationException {
+        return LOOKUP.findVirtual(ResultSet.class, name, MethodType.methodType(type, int.class));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Enum<?> toEnum(Class type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The column indexes of the properties, resolved for one result set. The result set is held
+     * weakly so a closed result set and its statement are not kept alive.
+     */
+    private record Resolution(WeakReference<ResultSet> resultSet, int[] indexes) {
+    }
+
+    private abstract static class ResolvingMapper<T> implements RowMapper<T> {
+        private final Class<T> type;
+        private final String[] names;
+        private final boolean required;
+        private final ThreadLocal<Resolution> resolution = new ThreadLocal<>();
+
+        ResolvingMapper(Class<T> type, String[] names, boolean required) {
+            this.type = type;
+            this.names = names;
+            this.required = required;
+        }
+
+        final int[] indexes(ResultSet resultSet) throws SQLException {
+            Resolution current = resolution.get();
+            if (current == null || current.resultSet().get() != resultSet) {
+                current = new Resolution(new WeakReference<>(resultSet), resolve(resultSet.getMetaData()));
+                resolution.set(current);
+            }
+            return current.indexes();
+        }
+
+        private int[] resolve(ResultSetMetaData metaData) throws SQLException {
+            Map<String, Integer> columns = new HashMap<>();
+            for (int column = metaData.getColumnCount(); column >= 1; column--) {
+                columns.put(normalize(metaData.getColumnLabel(column)), column);
+            }
+            int[] indexes = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                Integer column = columns.get(normalize(names[i]));
+                if (column == null && required) {
+                    throw new IllegalStateException("No column matches component " + names[i] + " of " + type.getName());
+                }
+                indexes[i] = column == null ? 0 : column;
+            }
+            return indexes;
+        }
+    }
+
+    private static final class RecordMapper<T> extends ResolvingMapper<T> {
+        private final MethodHandle reader;
+
+        RecordMapper(Class<T> type, String[] names, boolean required, MethodHandle reader) {
+            super(type, names, required);
+            this.reader = reader;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T map(ResultSet resultSet) throws SQLException {
+            int[] indexes = indexes(resultSet);
+            try {
+                return (T) (Object) reader.invokeExact(resultSet, indexes);
+            } catch (SQLException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class ClassMapper<T> extends ResolvingMapper<T> {
+        private final MethodHandle create;
+        private final MethodHandle[] properties;
+
+        ClassMapper(Class<T> type, String[] names, MethodHandle create, MethodHandle[] properties) {
+            super(type, names, false);
+            this.create = create;
+            this.properties = properties;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T map(ResultSet resultSet) throws SQLException {
+            int[] indexes = indexes(resultSet);
+            try {
+                Object row = (Object) create.invokeExact();
+                for (int i = 0; i < properties.length; i++) {
+                    if (indexes[i] > 0) {
+                        properties[i].invokeExact(row, resultSet, indexes);
+                    }
+                }
+                return (T) row;
+            } catch (SQLException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package sqlbuilder.execution;
+
+import sqlbuilder.Query;
+import sqlbuilder.dialects.Explain;
+import sqlbuilder.dialects.SqlDialect;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Reports queries whose execution exceeds a threshold, together with their execution plan.
+ * <p>
+ * A slow query is reported with its statement text, the types of its parameters (but not their
+ * values) and its duration. If the dialect of the query {@linkplain SqlDialect#explain(String)
+ * supports EXPLAIN}, the plan is captured on the same connection right after the query, at most
+ * once per explain interval for each statement text, so a statement that is slow all the time
+ * doesn't double the load. By default reports are written to the {@code sqlbuilder.slowqueries}
+ * {@link System.Logger} at level WARNING.
+ * <p>
+ * A log is thread-safe and can be shared by any number of executors.
+ */
+public class SlowQueryLog {
+    /**
+     * The default minimum time between two plans of the same statement text.
+     */
+    public static final Duration DEFAULT_EXPLAIN_INTERVAL = Duration.ofMinutes(1);
+
+    private static final System.Logger LOGGER = System.getLogger("sqlbuilder.slowqueries");
+    // bounds the rate limit state when statements are generated dynamically
+    private static final int MAX_TRACKED_STATEMENTS = 10_000;
+
+    private final long threshold;
+    private final long explainInterval;
+    private final Consumer<SlowQuery> listener;
+    private final ConcurrentMap<String, Long> lastExplained = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a SlowQueryLog that writes to the logger with the default explain interval.
+     *
+     * @param threshold the duration above which a query is reported
+     */
+    public SlowQueryLog(Duration threshold) {
+        this(threshold, DEFAULT_EXPLAIN_INTERVAL, SlowQueryLog::log);
+    }
+
+    /**
+     * Constructs a SlowQueryLog.
+     *
+     * @param threshold       the duration above which a query is reported
+     * @param explainInterval the minimum time between two plans of the same statement text
+     * @param listener        receives the reports
+     * @throws IllegalArgumentException if a duration is null or negative, or listener is null
+     */
+    public SlowQueryLog(Duration threshold, Duration explainInterval, Consumer<SlowQuery> listener) {
+        if (threshold == null || threshold.isNegative()) {
+            throw new IllegalArgumentException("threshold must not be negative");
+        }
+        if (explainInterval == null || explainInterval.isNegative()) {
+            throw new IllegalArgumentException("explainInterval must not be negative");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+        this.threshold = threshold.toNanos();
+        this.explainInterval = explainInterval.toNanos();
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the duration above which a query is reported.
+     *
+     * @return the threshold
+     */
+    public Duration getThreshold() {
+        return Duration.ofNanos(threshold);
+    }
+
+    /**
+     * Reports a query if it took longer than the threshold.
+     *
+     * @param connection the connection the query was executed on, used to capture the plan
+     * @param query      the query
+     * @param nanos      the duration of the query in nanoseconds
+     */
+    void check(Connection connection, Query query, long nanos) {
+        if (nanos <= threshold) {
+            return;
+        }
+        String plan = shouldExplain(query.getStatement()) ? explain(connection, query) : null;
+        listener.accept(new SlowQuery(query.getStatement(), parameterTypes(query), Duration.ofNanos(nanos), plan));
+    }
+
+    private boolean shouldExplain(String statement) {
+        long now = System.nanoTime();
+        if (lastExplained.size() >= MAX_TRACKED_STATEMENTS) {
+            lastExplained.clear();
+        }
+        boolean[] due = new boolean[1];
+        lastExplained.compute(statement, (s, last) -> {
+            due[0] = last == null || now - last >= explainInterval;
+            return due[0] ? now : last;
+        });
+        return due[0];
+    }
+
+    private static List<String> parameterTypes(Query query) {
+        List<String> types = new ArrayList<>(query.getParameterCount());
+        for (int i = 0, count = query.getParameterCount(); i < count; i++) {
+            Object parameter = query.getParameter(i);
+            types.add(parameter == null ? "null" : parameter.getClass().getSimpleName());
+        }
+        return types;
+    }
+
+    /**
+     * Captures the plan of a query. Failures are logged and yield no plan; inside a transaction
+     * they are rolled back to a savepoint, so the transaction stays usable.
+     */
+    private static String explain(Connection connection, Query query) {
+        SqlDialect dialect = query.getDialect();
+        Explain explain = dialect == null ? null : dialect.explain(query.getStatement());
+        if (explain == null) {
+            return null;
+        }
+        Savepoint savepoint = null;
+        try {
+            if (!connection.getAutoCommit()) {
+                savepoint = connection.setSavepoint();
+            }
+            String plan = explain(connection, query, explain);
+            if (savepoint != null) {
+                release(connection, savepoint);
+            }
+            return plan;
+        } catch (SQLException e) {
+            if (savepoint != null) {
+                try {
+                    connection.rollback(savepoint);
+                } catch (SQLException rollback) {
+                    e.addSuppressed(rollback);
+                }
+            }
+            LOGGER.log(System.Logger.Level.DEBUG, "Capturing the plan of a slow query failed", e);
+            return null;
+        }
+    }
+
+    private static String explain(Connection connection, Query query, Explain explain) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try {
+                for (String setup : explain.setup()) {
+                    statement.execute(setup);
+                }
+                try (PreparedStatement plan = connection.prepareStatement(explain.plan())) {
+                    if (explain.bindParameters()) {
+                        QueryExecutor.bind(plan, query);
+                    }
+                    return readPlan(plan);
+                }
+            } finally {
+                for (String teardown : explain.teardown()) {
+                    statement.execute(teardown);
+                }
+            }
+        }
+    }
+
+    private static String readPlan(PreparedStatement statement) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        boolean results = statement.execute();
+        while (results || statement.getUpdateCount() != -1) {
+            if (results) {
+                try (ResultSet resultSet = statement.getResultSet()) {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    while (resultSet.next()) {
+                        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                            if (column > 1) {
+                                plan.append('\t');
+                            }
+                            plan.append(resultSet.getString(column));
+                        }
+                        plan.append('\n');
+                    }
+                }
+            }
+            results = statement.getMoreResults();
+        }
+        return plan.toString().stripTrailing();
+    }
+
+    private static void release(Connection connection, Savepoint savepoint) {
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException ignored) {
+            // not every driver releases savepoints; it ends with the transaction
+        }
+    }
+
+    private static void log(SlowQuery query) {
+        LOGGER.log(System.Logger.Level.WARNING, query);
+    }
+
+    /**
+     * A query that took longer than the threshold.
+     *
+     * @param statement      the statement text
+     * @param parameterTypes the simple class names of the parameters, {@code "null"} for null values
+     * @param duration       the duration of the query
+     * @param plan           the execution plan, or null if it was not captured
+     */
+    public record SlowQuery(String statement, List<String> parameterTypes, Duration duration, String plan) {
+        @Override
+        public String toString() {
+            String report = "Slow query (" + duration.toMillis() + " ms): " + statement + " " + parameterTypes;
+            return plan == null ? report : report + "\n" + plan;
+        }
+    }
+}
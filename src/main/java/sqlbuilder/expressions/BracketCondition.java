@@ -0,0 +1,61 @@
+package sqlbuilder.expressions;
+
+import sqlbuilder.BindContext;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+
+import java.util.List;
+
+/**
+ * A condition enclosed in parentheses, so it is evaluated as a whole when combined with other conditions.
+ */
+public class BracketCondition implements Condition {
+    private final Condition condition;
+
+    public BracketCondition(Condition condition) {
+        this.condition = condition;
+    }
+
+    /**
+     * Returns the enclosed condition.
+     *
+     * @return the enclosed condition
+     */
+    public Condition getCondition() {
+        return condition;
+    }
+
+    @Override
+    public void render(RenderContext context) {
+        context.append('(');
+        condition.render(context);
+        context.append(')');
+    }
+
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(BracketCondition.class);
+        condition.appendShape(shape);
+    }
+
+    @Override
+    public List<Object> getParameters() {
+        return condition.getParameters();
+    }
+
+    @Override
+    public int countParameters() {
+        return countParameters(BindContext.NONE);
+    }
+
+    @Override
+    public int countParameters(BindContext context) {
+        return condition.countParameters(context);
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        condition.collectParameters(sink);
+    }
+}
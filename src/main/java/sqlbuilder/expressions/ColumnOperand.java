@@ -1,24 +1,52 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+import sqlbuilder.identifiers.Identifier;
+
 import java.util.List;
 
 /**
  * An operand representing a database column.
  */
 public class ColumnOperand implements Operand {
-    private final String columnName;
+    private final Identifier column;
 
     public ColumnOperand(String columnName) {
-        this.columnName = columnName;
+        this(Identifier.unchecked(columnName));
+    }
+
+    public ColumnOperand(Identifier column) {
+        this.column = column;
+    }
+
+    public Identifier getColumn() {
+        return column;
+    }
+
+    @Override
+    public void render(RenderContext context) {
+        context.appendIdentifier(column);
     }
 
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        return dialect.quote(columnName);
+    public void appendShape(StatementShape shape) {
+        shape.add(ColumnOperand.class).add(column);
     }
 
     @Override
     public void addParameters(List<Object> parameters) {
         // Columns don't have parameters
     }
+
+    @Override
+    public int countParameters() {
+        return 0;
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        // Columns don't have parameters
+    }
 }
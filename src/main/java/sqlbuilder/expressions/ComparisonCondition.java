@@ -1,8 +1,11 @@
 package sqlbuilder.expressions;
 
-import java.util.ArrayList;
+import sqlbuilder.ParameterArray;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+
 import java.util.List;
-import java.util.StringJoiner;
 
 /**
  * A condition that compares two operands using an operator.
@@ -18,20 +21,61 @@ public class ComparisonCondition implements Condition {
         this.comparisonValue = comparisonValue;
     }
 
+    /**
+     * Returns the left operand.
+     *
+     * @return the left operand
+     */
+    public Operand getColumn() {
+        return column;
+    }
+
+    /**
+     * Returns the comparison operator, e.g. {@code =} or {@code LIKE}.
+     *
+     * @return the operator
+     */
+    public String getOperator() {
+        return operator;
+    }
+
+    /**
+     * Returns the right operand.
+     *
+     * @return the right operand
+     */
+    public Operand getComparisonValue() {
+        return comparisonValue;
+    }
+
+    @Override
+    public void render(RenderContext context) {
+        column.render(context);
+        context.append(' ').append(operator).append(' ');
+        comparisonValue.render(context);
+    }
+
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        return new StringJoiner(" ")
-                .add(column.toSql(dialect))
-                .add(operator)
-                .add(comparisonValue.toSql(dialect))
-                .toString();
+    public void appendShape(StatementShape shape) {
+        shape.add(ComparisonCondition.class);
+        column.appendShape(shape);
+        shape.add(operator);
+        comparisonValue.appendShape(shape);
     }
 
     @Override
     public List<Object> getParameters() {
-        List<Object> params = new ArrayList<>();
-        column.addParameters(params);
-        comparisonValue.addParameters(params);
-        return params;
+        return ParameterArray.collect(this);
+    }
+
+    @Override
+    public int countParameters() {
+        return column.countParameters() + comparisonValue.countParameters();
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        column.collectParameters(sink);
+        comparisonValue.collectParameters(sink);
     }
 }
@@ -1,7 +1,12 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.BindContext;
+import sqlbuilder.ParameterArray;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A condition composed of multiple sub-conditions joined by an operator (AND/OR).
@@ -20,21 +25,65 @@ public class CompositeCondition implements Condition {
         this.conditions = conditions;
     }
 
+    /**
+     * Returns the operator joining the sub-conditions.
+     *
+     * @return the operator, e.g. {@code AND}
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the sub-conditions.
+     *
+     * @return the sub-conditions
+     */
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        if (conditions.isEmpty()) {
-            return "";
+    public void render(RenderContext context) {
+        for (int i = 0; i < conditions.size(); i++) {
+            if (i > 0) {
+                context.append(' ').append(type).append(' ');
+            }
+            conditions.get(i).render(context);
         }
+    }
 
-        return conditions.stream()
-                .map(c -> c.toSql(dialect))
-                .collect(Collectors.joining(" " + type + " "));
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(CompositeCondition.class).add(type).add(conditions.size());
+        for (Condition condition : conditions) {
+            condition.appendShape(shape);
+        }
     }
 
     @Override
     public List<Object> getParameters() {
-        return conditions.stream()
-                .flatMap(condition -> condition.getParameters().stream())
-                .toList();
+        return ParameterArray.collect(this);
+    }
+
+    @Override
+    public int countParameters() {
+        return countParameters(BindContext.NONE);
+    }
+
+    @Override
+    public int countParameters(BindContext context) {
+        int count = 0;
+        for (Condition condition : conditions) {
+            count += condition.countParameters(context);
+        }
+        return count;
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        for (Condition condition : conditions) {
+            condition.collectParameters(sink);
+        }
     }
 }
@@ -1,10 +1,17 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.BindContext;
+import sqlbuilder.ParameterArray;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
 import sqlbuilder.dialects.SqlDialect;
 import java.util.List;
 
 /**
  * Interface representing a SQL condition for WHERE and HAVING clauses.
+ * <p>
+ * Implementations must override at least one of {@link #toSql(SqlDialect)} and {@link #render(RenderContext)}.
  */
 public interface Condition {
     /**
@@ -13,15 +20,84 @@ public interface Condition {
      * @param dialect the SQL dialect to use
      * @return the SQL string
      */
-    String toSql(SqlDialect dialect);
+    default String toSql(SqlDialect dialect) {
+        RenderContext context = new RenderContext(dialect);
+        render(context);
+        return context.getSql();
+    }
+
+    /**
+     * Appends the SQL of this condition to the render context and registers its parameters.
+     *
+     * @param context the render context
+     */
+    default void render(RenderContext context) {
+        context.append(toSql(context.getDialect()));
+        getParameters().forEach(context::addParameter);
+    }
+
+    /**
+     * Appends the elements the SQL of this condition depends on to a statement shape.
+     * <p>
+     * The default appends the rendered SQL, so implementations should override it to skip the rendering.
+     *
+     * @param shape the statement shape
+     */
+    default void appendShape(StatementShape shape) {
+        RenderContext context = shape.newRenderContext();
+        render(context);
+        shape.add(getClass()).add(context.getSql());
+    }
 
     /**
-     * Returns the list of parameters associated with this condition.
+     * Returns the list of parameters associated with this condition, with every value as given.
      *
      * @return the parameters
      */
     List<Object> getParameters();
 
+    /**
+     * Returns the parameters this condition registers when rendered with a dialect, e.g. a single
+     * array for an IN list bound as an array.
+     *
+     * @param dialect the SQL dialect
+     * @return the parameters
+     */
+    default List<Object> getParameters(SqlDialect dialect) {
+        return ParameterArray.collect(this, BindContext.of(dialect, null));
+    }
+
+    /**
+     * Returns the number of parameters of this condition, with every value as given.
+     *
+     * @return the parameter count
+     */
+    default int countParameters() {
+        return getParameters().size();
+    }
+
+    /**
+     * Returns the number of parameters this condition registers when rendered in the given context.
+     *
+     * @param context the bind context
+     * @return the parameter count
+     */
+    default int countParameters(BindContext context) {
+        return countParameters();
+    }
+
+    /**
+     * Writes the parameters of this condition, in statement order, into the sink, as they are bound
+     * in the context of the sink.
+     *
+     * @param sink the parameter sink
+     */
+    default void collectParameters(ParameterSink sink) {
+        for (Object parameter : getParameters()) {
+            sink.accept(parameter);
+        }
+    }
+
     /**
      * Chains this condition with another using an AND operator.
      *
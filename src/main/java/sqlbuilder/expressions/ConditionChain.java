@@ -1,6 +1,7 @@
 package sqlbuilder.expressions;
 
 import sqlbuilder.SelectBuilder;
+import sqlbuilder.identifiers.Identifier;
 import java.util.List;
 
 /**
@@ -79,6 +80,66 @@ public class ConditionChain {
         return createCompositeCondition(Expression.notIn(column, subQuery));
     }
 
+    public Condition eq(Identifier column, Object value) {
+        return createCompositeCondition(Expression.eq(column, value));
+    }
+
+    public Condition neq(Identifier column, Object value) {
+        return createCompositeCondition(Expression.neq(column, value));
+    }
+
+    public Condition lt(Identifier column, Object value) {
+        return createCompositeCondition(Expression.lt(column, value));
+    }
+
+    public Condition leq(Identifier column, Object value) {
+        return createCompositeCondition(Expression.leq(column, value));
+    }
+
+    public Condition gt(Identifier column, Object value) {
+        return createCompositeCondition(Expression.gt(column, value));
+    }
+
+    public Condition geq(Identifier column, Object value) {
+        return createCompositeCondition(Expression.geq(column, value));
+    }
+
+    public Condition like(Identifier column, Object value) {
+        return createCompositeCondition(Expression.like(column, value));
+    }
+
+    public Condition isNull(Identifier column) {
+        return createCompositeCondition(Expression.isNull(column));
+    }
+
+    public Condition isNotNull(Identifier column) {
+        return createCompositeCondition(Expression.isNotNull(column));
+    }
+
+    public Condition in(Identifier column, List<Object> values) {
+        return createCompositeCondition(Expression.in(column, values));
+    }
+
+    public Condition in(Identifier column, Object... values) {
+        return in(column, List.of(values));
+    }
+
+    public Condition in(Identifier column, SelectBuilder subQuery) {
+        return createCompositeCondition(Expression.in(column, subQuery));
+    }
+
+    public Condition notIn(Identifier column, List<Object> values) {
+        return createCompositeCondition(Expression.notIn(column, values));
+    }
+
+    public Condition notIn(Identifier column, Object... values) {
+        return notIn(column, List.of(values));
+    }
+
+    public Condition notIn(Identifier column, SelectBuilder subQuery) {
+        return createCompositeCondition(Expression.notIn(column, subQuery));
+    }
+
     public Condition exists(SelectBuilder subQuery) {
         return createCompositeCondition(Expression.exists(subQuery));
     }
@@ -0,0 +1,564 @@
+package sqlbuilder.expressions;
+
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.identifiers.Identifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites a condition tree into a shorter, equivalent one before it is rendered.
+ * <p>
+ * Composite conditions are rendered without parentheses, so the optimizer first reads a condition
+ * the way the database parses its SQL: NOT binds to the next term and AND binds tighter than OR.
+ * {@code eq("a", 1).or().eq("b", 2).and().eq("c", 3)} is therefore read as {@code a OR (b AND c)}.
+ * The rules are then applied bottom-up, to every node after its children, until the tree no
+ * longer changes, and parentheses are added where the result needs them. Conditions containing
+ * composites with an unknown operator or without sub-conditions, or subclasses of the composite,
+ * NOT and bracket conditions, are returned unchanged.
+ * <p>
+ * Every rule preserves the result under SQL's three-valued logic. In particular NOT IN is never
+ * turned into NOT EXISTS, because the two differ when the column or the subquery yields NULL.
+ * <p>
+ * An optimizer is immutable and thread-safe if its rules are.
+ */
+public final class ConditionOptimizer {
+    /**
+     * Merges sub-conditions into a composite with the same operator and unwraps composites with a single sub-condition.
+     */
+    public static final Rule FLATTEN = ConditionOptimizer::flatten;
+
+    /**
+     * Removes double negations and pushes NOT into composites (De Morgan), comparisons, IN, IS NULL and EXISTS,
+     * e.g. {@code NOT (a = ? OR b IS NULL)} becomes {@code a <> ? AND b IS NOT NULL}.
+     */
+    public static final Rule PUSH_NOT_INWARD = ConditionOptimizer::pushNotInward;
+
+    /**
+     * Removes sub-conditions that repeat an earlier sub-condition of the same composite.
+     */
+    public static final Rule REMOVE_DUPLICATES = ConditionOptimizer::removeDuplicates;
+
+    /**
+     * Replaces {@code a IS NULL OR a IS NOT NULL} by a condition that always holds, removes such conditions
+     * from AND and lets them absorb an OR. A condition that always holds is omitted from the statement.
+     */
+    public static final Rule REMOVE_TAUTOLOGIES = ConditionOptimizer::removeTautologies;
+
+    /**
+     * Merges equalities and IN lists of the same column in an OR into one IN list of distinct values,
+     * e.g. {@code a = ? OR b = ? OR a = ?} becomes {@code a IN (?, ?) OR b = ?}.
+     */
+    public static final Rule OR_EQUALITIES_TO_IN = ConditionOptimizer::orEqualitiesToIn;
+
+    /**
+     * Replaces an IN or NOT IN list with a single value by {@code =} or {@code <>}.
+     */
+    public static final Rule SINGLE_VALUE_IN = ConditionOptimizer::singleValueIn;
+
+    private static final ConditionOptimizer DEFAULTS = new ConditionOptimizer(List.of(
+            FLATTEN, PUSH_NOT_INWARD, REMOVE_DUPLICATES, REMOVE_TAUTOLOGIES, OR_EQUALITIES_TO_IN, SINGLE_VALUE_IN));
+    private static final int MAX_PASSES = 16;
+    private static final String AND = "AND";
+    private static final String OR = "OR";
+
+    private final List<Rule> rules;
+
+    /**
+     * Constructs a ConditionOptimizer applying rules in the given order.
+     *
+     * @param rules the rules
+     * @throws IllegalArgumentException if rules is null or contains null
+     */
+    public ConditionOptimizer(List<Rule> rules) {
+        if (rules == null || rules.stream().anyMatch(rule -> rule == null)) {
+            throw new IllegalArgumentException("rules must not be null");
+        }
+        this.rules = List.copyOf(rules);
+    }
+
+    /**
+     * Returns an optimizer with all built-in rules.
+     *
+     * @return the optimizer
+     */
+    public static ConditionOptimizer defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Returns an optimizer applying the rules of this optimizer followed by another rule.
+     *
+     * @param rule the rule to add
+     * @return the new optimizer
+     */
+    public ConditionOptimizer with(Rule rule) {
+        List<Rule> extended = new ArrayList<>(rules);
+        extended.add(rule);
+        return new ConditionOptimizer(extended);
+    }
+
+    /**
+     * Returns the rules of this optimizer.
+     *
+     * @return the rules, in the order they are applied
+     */
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Optimizes a condition.
+     *
+     * @param condition the condition, may be null
+     * @return the optimized condition, or null if the condition is null or always holds
+     */
+    public Condition optimize(Condition condition) {
+        if (condition == null) {
+            return null;
+        }
+        Condition tree = parse(condition);
+        if (tree == null) {
+            return condition;
+        }
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            Condition rewritten = rewrite(tree);
+            if (rewritten == tree) {
+                break;
+            }
+            tree = rewritten;
+        }
+        return tree == AlwaysTrue.INSTANCE ? null : bracket(tree);
+    }
+
+    private Condition rewrite(Condition condition) {
+        Condition node = condition;
+        if (node instanceof CompositeCondition composite) {
+            List<Condition> children = composite.getConditions();
+            List<Condition> rewritten = null;
+            for (int i = 0; i < children.size(); i++) {
+                Condition child = rewrite(children.get(i));
+                if (child != children.get(i) && rewritten == null) {
+                    rewritten = new ArrayList<>(children.subList(0, i));
+                }
+                if (rewritten != null) {
+                    rewritten.add(child);
+                }
+            }
+            if (rewritten != null) {
+                node = new CompositeCondition(composite.getType(), rewritten);
+            }
+        } else if (node instanceof NotCondition not) {
+            Condition child = rewrite(not.getCondition());
+            if (child != not.getCondition()) {
+                node = new NotCondition(child);
+            }
+        }
+        for (Rule rule : rules) {
+            node = rule.apply(node);
+        }
+        return node;
+    }
+
+    /**
+     * Reads a condition as the database parses its rendered SQL, into AND and OR composites
+     * (with upper case operators), NOT conditions and terms. Returns null if it can't be read.
+     */
+    private static Condition parse(Condition condition) {
+        List<Object> tokens = new ArrayList<>();
+        return tokenize(condition, tokens) ? new Parser(tokens).or() : null;
+    }
+
+    private static boolean tokenize(Condition condition, List<Object> tokens) {
+        if (condition == null) {
+            return false;
+        }
+        Class<?> type = condition.getClass();
+        if (type != CompositeCondition.class && type != NotCondition.class && type != BracketCondition.class
+                && (condition instanceof CompositeCondition || condition instanceof NotCondition
+                || condition instanceof BracketCondition)) {
+            // a subclass may render differently
+            return false;
+        }
+        if (condition instanceof CompositeCondition composite) {
+            String operator = composite.getType() == null ? "" : composite.getType().trim().toUpperCase(Locale.ROOT);
+            if (!operator.equals(AND) && !operator.equals(OR) || composite.getConditions().isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < composite.getConditions().size(); i++) {
+                if (i > 0) {
+                    tokens.add(operator.equals(AND) ? Token.AND : Token.OR);
+                }
+                if (!tokenize(composite.getConditions().get(i), tokens)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (condition instanceof NotCondition not) {
+            tokens.add(Token.NOT);
+            return tokenize(not.getCondition(), tokens);
+        }
+        if (condition instanceof BracketCondition bracket) {
+            Condition inner = parse(bracket.getCondition());
+            tokens.add(inner);
+            return inner != null;
+        }
+        tokens.add(condition);
+        return true;
+    }
+
+    /**
+     * Adds the parentheses the rendered SQL needs to keep the structure of the tree.
+     */
+    private static Condition bracket(Condition condition) {
+        if (condition instanceof CompositeCondition composite) {
+            List<Condition> children = new ArrayList<>(composite.getConditions().size());
+            for (Condition child : composite.getConditions()) {
+                Condition bracketed = bracket(child);
+                if (composite.getType().equals(AND) && bracketed instanceof CompositeCondition nested
+                        && nested.getType().equals(OR)) {
+                    bracketed = new BracketCondition(bracketed);
+                }
+                children.add(bracketed);
+            }
+            return new CompositeCondition(composite.getType(), children);
+        }
+        if (condition instanceof NotCondition not) {
+            Condition child = bracket(not.getCondition());
+            return new NotCondition(child instanceof CompositeCondition ? new BracketCondition(child) : child);
+        }
+        return condition;
+    }
+
+    private static Condition flatten(Condition condition) {
+        if (!(condition instanceof CompositeCondition composite)) {
+            return condition;
+        }
+        List<Condition> children = composite.getConditions();
+        if (children.size() == 1) {
+            return children.get(0);
+        }
+        boolean nested = false;
+        for (Condition child : children) {
+            nested |= child instanceof CompositeCondition other && other.getType().equals(composite.getType());
+        }
+        if (!nested) {
+            return condition;
+        }
+        List<Condition> flattened = new ArrayList<>();
+        for (Condition child : children) {
+            if (child instanceof CompositeCondition other && other.getType().equals(composite.getType())) {
+                flattened.addAll(other.getConditions());
+            } else {
+                flattened.add(child);
+            }
+        }
+        return new CompositeCondition(composite.getType(), flattened);
+    }
+
+    private static Condition pushNotInward(Condition condition) {
+        if (!(condition instanceof NotCondition not)) {
+            return condition;
+        }
+        Condition negated = negate(not.getCondition());
+        return negated instanceof NotCondition other && other.getCondition() == not.getCondition() ? condition : negated;
+    }
+
+    /**
+     * Returns the negation of a condition with NOT pushed as far inward as possible.
+     */
+    private static Condition negate(Condition condition) {
+        Class<?> type = condition.getClass();
+        if (condition instanceof NotCondition not) {
+            return not.getCondition();
+        }
+        if (condition instanceof CompositeCondition composite) {
+            List<Condition> children = new ArrayList<>(composite.getConditions().size());
+            for (Condition child : composite.getConditions()) {
+                children.add(negate(child));
+            }
+            return new CompositeCondition(composite.getType().equals(AND) ? OR : AND, children);
+        }
+        if (type == ComparisonCondition.class) {
+            ComparisonCondition comparison = (ComparisonCondition) condition;
+            String operator = switch (comparison.getOperator()) {
+                case "=" -> "<>";
+                case "<>", "!=" -> "=";
+                case "<" -> ">=";
+                case "<=" -> ">";
+                case ">" -> "<=";
+                case ">=" -> "<";
+                case "LIKE" -> "NOT LIKE";
+                case "NOT LIKE" -> "LIKE";
+                default -> null;
+            };
+            if (operator != null) {
+                return new ComparisonCondition(comparison.getColumn(), operator, comparison.getComparisonValue());
+            }
+        } else if (type == InCondition.class || type == NotInCondition.class) {
+            InCondition in = (InCondition) condition;
+            if (in.isNegated()) {
+                return in.values != null ? new InCondition(in.column, in.values) : new InCondition(in.column, in.subQuery);
+            }
+            return in.values != null ? new NotInCondition(in.column, in.values) : new NotInCondition(in.column, in.subQuery);
+        } else if (type == NullCondition.class) {
+            return new NotNullCondition(((NullCondition) condition).column);
+        } else if (type == NotNullCondition.class) {
+            return new NullCondition(((NullCondition) condition).column);
+        } else if (type == ExistsCondition.class) {
+            return new NotExistsCondition(((ExistsCondition) condition).subQuery);
+        } else if (type == NotExistsCondition.class) {
+            return new ExistsCondition(((ExistsCondition) condition).subQuery);
+        }
+        return new NotCondition(condition);
+    }
+
+    private static Condition removeDuplicates(Condition condition) {
+        if (!(condition instanceof CompositeCondition composite)) {
+            return condition;
+        }
+        Set<Object> keys = new HashSet<>();
+        List<Condition> distinct = new ArrayList<>();
+        for (Condition child : composite.getConditions()) {
+            if (keys.add(key(child))) {
+                distinct.add(child);
+            }
+        }
+        if (distinct.size() == composite.getConditions().size()) {
+            return condition;
+        }
+        return distinct.size() == 1 ? distinct.get(0) : new CompositeCondition(composite.getType(), distinct);
+    }
+
+    /**
+     * Returns a value that is equal for conditions rendering the same SQL with equal parameters.
+     * Conditions of unknown or subclassed types are only equal to themselves.
+     */
+    private static Object key(Condition condition) {
+        Class<?> type = condition.getClass();
+        if (condition instanceof CompositeCondition composite) {
+            List<Object> keys = new ArrayList<>();
+            keys.add(composite.getType());
+            for (Condition child : composite.getConditions()) {
+                keys.add(key(child));
+            }
+            return keys;
+        }
+        if (condition instanceof NotCondition not) {
+            return Arrays.asList(Token.NOT, key(not.getCondition()));
+        }
+        if (type == ComparisonCondition.class) {
+            ComparisonCondition comparison = (ComparisonCondition) condition;
+            return Arrays.asList(type, key(comparison.getColumn()), comparison.getOperator(), key(comparison.getComparisonValue()));
+        }
+        if ((type == InCondition.class || type == NotInCondition.class) && ((InCondition) condition).values != null) {
+            InCondition in = (InCondition) condition;
+            return Arrays.asList(type, in.column, in.values);
+        }
+        if (type == NullCondition.class || type == NotNullCondition.class) {
+            return Arrays.asList(type, ((NullCondition) condition).column);
+        }
+        return condition;
+    }
+
+    private static Object key(Operand operand) {
+        if (operand.getClass() == ColumnOperand.class) {
+            return Arrays.asList(ColumnOperand.class, ((ColumnOperand) operand).getColumn());
+        }
+        if (operand.getClass() == ValueOperand.class) {
+            return Arrays.asList(ValueOperand.class, ((ValueOperand) operand).getValue());
+        }
+        return operand;
+    }
+
+    private static Condition removeTautologies(Condition condition) {
+        if (!(condition instanceof CompositeCondition composite)) {
+            return condition;
+        }
+        List<Condition> children = composite.getConditions();
+        if (composite.getType().equals(OR)) {
+            Set<Identifier> isNull = new HashSet<>();
+            Set<Identifier> isNotNull = new HashSet<>();
+            for (Condition child : children) {
+                if (child == AlwaysTrue.INSTANCE) {
+                    return AlwaysTrue.INSTANCE;
+                } else if (child.getClass() == NullCondition.class) {
+                    isNull.add(((NullCondition) child).column);
+                } else if (child.getClass() == NotNullCondition.class) {
+                    isNotNull.add(((NullCondition) child).column);
+                }
+            }
+            isNull.retainAll(isNotNull);
+            return isNull.isEmpty() ? condition : AlwaysTrue.INSTANCE;
+        }
+        if (!children.contains(AlwaysTrue.INSTANCE)) {
+            return condition;
+        }
+        List<Condition> remaining = new ArrayList<>(children);
+        remaining.removeIf(child -> child == AlwaysTrue.INSTANCE);
+        if (remaining.isEmpty()) {
+            return AlwaysTrue.INSTANCE;
+        }
+        return remaining.size() == 1 ? remaining.get(0) : new CompositeCondition(AND, remaining);
+    }
+
+    private static Condition orEqualitiesToIn(Condition condition) {
+        if (!(condition instanceof CompositeCondition composite) || !composite.getType().equals(OR)) {
+            return condition;
+        }
+        Map<Identifier, Set<Object>> values = new LinkedHashMap<>();
+        Map<Identifier, Integer> terms = new LinkedHashMap<>();
+        for (Condition child : composite.getConditions()) {
+            Identifier column = inColumn(child);
+            if (column != null) {
+                values.computeIfAbsent(column, c -> new LinkedHashSet<>()).addAll(inValues(child));
+                terms.merge(column, 1, Integer::sum);
+            }
+        }
+        if (terms.values().stream().allMatch(count -> count < 2)) {
+            return condition;
+        }
+        List<Condition> merged = new ArrayList<>();
+        for (Condition child : composite.getConditions()) {
+            Identifier column = inColumn(child);
+            if (column == null || terms.get(column) < 2) {
+                merged.add(child);
+            } else if (values.containsKey(column)) {
+                merged.add(new InCondition(column, new ArrayList<>(values.remove(column))));
+            }
+        }
+        return merged.size() == 1 ? merged.get(0) : new CompositeCondition(OR, merged);
+    }
+
+    /**
+     * Returns the column of an equality with a value or of an IN list, or null for other conditions.
+     */
+    private static Identifier inColumn(Condition condition) {
+        if (condition.getClass() == ComparisonCondition.class) {
+            ComparisonCondition comparison = (ComparisonCondition) condition;
+            Operand value = comparison.getComparisonValue();
+            if (comparison.getOperator().equals("=") && comparison.getColumn().getClass() == ColumnOperand.class
+                    && (value.getClass() == ValueOperand.class || value.getClass() == Parameter.class)) {
+                return ((ColumnOperand) comparison.getColumn()).getColumn();
+            }
+        } else if (condition.getClass() == InCondition.class && ((InCondition) condition).values != null) {
+            return ((InCondition) condition).column;
+        }
+        return null;
+    }
+
+    private static List<Object> inValues(Condition condition) {
+        if (condition instanceof InCondition in) {
+            return in.values;
+        }
+        Operand value = ((ComparisonCondition) condition).getComparisonValue();
+        return Arrays.asList(value instanceof ValueOperand operand ? operand.getValue() : value);
+    }
+
+    private static Condition singleValueIn(Condition condition) {
+        if (condition.getClass() != InCondition.class && condition.getClass() != NotInCondition.class) {
+            return condition;
+        }
+        InCondition in = (InCondition) condition;
+        if (in.values == null || in.values.size() != 1) {
+            return condition;
+        }
+        Object value = in.values.get(0);
+        Operand operand = value instanceof Parameter parameter ? parameter : new ValueOperand(value);
+        return new ComparisonCondition(new ColumnOperand(in.column), in.isNegated() ? "<>" : "=", operand);
+    }
+
+    /**
+     * A rewrite rule of the optimizer.
+     * <p>
+     * A rule is applied to every node of the tree after its children. Composite conditions are
+     * passed with the operator {@code AND} or {@code OR}. A rule must return the same instance if
+     * it doesn't apply, so the optimizer can tell when the tree no longer changes, and it must not
+     * change the result of the condition for any row.
+     */
+    @FunctionalInterface
+    public interface Rule {
+        /**
+         * Rewrites a node of the condition tree.
+         *
+         * @param condition the node, whose children have already been rewritten
+         * @return the rewritten node, or the node itself if the rule doesn't apply
+         */
+        Condition apply(Condition condition);
+    }
+
+    private enum Token {
+        AND, OR, NOT
+    }
+
+    /**
+     * A recursive descent parser over the tokens of a rendered condition, with SQL operator precedence.
+     */
+    private static final class Parser {
+        private final List<Object> tokens;
+        private int position;
+
+        Parser(List<Object> tokens) {
+            this.tokens = tokens;
+        }
+
+        Condition or() {
+            List<Condition> terms = new ArrayList<>();
+            terms.add(and());
+            while (position < tokens.size() && tokens.get(position) == Token.OR) {
+                position++;
+                terms.add(and());
+            }
+            return terms.size() == 1 ? terms.get(0) : new CompositeCondition(OR, terms);
+        }
+
+        private Condition and() {
+            List<Condition> terms = new ArrayList<>();
+            terms.add(not());
+            while (position < tokens.size() && tokens.get(position) == Token.AND) {
+                position++;
+                terms.add(not());
+            }
+            return terms.size() == 1 ? terms.get(0) : new CompositeCondition(AND, terms);
+        }
+
+        private Condition not() {
+            if (tokens.get(position) == Token.NOT) {
+                position++;
+                return new NotCondition(not());
+            }
+            return (Condition) tokens.get(position++);
+        }
+    }
+
+    /**
+     * A condition that always holds. It is rendered as {@code 1 = 1}, which only happens below a NOT.
+     */
+    private static final class AlwaysTrue implements Condition {
+        static final AlwaysTrue INSTANCE = new AlwaysTrue();
+
+        @Override
+        public void render(RenderContext context) {
+            context.append("1 = 1");
+        }
+
+        @Override
+        public List<Object> getParameters() {
+            return List.of();
+        }
+
+        @Override
+        public void collectParameters(ParameterSink sink) {
+            // always true has no parameters
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.BindContext;
+import sqlbuilder.ParameterArray;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
 import sqlbuilder.SelectBuilder;
+import sqlbuilder.StatementShape;
 import java.util.List;
 
 /**
@@ -20,12 +25,35 @@ public class ExistsCondition implements Condition {
     }
 
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        return operator + " (" + subQuery.build().getStatement() + ")";
+    public void render(RenderContext context) {
+        context.append(operator).append(" (");
+        context.appendSubquery(subQuery);
+        context.append(')');
+    }
+
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(ExistsCondition.class).add(operator);
+        subQuery.appendShape(shape);
     }
 
     @Override
     public List<Object> getParameters() {
-        return subQuery.build().getParameters();
+        return ParameterArray.collect(this);
+    }
+
+    @Override
+    public int countParameters() {
+        return countParameters(BindContext.NONE);
+    }
+
+    @Override
+    public int countParameters(BindContext context) {
+        return subQuery.countParameters(context);
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        subQuery.collectParameters(sink);
     }
 }
@@ -1,6 +1,7 @@
 package sqlbuilder.expressions;
 
 import sqlbuilder.SelectBuilder;
+import sqlbuilder.identifiers.Identifier;
 
 import java.util.List;
 
@@ -21,6 +22,10 @@ public class Expression {
         return new ColumnOperand(alias + "." + columnName);
     }
 
+    public static Operand column(Identifier column) {
+        return new ColumnOperand(column);
+    }
+
     public static Operand value(Object value) {
         return new ValueOperand(value);
     }
@@ -107,6 +112,66 @@ public class Expression {
         return new NotInCondition(column, subQuery);
     }
 
+    public static Condition eq(Identifier column, Object comparisonValue) {
+        return new ComparisonCondition(new ColumnOperand(column), "=", getCorrectOperand(comparisonValue));
+    }
+
+    public static Condition neq(Identifier column, Object comparisonValue) {
+        return new ComparisonCondition(new ColumnOperand(column), "<>", getCorrectOperand(comparisonValue));
+    }
+
+    public static Condition lt(Identifier column, Object comparisonValue) {
+        return new ComparisonCondition(new ColumnOperand(column), "<", getCorrectOperand(comparisonValue));
+    }
+
+    public static Condition leq(Identifier column, Object comparisonValue) {
+        return new ComparisonCondition(new ColumnOperand(column), "<=", getCorrectOperand(comparisonValue));
+    }
+
+    public static Condition gt(Identifier column, Object comparisonValue) {
+        return new ComparisonCondition(new ColumnOperand(column), ">", getCorrectOperand(comparisonValue));
+    }
+
+    public static Condition geq(Identifier column, Object comparisonValue) {
+        return new ComparisonCondition(new ColumnOperand(column), ">=", getCorrectOperand(comparisonValue));
+    }
+
+    public static Condition like(Identifier column, Object comparisonValue) {
+        return new ComparisonCondition(new ColumnOperand(column), "LIKE", getCorrectOperand(comparisonValue));
+    }
+
+    public static Condition isNull(Identifier column) {
+        return new NullCondition(column);
+    }
+
+    public static Condition isNotNull(Identifier column) {
+        return new NotNullCondition(column);
+    }
+
+    public static Condition in(Identifier column, List<Object> values) {
+        return new InCondition(column, values);
+    }
+
+    public static Condition in(Identifier column, Object... values) {
+        return in(column, List.of(values));
+    }
+
+    public static Condition in(Identifier column, SelectBuilder subQuery) {
+        return new InCondition(column, subQuery);
+    }
+
+    public static Condition notIn(Identifier column, List<Object> values) {
+        return new NotInCondition(column, values);
+    }
+
+    public static Condition notIn(Identifier column, Object... values) {
+        return notIn(column, List.of(values));
+    }
+
+    public static Condition notIn(Identifier column, SelectBuilder subQuery) {
+        return new NotInCondition(column, subQuery);
+    }
+
     public static Condition exists(SelectBuilder subQuery) {
         return new ExistsCondition(subQuery);
     }
@@ -116,8 +181,7 @@ public class Expression {
     }
 
     public static Condition brackets(Condition expression) {
-        //TODO: Implement bracket support
-        return null;
+        return new BracketCondition(expression);
     }
 
     private static Operand getCorrectOperand(Object comparisonValue) {
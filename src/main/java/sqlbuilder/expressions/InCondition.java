@@ -1,15 +1,29 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.BindContext;
+import sqlbuilder.ParameterArray;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
 import sqlbuilder.SelectBuilder;
+import sqlbuilder.StatementShape;
+import sqlbuilder.dialects.InListPadding;
+import sqlbuilder.dialects.InListStrategy;
+import sqlbuilder.dialects.SqlDialect;
 import sqlbuilder.exceptions.ValueCannotBeEmptyException;
+import sqlbuilder.identifiers.Identifier;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A condition that checks if a column value is within a set of values or a subquery.
+ * <p>
+ * Lists of values are rendered with the {@link InListStrategy} the dialect chooses for their size.
+ * Values that are template parameters are always expanded into placeholders.
  */
 public class InCondition implements Condition {
-    protected final String column;
+    protected final Identifier column;
     protected final List<Object> values;
     protected final SelectBuilder subQuery;
     protected final String operator;
@@ -26,7 +40,19 @@ public class InCondition implements Condition {
         this(column, null, subQuery, "IN");
     }
 
+    public InCondition(Identifier column, List<Object> values) {
+        this(column, values, null, "IN");
+    }
+
+    public InCondition(Identifier column, SelectBuilder subQuery) {
+        this(column, null, subQuery, "IN");
+    }
+
     protected InCondition(String column, List<Object> values, SelectBuilder subQuery, String operator) {
+        this(Identifier.unchecked(column), values, subQuery, operator);
+    }
+
+    protected InCondition(Identifier column, List<Object> values, SelectBuilder subQuery, String operator) {
         this.column = column;
         this.values = values;
         this.subQuery = subQuery;
@@ -34,30 +60,260 @@ public class InCondition implements Condition {
     }
 
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        StringBuilder sql = new StringBuilder()
-                .append(dialect.quote(column))
-                .append(" ")
+    public void render(RenderContext context) {
+        if (values == null) {
+            context.appendIdentifier(column)
+                    .append(' ')
+                    .append(operator)
+                    .append(" (")
+                    .appendSubquery(subQuery)
+                    .append(')');
+            return;
+        }
+        if (values.isEmpty()) {
+            throw new ValueCannotBeEmptyException("IN-values");
+        }
+
+        switch (strategy(context.getDialect())) {
+            case ARRAY -> renderArray(context);
+            case JSON -> renderJson(context);
+            case VALUES -> renderValues(context);
+            default -> renderExpanded(context);
+        }
+    }
+
+    /**
+     * Returns whether this is a NOT IN condition.
+     *
+     * @return true if the condition is negated
+     */
+    protected boolean isNegated() {
+        return operator.startsWith("NOT");
+    }
+
+    /**
+     * Returns the strategy the list of values is bound with. Rendering, counting and collecting
+     * all use it, so the parameters always match the placeholders.
+     */
+    private InListStrategy strategy(SqlDialect dialect) {
+        if (dialect == null) {
+            return InListStrategy.EXPAND;
+        }
+        InListStrategy strategy = dialect.getInListStrategy(values.size());
+        if (strategy != InListStrategy.EXPAND && strategy != InListStrategy.VALUES && containsTemplateParameter()) {
+            return InListStrategy.EXPAND;
+        }
+        return strategy;
+    }
+
+    private boolean containsTemplateParameter() {
+        for (Object value : values) {
+            if (value instanceof Parameter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int padValues(RenderContext context) {
+        InListPadding padding = context.getInListPadding();
+        int placeholders = padding.paddedSize(values.size());
+        padding.recordShape(placeholders);
+        return placeholders;
+    }
+
+    /**
+     * Returns the padding applied in a bind context, falling back to the padding of its dialect.
+     */
+    private static InListPadding padding(BindContext context) {
+        InListPadding padding = context.getInListPadding();
+        if (padding != null) {
+            return padding;
+        }
+        SqlDialect dialect = context.getDialect();
+        return dialect != null ? dialect.getInListPadding() : InListPadding.NONE;
+    }
+
+    /**
+     * Returns the value bound to a placeholder, repeating the last value for padded placeholders.
+     */
+    private Object valueAt(int index) {
+        return values.get(Math.min(index, values.size() - 1));
+    }
+
+    private void appendValue(RenderContext context, int index) {
+        context.appendParameter(valueAt(index));
+    }
+
+    private void renderExpanded(RenderContext context) {
+        int placeholders = padValues(context);
+        int chunkSize = context.getDialect().getMaxInListSize();
+        boolean chunked = placeholders > chunkSize;
+        if (chunked) {
+            context.append('(');
+        }
+        for (int start = 0; start < placeholders; start += chunkSize) {
+            if (start > 0) {
+                context.append(isNegated() ? " AND " : " OR ");
+            }
+            context.appendIdentifier(column)
+                    .append(' ')
+                    .append(operator)
+                    .append(" (");
+            int end = Math.min(placeholders, start + chunkSize);
+            for (int i = start; i < end; i++) {
+                if (i > start) {
+                    context.append(", ");
+                }
+                appendValue(context, i);
+            }
+            context.append(')');
+        }
+        if (chunked) {
+            context.append(')');
+        }
+    }
+
+    private void renderValues(RenderContext context) {
+        int placeholders = padValues(context);
+        context.appendIdentifier(column)
+                .append(' ')
                 .append(operator)
-                .append(" (");
-        if (values != null) {
-            if (values.isEmpty()) {
-                throw new ValueCannotBeEmptyException("IN-values");
+                .append(" (SELECT v FROM (VALUES ");
+        for (int i = 0; i < placeholders; i++) {
+            if (i > 0) {
+                context.append(", ");
             }
+            context.append('(');
+            appendValue(context, i);
+            context.append(')');
+        }
+        context.append(") AS t (v))");
+    }
+
+    private void renderArray(RenderContext context) {
+        context.appendIdentifier(column)
+                .append(isNegated() ? " <> ALL (" : " = ANY (")
+                .appendParameter(toArray(values))
+                .append(')');
+    }
+
+    private void renderJson(RenderContext context) {
+        String query = context.getDialect().getJsonArrayQuery();
+        int placeholder = query.indexOf('?');
+        context.appendIdentifier(column)
+                .append(' ')
+                .append(operator)
+                .append(" (")
+                .append(query.substring(0, placeholder))
+                .appendParameter(toJson(values))
+                .append(query.substring(placeholder + 1))
+                .append(')');
+    }
 
-            sql.append(values.stream().map(v -> "?").collect(Collectors.joining(", ")));
-        } else {
-            sql.append(subQuery.build().getStatement());
+    /**
+     * Creates an array typed by the common class of the values, so drivers can map it to a SQL array.
+     */
+    static Object[] toArray(List<Object> values) {
+        Class<?> type = null;
+        for (Object value : values) {
+            if (value != null) {
+                if (type == null) {
+                    type = value.getClass();
+                } else if (type != value.getClass()) {
+                    type = Object.class;
+                    break;
+                }
+            }
+        }
+        Object[] array = (Object[]) Array.newInstance(type == null ? Object.class : type, values.size());
+        return values.toArray(array);
+    }
+
+    static String toJson(List<Object> values) {
+        StringBuilder json = new StringBuilder(values.size() * 8).append('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            Object value = values.get(i);
+            if (value == null || value instanceof Boolean || value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte) {
+                json.append(value);
+            } else if (value instanceof BigDecimal decimal) {
+                json.append(decimal.toPlainString());
+            } else {
+                appendJsonString(json, value.toString());
+            }
+        }
+        return json.append(']').toString();
+    }
+
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(InCondition.class).add(column).add(operator);
+        if (values == null) {
+            subQuery.appendShape(shape);
+            return;
+        }
+        InListStrategy strategy = strategy(shape.getDialect());
+        shape.add(strategy);
+        if (strategy != InListStrategy.ARRAY && strategy != InListStrategy.JSON) {
+            shape.add(padding(shape).paddedSize(values.size()));
         }
-        sql.append(")");
-        return sql.toString();
     }
 
     @Override
     public List<Object> getParameters() {
-        if (values != null) {
-            return values;
+        return ParameterArray.collect(this);
+    }
+
+    @Override
+    public int countParameters() {
+        return countParameters(BindContext.NONE);
+    }
+
+    @Override
+    public int countParameters(BindContext context) {
+        if (values == null) {
+            return subQuery.countParameters(context);
+        }
+        return switch (strategy(context.getDialect())) {
+            case ARRAY, JSON -> 1;
+            default -> padding(context).paddedSize(values.size());
+        };
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        if (values == null) {
+            subQuery.collectParameters(sink);
+            return;
+        }
+        switch (strategy(sink.getDialect())) {
+            case ARRAY -> sink.accept(toArray(values));
+            case JSON -> sink.accept(toJson(values));
+            default -> {
+                int placeholders = padding(sink).paddedSize(values.size());
+                for (int i = 0; i < placeholders; i++) {
+                    sink.accept(valueAt(i));
+                }
+            }
         }
-        return subQuery.build().getParameters();
     }
 }
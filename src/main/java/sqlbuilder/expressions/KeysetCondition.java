@@ -0,0 +1,118 @@
+package sqlbuilder.expressions;
+
+import sqlbuilder.Keyset;
+import sqlbuilder.ParameterArray;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+
+import java.util.List;
+
+/**
+ * A condition that selects the rows after a given row in keyset order.
+ * <p>
+ * With a uniform sort direction and row value support the condition is rendered as a row value
+ * comparison, e.g. {@code ("a", "b") > (?, ?)}. Otherwise it is expanded into
+ * {@code ("a" > ? OR ("a" = ? AND "b" < ?))}, comparing each key in its own direction.
+ */
+public class KeysetCondition implements Condition {
+    private final Keyset keyset;
+    private final List<Object> values;
+    private final boolean rowValue;
+
+    /**
+     * Constructs a KeysetCondition.
+     *
+     * @param keyset   the keyset
+     * @param values   the key values of the last row, in key order
+     * @param rowValue whether row value comparisons may be used
+     * @throws IllegalArgumentException if the number of values doesn't match the keys
+     */
+    public KeysetCondition(Keyset keyset, List<Object> values, boolean rowValue) {
+        if (values.size() != keyset.getKeys().size()) {
+            throw new IllegalArgumentException("Expected " + keyset.getKeys().size() + " key values but got " + values.size());
+        }
+        this.keyset = keyset;
+        this.values = values;
+        this.rowValue = rowValue && keyset.hasUniformDirection();
+    }
+
+    @Override
+    public void render(RenderContext context) {
+        List<Keyset.Key> keys = keyset.getKeys();
+        if (keys.size() == 1) {
+            renderComparison(context, keys.get(0), values.get(0));
+        } else if (rowValue) {
+            context.append('(');
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    context.append(", ");
+                }
+                context.appendIdentifier(keys.get(i).column());
+            }
+            context.append(keys.get(0).descending() ? ") < (" : ") > (");
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    context.append(", ");
+                }
+                context.appendParameter(values.get(i));
+            }
+            context.append(')');
+        } else {
+            context.append('(');
+            for (int i = 0; i < keys.size(); i++) {
+                if (i > 0) {
+                    context.append(" OR (");
+                }
+                for (int j = 0; j < i; j++) {
+                    context.appendIdentifier(keys.get(j).column()).append(" = ").appendParameter(values.get(j)).append(" AND ");
+                }
+                renderComparison(context, keys.get(i), values.get(i));
+                if (i > 0) {
+                    context.append(')');
+                }
+            }
+            context.append(')');
+        }
+    }
+
+    private static void renderComparison(RenderContext context, Keyset.Key key, Object value) {
+        context.appendIdentifier(key.column())
+                .append(key.descending() ? " < " : " > ")
+                .appendParameter(value);
+    }
+
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(KeysetCondition.class).add(rowValue).add(values.size());
+        for (Keyset.Key key : keyset.getKeys()) {
+            shape.add(key);
+        }
+    }
+
+    @Override
+    public List<Object> getParameters() {
+        return ParameterArray.collect(this);
+    }
+
+    @Override
+    public int countParameters() {
+        int size = values.size();
+        return rowValue || size == 1 ? size : size * (size + 1) / 2;
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        if (rowValue || values.size() == 1) {
+            for (Object value : values) {
+                sink.accept(value);
+            }
+            return;
+        }
+        for (int i = 0; i < values.size(); i++) {
+            for (int j = 0; j <= i; j++) {
+                sink.accept(values.get(j));
+            }
+        }
+    }
+}
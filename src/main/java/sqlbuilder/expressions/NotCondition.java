@@ -1,5 +1,10 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.BindContext;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+
 import java.util.List;
 
 /**
@@ -12,13 +17,44 @@ public class NotCondition implements Condition {
         this.condition = condition;
     }
 
+    /**
+     * Returns the negated condition.
+     *
+     * @return the negated condition
+     */
+    public Condition getCondition() {
+        return condition;
+    }
+
+    @Override
+    public void render(RenderContext context) {
+        context.append("NOT ");
+        condition.render(context);
+    }
+
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        return "NOT " + condition.toSql(dialect);
+    public void appendShape(StatementShape shape) {
+        shape.add(NotCondition.class);
+        condition.appendShape(shape);
     }
 
     @Override
     public List<Object> getParameters() {
         return condition.getParameters();
     }
+
+    @Override
+    public int countParameters() {
+        return countParameters(BindContext.NONE);
+    }
+
+    @Override
+    public int countParameters(BindContext context) {
+        return condition.countParameters(context);
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        condition.collectParameters(sink);
+    }
 }
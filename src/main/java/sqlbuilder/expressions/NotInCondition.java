@@ -1,6 +1,7 @@
 package sqlbuilder.expressions;
 
 import sqlbuilder.SelectBuilder;
+import sqlbuilder.identifiers.Identifier;
 import java.util.List;
 
 /**
@@ -19,7 +20,19 @@ public class NotInCondition extends InCondition {
         this(column, List.of(values));
     }
 
+    public NotInCondition(Identifier column, SelectBuilder subQuery) {
+        this(column, null, subQuery);
+    }
+
+    public NotInCondition(Identifier column, List<Object> values) {
+        this(column, values, null);
+    }
+
     private NotInCondition(String column, List<Object> values, SelectBuilder subQuery) {
         super(column, values, subQuery, "NOT IN");
     }
+
+    private NotInCondition(Identifier column, List<Object> values, SelectBuilder subQuery) {
+        super(column, values, subQuery, "NOT IN");
+    }
 }
@@ -1,5 +1,8 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.RenderContext;
+import sqlbuilder.identifiers.Identifier;
+
 /**
  * A condition that checks if a column is NOT NULL.
  */
@@ -8,8 +11,12 @@ public class NotNullCondition extends NullCondition {
         super(column);
     }
 
+    public NotNullCondition(Identifier column) {
+        super(column);
+    }
+
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        return dialect.quote(column) + " IS NOT NULL";
+    public void render(RenderContext context) {
+        context.appendIdentifier(column).append(" IS NOT NULL");
     }
 }
@@ -1,24 +1,48 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+import sqlbuilder.identifiers.Identifier;
+
 import java.util.List;
 
 /**
  * A condition that checks if a column is NULL.
  */
 public class NullCondition implements Condition {
-    protected final String column;
+    protected final Identifier column;
 
     public NullCondition(String column) {
+        this(Identifier.unchecked(column));
+    }
+
+    public NullCondition(Identifier column) {
         this.column = column;
     }
 
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        return dialect.quote(column) + " IS NULL";
+    public void render(RenderContext context) {
+        context.appendIdentifier(column).append(" IS NULL");
+    }
+
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(getClass()).add(column);
     }
 
     @Override
     public List<Object> getParameters() {
         return List.of();
     }
+
+    @Override
+    public int countParameters() {
+        return 0;
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        // NULL checks don't have parameters
+    }
 }
@@ -1,10 +1,16 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
 import sqlbuilder.dialects.SqlDialect;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Interface representing a SQL operand (column, value, parameter).
+ * <p>
+ * Implementations must override at least one of {@link #toSql(SqlDialect)} and {@link #render(RenderContext)}.
  */
 public interface Operand {
     /**
@@ -13,7 +19,34 @@ public interface Operand {
      * @param dialect the SQL dialect to use
      * @return the SQL string
      */
-    String toSql(SqlDialect dialect);
+    default String toSql(SqlDialect dialect) {
+        RenderContext context = new RenderContext(dialect);
+        render(context);
+        return context.getSql();
+    }
+
+    /**
+     * Appends the SQL of this operand to the render context and registers its parameters.
+     *
+     * @param context the render context
+     */
+    default void render(RenderContext context) {
+        context.append(toSql(context.getDialect()));
+        collectParameters(context);
+    }
+
+    /**
+     * Appends the elements the SQL of this operand depends on to a statement shape.
+     * <p>
+     * The default appends the rendered SQL, so implementations should override it to skip the rendering.
+     *
+     * @param shape the statement shape
+     */
+    default void appendShape(StatementShape shape) {
+        RenderContext context = shape.newRenderContext();
+        render(context);
+        shape.add(getClass()).add(context.getSql());
+    }
 
     /**
      * Adds the parameters associated with this operand to the provided list.
@@ -21,4 +54,28 @@ public interface Operand {
      * @param parameters the list of parameters to add to
      */
     void addParameters(List<Object> parameters);
+
+    /**
+     * Returns the number of parameters this operand registers when rendered.
+     *
+     * @return the parameter count
+     */
+    default int countParameters() {
+        List<Object> parameters = new ArrayList<>();
+        addParameters(parameters);
+        return parameters.size();
+    }
+
+    /**
+     * Writes the parameters of this operand into the sink.
+     *
+     * @param sink the parameter sink
+     */
+    default void collectParameters(ParameterSink sink) {
+        List<Object> parameters = new ArrayList<>();
+        addParameters(parameters);
+        for (Object parameter : parameters) {
+            sink.accept(parameter);
+        }
+    }
 }
@@ -1,9 +1,16 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+
 import java.util.List;
 
 /**
  * An operand representing a positional parameter.
+ * <p>
+ * The parameter itself is registered as the bind value of its placeholder, so it marks the slot
+ * that {@code QueryTemplate.bind} fills with the argument at {@code index - 1}.
  */
 public class Parameter implements Operand {
     private final int index;
@@ -17,12 +24,27 @@ public class Parameter implements Operand {
     }
 
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        return "?";
+    public void render(RenderContext context) {
+        context.appendParameter(this);
+    }
+
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(Parameter.class);
     }
 
     @Override
     public void addParameters(List<Object> parameters) {
-        // Positional parameters are usually handled separately or added here if value is known
+        parameters.add(this);
+    }
+
+    @Override
+    public int countParameters() {
+        return 1;
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        sink.accept(this);
     }
 }
@@ -1,8 +1,11 @@
 package sqlbuilder.expressions;
 
-import java.util.Collections;
+import sqlbuilder.ParameterArray;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+
 import java.util.List;
-import java.util.StringJoiner;
 
 /**
  * A simple condition comparing a column to a single value.
@@ -19,16 +22,32 @@ public class SimpleCondition implements Condition {
     }
 
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        return new StringJoiner(" ")
-                .add(dialect.quote(column))
-                .add(comparisonOperator)
-                .add("?")
-                .toString();
+    public void render(RenderContext context) {
+        context.appendIdentifier(column)
+                .append(' ')
+                .append(comparisonOperator)
+                .append(' ');
+        comparisonValue.render(context);
+    }
+
+    @Override
+    public void appendShape(StatementShape shape) {
+        shape.add(SimpleCondition.class).add(column).add(comparisonOperator);
+        comparisonValue.appendShape(shape);
     }
 
     @Override
     public List<Object> getParameters() {
-        return Collections.singletonList(comparisonValue);
+        return ParameterArray.collect(this);
+    }
+
+    @Override
+    public int countParameters() {
+        return comparisonValue.countParameters();
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        comparisonValue.collectParameters(sink);
     }
 }
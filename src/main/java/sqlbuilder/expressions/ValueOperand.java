@@ -1,5 +1,9 @@
 package sqlbuilder.expressions;
 
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
+
 import java.util.List;
 
 /**
@@ -12,13 +16,32 @@ public class ValueOperand implements Operand {
         this.value = value;
     }
 
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public void render(RenderContext context) {
+        context.appendParameter(value);
+    }
+
     @Override
-    public String toSql(sqlbuilder.dialects.SqlDialect dialect) {
-        return "?";
+    public void appendShape(StatementShape shape) {
+        shape.add(ValueOperand.class);
     }
 
     @Override
     public void addParameters(List<Object> parameters) {
         parameters.add(value);
     }
+
+    @Override
+    public int countParameters() {
+        return 1;
+    }
+
+    @Override
+    public void collectParameters(ParameterSink sink) {
+        sink.accept(value);
+    }
 }
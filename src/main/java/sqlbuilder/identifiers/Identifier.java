@@ -0,0 +1,104 @@
+package sqlbuilder.identifiers;
+
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.exceptions.ValueCannotBeEmptyException;
+
+import java.util.Objects;
+
+/**
+ * A database identifier (column name, optionally qualified by a table or alias) that can be
+ * declared once and reused by any number of builders and conditions.
+ * <p>
+ * The quoted form is computed once per dialect type and kept with the identifier, so using an
+ * Identifier instead of a String takes quoting off the rendering path.
+ */
+public final class Identifier {
+    private final String name;
+    private volatile Quoted quoted;
+
+    private Identifier(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Creates an identifier.
+     *
+     * @param name the identifier, e.g. {@code "id"} or {@code "u.id"}
+     * @return the identifier
+     * @throws ValueCannotBeEmptyException if name is null or blank
+     */
+    public static Identifier of(String name) {
+        if (name == null || name.isBlank()) {
+            throw new ValueCannotBeEmptyException("identifier");
+        }
+        return new Identifier(name);
+    }
+
+    /**
+     * Creates an identifier without validating the name. Null and blank names are rendered as they
+     * are, as the builder and condition methods taking column names as strings always did.
+     *
+     * @param name the identifier, may be null or blank
+     * @return the identifier
+     */
+    public static Identifier unchecked(String name) {
+        return new Identifier(name);
+    }
+
+    /**
+     * Creates an identifier qualified by a table name or alias.
+     *
+     * @param qualifier the table name or alias
+     * @param name      the column name
+     * @return the identifier
+     * @throws ValueCannotBeEmptyException if name is null or blank
+     */
+    public static Identifier of(String qualifier, String name) {
+        if (qualifier == null || qualifier.isBlank()) {
+            return of(name);
+        }
+        return of(qualifier + "." + name);
+    }
+
+    /**
+     * Returns the unquoted identifier.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the identifier quoted by the given dialect.
+     *
+     * @param dialect the SQL dialect
+     * @return the quoted identifier
+     */
+    public String quoted(SqlDialect dialect) {
+        Quoted current = quoted;
+        if (current == null || current.dialect != dialect.getClass()) {
+            current = new Quoted(dialect.getClass(), dialect.quote(name));
+            quoted = current;
+        }
+        return current.sql;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Identifier other && Objects.equals(name, other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private record Quoted(Class<?> dialect, String sql) {
+    }
+}
@@ -0,0 +1,71 @@
+package sqlbuilder.identifiers;
+
+import sqlbuilder.exceptions.ValueCannotBeEmptyException;
+
+/**
+ * A table with an optional alias that can be declared once, e.g. in a schema class,
+ * and passed to {@code from} and the join methods.
+ */
+public final class Table {
+    private final String name;
+    private final String alias;
+
+    private Table(String name, String alias) {
+        this.name = name;
+        this.alias = alias;
+    }
+
+    /**
+     * Creates a table without an alias.
+     *
+     * @param name the table name
+     * @return the table
+     * @throws ValueCannotBeEmptyException if name is null or blank
+     */
+    public static Table of(String name) {
+        return of(name, null);
+    }
+
+    /**
+     * Creates a table with an alias.
+     *
+     * @param name  the table name
+     * @param alias the table alias
+     * @return the table
+     * @throws ValueCannotBeEmptyException if name is null or blank
+     */
+    public static Table of(String name, String alias) {
+        if (name == null || name.isBlank()) {
+            throw new ValueCannotBeEmptyException("table");
+        }
+        return new Table(name, alias == null || alias.isBlank() ? null : alias);
+    }
+
+    /**
+     * Returns the table name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the table alias.
+     *
+     * @return the alias, or null if the table has none
+     */
+    public String getAlias() {
+        return alias;
+    }
+
+    /**
+     * Creates an identifier for a column of this table, qualified by the alias if there is one.
+     *
+     * @param column the column name
+     * @return the column identifier
+     */
+    public Identifier column(String column) {
+        return Identifier.of(alias != null ? alias : name, column);
+    }
+}
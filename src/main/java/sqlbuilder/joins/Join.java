@@ -1,5 +1,9 @@
 package sqlbuilder.joins;
 
+import sqlbuilder.BindContext;
+import sqlbuilder.ParameterSink;
+import sqlbuilder.RenderContext;
+import sqlbuilder.StatementShape;
 import sqlbuilder.dialects.SqlDialect;
 import sqlbuilder.expressions.Condition;
 import java.util.List;
@@ -33,16 +37,39 @@ public abstract class Join {
      * @return the SQL string
      */
     public String toSql(SqlDialect dialect, String schema) {
-        StringBuilder sql = new StringBuilder(getJoinType()).append(" ");
+        RenderContext context = new RenderContext(dialect);
+        render(context, schema);
+        return context.getSql();
+    }
+
+    /**
+     * Appends the SQL for the join to the render context and registers its parameters.
+     *
+     * @param context the render context
+     * @param schema  the database schema
+     */
+    public void render(RenderContext context, String schema) {
+        context.append(getJoinType()).append(' ');
         if (schema != null && !schema.isBlank()) {
-            sql.append(schema).append(".");
+            context.append(schema).append('.');
         }
-        sql.append(table);
+        context.append(table);
         if (alias != null && !alias.isBlank()) {
-            sql.append(" ").append(alias);
+            context.append(' ').append(alias);
         }
-        sql.append(" ON ").append(condition.toSql(dialect));
-        return sql.toString();
+        context.append(" ON ");
+        condition.render(context);
+    }
+
+    /**
+     * Appends the elements the SQL of the join depends on to a statement shape.
+     *
+     * @param shape  the statement shape
+     * @param schema the database schema
+     */
+    public void appendShape(StatementShape shape, String schema) {
+        shape.add(getJoinType()).add(schema).add(table).add(alias);
+        condition.appendShape(shape);
     }
 
     /**
@@ -53,4 +80,32 @@ public abstract class Join {
     public List<Object> getParameters() {
         return condition.getParameters();
     }
+
+    /**
+     * Returns the number of parameters of the join condition.
+     *
+     * @return the parameter count
+     */
+    public int countParameters() {
+        return condition.countParameters();
+    }
+
+    /**
+     * Returns the number of parameters the join condition registers when rendered in the given context.
+     *
+     * @param context the bind context
+     * @return the parameter count
+     */
+    public int countParameters(BindContext context) {
+        return condition.countParameters(context);
+    }
+
+    /**
+     * Writes the parameters of the join condition into the sink.
+     *
+     * @param sink the parameter sink
+     */
+    public void collectParameters(ParameterSink sink) {
+        condition.collectParameters(sink);
+    }
 }
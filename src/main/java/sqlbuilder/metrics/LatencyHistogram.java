@@ -0,0 +1,116 @@
+package sqlbuilder.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram with fixed buckets from one microsecond to ten seconds.
+ * <p>
+ * Recording only increments two {@link LongAdder}s, so it doesn't contend between threads and
+ * never allocates. The bucket bounds are shared by all histograms, which keeps snapshots of
+ * different statements and phases comparable.
+ */
+public final class LatencyHistogram {
+    private static final long[] BOUNDS = {
+            1_000L, 2_500L, 5_000L,
+            10_000L, 25_000L, 50_000L,
+            100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L,
+            10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L,
+            1_000_000_000L, 2_500_000_000L, 5_000_000_000L,
+            10_000_000_000L
+    };
+
+    // one more bucket for latencies above the last bound
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+    private final LongAdder sum = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns the upper bounds of the buckets in nanoseconds, without the open last bucket.
+     *
+     * @return a copy of the bucket bounds
+     */
+    public static long[] getBounds() {
+        return BOUNDS.clone();
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < BOUNDS.length && nanos > BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sum.add(nanos);
+    }
+
+    /**
+     * Returns the current counts of the histogram. Counts recorded concurrently may be partially included.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length];
+        long count = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        return new Snapshot(counts, count, sum.sum());
+    }
+
+    /**
+     * The counts of a histogram at one point in time.
+     *
+     * @param counts    the number of latencies per bucket; the last bucket holds latencies above the last bound
+     * @param count     the number of recorded latencies
+     * @param sumNanos  the sum of all recorded latencies in nanoseconds
+     */
+    public record Snapshot(long[] counts, long count, long sumNanos) {
+        /**
+         * Returns the number of latencies up to and including a bucket.
+         *
+         * @param bucket the bucket index
+         * @return the cumulative count
+         */
+        public long cumulativeCount(int bucket) {
+            long total = 0;
+            for (int i = 0; i <= bucket; i++) {
+                total += counts[i];
+            }
+            return total;
+        }
+
+        /**
+         * Returns an upper estimate of a quantile, as the bound of the bucket it falls into.
+         *
+         * @param quantile the quantile between 0 and 1
+         * @return the bucket bound in nanoseconds, {@link Long#MAX_VALUE} if it falls above the last bound,
+         * or 0 if nothing was recorded
+         */
+        public long quantileNanos(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < BOUNDS.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return BOUNDS[i];
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
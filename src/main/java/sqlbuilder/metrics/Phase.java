@@ -0,0 +1,32 @@
+package sqlbuilder.metrics;
+
+import java.util.Locale;
+
+/**
+ * The phases of a query whose latency is measured.
+ */
+public enum Phase {
+    /**
+     * Rendering the statement and collecting its parameters in {@code build()}.
+     */
+    BUILD,
+
+    /**
+     * Executing the bound statement until the driver returns.
+     */
+    EXECUTE,
+
+    /**
+     * Reading and mapping all rows of a result set.
+     */
+    FETCH;
+
+    /**
+     * Returns the name used as metric label.
+     *
+     * @return the lower-case name
+     */
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
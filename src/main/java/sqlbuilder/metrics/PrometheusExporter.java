@@ -0,0 +1,149 @@
+package sqlbuilder.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes the metrics of a {@link QueryMetrics} registry in the Prometheus text exposition format.
+ * <p>
+ * Latencies are exported as the histogram {@code sqlbuilder_query_duration_seconds} with the labels
+ * {@code statement} and {@code phase}, rows and failures as the counters
+ * {@code sqlbuilder_query_rows_total} and {@code sqlbuilder_query_errors_total}. The exporter is an
+ * {@link HttpHandler}, so it can be served by the JDK's built-in HTTP server:
+ * <pre>{@code
+ * HttpServer server = HttpServer.create(new InetSocketAddress(9400), 0);
+ * server.createContext("/metrics", new PrometheusExporter(metrics));
+ * server.start();
+ * }</pre>
+ */
+public class PrometheusExporter implements HttpHandler {
+    /**
+     * The content type of the text exposition format.
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String DURATION = "sqlbuilder_query_duration_seconds";
+    private static final String ROWS = "sqlbuilder_query_rows_total";
+    private static final String ERRORS = "sqlbuilder_query_errors_total";
+
+    private final QueryMetrics metrics;
+
+    /**
+     * Constructs a PrometheusExporter.
+     *
+     * @param metrics the registry to export
+     * @throws IllegalArgumentException if metrics is null
+     */
+    public PrometheusExporter(QueryMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("QueryMetrics must not be null");
+        }
+        this.metrics = metrics;
+    }
+
+    /**
+     * Renders the current metrics in the text exposition format.
+     *
+     * @return the exposition text
+     */
+    public String scrape() {
+        List<TemplateMetrics.Snapshot> snapshots = metrics.snapshot();
+        long[] bounds = LatencyHistogram.getBounds();
+        StringBuilder out = new StringBuilder(256 + snapshots.size() * 4096);
+
+        out.append("# HELP ").append(DURATION).append(" Latency of SQL statements per phase.\n");
+        out.append("# TYPE ").append(DURATION).append(" histogram\n");
+        for (TemplateMetrics.Snapshot snapshot : snapshots) {
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram.Snapshot histogram = snapshot.latency(phase);
+                if (histogram.count() == 0) {
+                    continue;
+                }
+                long cumulative = 0;
+                for (int i = 0; i < bounds.length; i++) {
+                    cumulative += histogram.counts()[i];
+                    appendBucket(out, snapshot.statement(), phase, seconds(bounds[i]), cumulative);
+                }
+                appendBucket(out, snapshot.statement(), phase, "+Inf", histogram.count());
+                appendSample(out, DURATION + "_sum", snapshot.statement(), phase).append(seconds(histogram.sumNanos())).append('\n');
+                appendSample(out, DURATION + "_count", snapshot.statement(), phase).append(histogram.count()).append('\n');
+            }
+        }
+
+        out.append("# HELP ").append(ROWS).append(" Rows fetched by SQL statements.\n");
+        out.append("# TYPE ").append(ROWS).append(" counter\n");
+        for (TemplateMetrics.Snapshot snapshot : snapshots) {
+            appendSample(out, ROWS, snapshot.statement(), null).append(snapshot.rows()).append('\n');
+        }
+
+        out.append("# HELP ").append(ERRORS).append(" Failed executions of SQL statements.\n");
+        out.append("# TYPE ").append(ERRORS).append(" counter\n");
+        for (TemplateMetrics.Snapshot snapshot : snapshots) {
+            appendSample(out, ERRORS, snapshot.statement(), null).append(snapshot.errors()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Answers a scrape request with the current metrics.
+     *
+     * @param exchange the HTTP exchange
+     * @throws IOException if writing the response fails
+     */
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream response = exchange.getResponseBody()) {
+                response.write(body);
+            }
+        }
+    }
+
+    private static void appendBucket(StringBuilder out, String statement, Phase phase, String bound, long count) {
+        appendLabels(out.append(DURATION).append("_bucket"), statement, phase);
+        out.setLength(out.length() - 1);
+        out.append(",le=\"").append(bound).append("\"} ").append(count).append('\n');
+    }
+
+    private static StringBuilder appendSample(StringBuilder out, String name, String statement, Phase phase) {
+        return appendLabels(out.append(name), statement, phase).append(' ');
+    }
+
+    private static StringBuilder appendLabels(StringBuilder out, String statement, Phase phase) {
+        out.append("{statement=\"");
+        escape(out, statement);
+        out.append('"');
+        if (phase != null) {
+            out.append(",phase=\"").append(phase.label()).append('"');
+        }
+        return out.append('}');
+    }
+
+    private static void escape(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+}
@@ -0,0 +1,137 @@
+package sqlbuilder.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects latency and throughput metrics per statement template, i.e. per statement text with
+ * placeholders.
+ * <p>
+ * Metrics are opt-in: builders record their build time when {@code useMetrics} was called on them,
+ * and executors record execution and fetch times once {@code setMetrics} was called. Without
+ * metrics, builders and executors only check for a missing registry.
+ * <p>
+ * To keep the number of templates bounded when statements are generated dynamically, templates
+ * beyond the maximum are counted together under {@link #OVERFLOW_STATEMENT}. A registry is
+ * thread-safe and is usually shared by all builders and executors of an application.
+ */
+public class QueryMetrics {
+    /**
+     * The default maximum number of tracked templates.
+     */
+    public static final int DEFAULT_MAXIMUM_TEMPLATES = 1000;
+
+    /**
+     * The statement under which templates beyond the maximum are counted.
+     */
+    public static final String OVERFLOW_STATEMENT = "<other>";
+
+    private final int maximumTemplates;
+    private final ConcurrentMap<String, TemplateMetrics> templates = new ConcurrentHashMap<>();
+    private final AtomicInteger templateCount = new AtomicInteger();
+    private final TemplateMetrics overflow = new TemplateMetrics(OVERFLOW_STATEMENT);
+
+    /**
+     * Constructs a QueryMetrics registry with the default maximum number of templates.
+     */
+    public QueryMetrics() {
+        this(DEFAULT_MAXIMUM_TEMPLATES);
+    }
+
+    /**
+     * Constructs a QueryMetrics registry.
+     *
+     * @param maximumTemplates the maximum number of separately tracked templates
+     * @throws IllegalArgumentException if maximumTemplates is smaller than 1
+     */
+    public QueryMetrics(int maximumTemplates) {
+        if (maximumTemplates < 1) {
+            throw new IllegalArgumentException("maximumTemplates must be at least 1");
+        }
+        this.maximumTemplates = maximumTemplates;
+    }
+
+    /**
+     * Returns the metrics of a statement template, registering it if necessary.
+     *
+     * @param statement the statement text
+     * @return the metrics of the template, or the overflow metrics if the maximum is reached
+     */
+    public TemplateMetrics template(String statement) {
+        TemplateMetrics metrics = templates.get(statement);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (templateCount.get() >= maximumTemplates) {
+            return overflow;
+        }
+        return templates.computeIfAbsent(statement, s -> {
+            templateCount.incrementAndGet();
+            return new TemplateMetrics(s);
+        });
+    }
+
+    /**
+     * Records the latency of a phase.
+     *
+     * @param statement the statement text
+     * @param phase     the phase
+     * @param nanos     the latency in nanoseconds
+     */
+    public void record(String statement, Phase phase, long nanos) {
+        template(statement).latency(phase).record(nanos);
+    }
+
+    /**
+     * Records the latency of fetching rows and the number of rows fetched.
+     *
+     * @param statement the statement text
+     * @param nanos     the latency in nanoseconds
+     * @param rows      the number of rows
+     */
+    public void recordFetch(String statement, long nanos, long rows) {
+        TemplateMetrics metrics = template(statement);
+        metrics.latency(Phase.FETCH).record(nanos);
+        metrics.addRows(rows);
+    }
+
+    /**
+     * Records a failed execution.
+     *
+     * @param statement the statement text
+     */
+    public void recordError(String statement) {
+        template(statement).addError();
+    }
+
+    /**
+     * Returns the current metrics of all templates, the most expensive first by total time.
+     *
+     * @return the snapshots
+     */
+    public List<TemplateMetrics.Snapshot> snapshot() {
+        List<TemplateMetrics.Snapshot> snapshots = new ArrayList<>(templates.size() + 1);
+        for (TemplateMetrics metrics : templates.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        TemplateMetrics.Snapshot other = overflow.snapshot();
+        if (other.totalNanos() > 0 || other.errors() > 0) {
+            snapshots.add(other);
+        }
+        snapshots.sort(Comparator.comparingLong(TemplateMetrics.Snapshot::totalNanos).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Returns the number of separately tracked templates.
+     *
+     * @return the template count
+     */
+    public int getTemplateCount() {
+        return templateCount.get();
+    }
+}
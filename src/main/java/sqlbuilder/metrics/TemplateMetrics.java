@@ -0,0 +1,96 @@
+package sqlbuilder.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of one statement template: a latency histogram per {@link Phase}, the number of
+ * fetched rows and the number of failed executions.
+ */
+public final class TemplateMetrics {
+    private final String statement;
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Phase.values().length];
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    TemplateMetrics(String statement) {
+        this.statement = statement;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns the statement text with placeholders.
+     *
+     * @return the statement
+     */
+    public String getStatement() {
+        return statement;
+    }
+
+    /**
+     * Returns the latency histogram of a phase.
+     *
+     * @param phase the phase
+     * @return the histogram
+     */
+    public LatencyHistogram latency(Phase phase) {
+        return latencies[phase.ordinal()];
+    }
+
+    void addRows(long count) {
+        rows.add(count);
+    }
+
+    void addError() {
+        errors.increment();
+    }
+
+    /**
+     * Returns the current values of the metrics.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        Map<Phase, LatencyHistogram.Snapshot> phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, latency(phase).snapshot());
+        }
+        return new Snapshot(statement, phases, rows.sum(), errors.sum());
+    }
+
+    /**
+     * The metrics of a statement template at one point in time.
+     *
+     * @param statement the statement text with placeholders
+     * @param latencies the latency histogram of every phase
+     * @param rows      the number of fetched rows
+     * @param errors    the number of failed executions
+     */
+    public record Snapshot(String statement, Map<Phase, LatencyHistogram.Snapshot> latencies, long rows, long errors) {
+        /**
+         * Returns the latency histogram of a phase.
+         *
+         * @param phase the phase
+         * @return the histogram snapshot
+         */
+        public LatencyHistogram.Snapshot latency(Phase phase) {
+            return latencies.get(phase);
+        }
+
+        /**
+         * Returns the total time spent in all phases.
+         *
+         * @return the sum of all latencies in nanoseconds
+         */
+        public long totalNanos() {
+            long total = 0;
+            for (LatencyHistogram.Snapshot histogram : latencies.values()) {
+                total += histogram.sumNanos();
+            }
+            return total;
+        }
+    }
+}
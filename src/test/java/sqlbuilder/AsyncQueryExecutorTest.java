@@ -0,0 +1,330 @@
+package sqlbuilder;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.H2Dialect;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.execution.AsyncQueryExecutor;
+import sqlbuilder.expressions.Expression;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncQueryExecutorTest {
+    private final SqlDialect dialect = new H2Dialect();
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger maxOpen = new AtomicInteger();
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:async;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS numbers");
+            statement.execute("CREATE TABLE numbers (\"n\" INT PRIMARY KEY)");
+            statement.execute("INSERT INTO numbers SELECT X FROM SYSTEM_RANGE(1, 100)");
+            statement.execute("CREATE ALIAS IF NOT EXISTS PAUSE FOR \"java.lang.Thread.sleep(long)\"");
+        }
+        dataSource = counting(h2);
+    }
+
+    /**
+     * Wraps a data source to track how many of its connections are open at the same time.
+     */
+    private DataSource counting(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (!method.getName().equals("getConnection")) {
+                return result;
+            }
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            Connection connection = (Connection) result;
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (c, m, a) -> {
+                if (m.getName().equals("close") && !connection.isClosed()) {
+                    open.decrementAndGet();
+                }
+                return invoke(connection, m, a);
+            });
+        });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Query number(int n) {
+        return new SelectBuilder(dialect).from("numbers").select("n").where(Expression.eq("n", n)).build();
+    }
+
+    private Query pause(long millis) {
+        Query query = new Query("SELECT PAUSE(?)");
+        query.addParameter(millis);
+        return query;
+    }
+
+    /**
+     * A query that runs for hours, pausing on every row so that, unlike a single PAUSE, it stops
+     * once its statement is cancelled.
+     */
+    private Query spin() {
+        return new Query("SELECT COUNT(PAUSE(10)) FROM SYSTEM_RANGE(1, 1000000)");
+    }
+
+    @Test
+    void testQueryAndUpdate() throws Exception {
+        try (AsyncQueryExecutor executor = new AsyncQueryExecutor(dataSource)) {
+            CompletableFuture<Integer> deleted = executor.update(
+                    new DeleteBuilder(dialect).from("numbers").where(Expression.gt("n", 90)).build());
+            assertEquals(10, deleted.get());
+
+            List<Integer> rows = executor.query(new SelectBuilder(dialect).from("numbers").select("n")
+                    .where(Expression.gt("n", 85)).orderBy("n").asc().build(), rs -> rs.getInt(1)).get();
+            assertEquals(List.of(86, 87, 88, 89, 90), rows);
+        }
+        assertEquals(0, open.get());
+    }
+
+    @Test
+    void testGroupRunsConcurrentlyWithinCap() throws Exception {
+        try (AsyncQueryExecutor executor = new AsyncQueryExecutor(dataSource, 4);
+             AsyncQueryExecutor.Group group = executor.group(Duration.ofSeconds(30))) {
+            List<CompletableFuture<List<Integer>>> results = new ArrayList<>();
+            for (int n = 1; n <= 20; n++) {
+                results.add(group.query(number(n), rs -> rs.getInt(1)));
+            }
+            for (int i = 0; i < 8; i++) {
+                group.query(pause(50), rs -> null);
+            }
+            group.join();
+
+            for (int n = 1; n <= 20; n++) {
+                assertEquals(List.of(n), results.get(n - 1).join());
+            }
+            assertEquals(4, maxOpen.get());
+            assertEquals(0, executor.getActiveCount());
+            assertThrows(IllegalStateException.class, () -> group.query(number(1), rs -> 1));
+        }
+        assertEquals(0, open.get());
+    }
+
+    @Test
+    void testFailureCancelsSiblings() throws InterruptedException {
+        long start = System.nanoTime();
+        try (AsyncQueryExecutor executor = new AsyncQueryExecutor(dataSource, 4);
+             AsyncQueryExecutor.Group group = executor.group(Duration.ofSeconds(30))) {
+            List<CompletableFuture<List<Object>>> spins = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                spins.add(group.query(spin(), rs -> null));
+            }
+            while (executor.getActiveCount() < 3) {
+                Thread.sleep(5);
+            }
+            group.query(new Query("SELECT * FROM missing"), rs -> null);
+            for (int i = 0; i < 2; i++) {
+                spins.add(group.query(spin(), rs -> null));
+            }
+
+            CompletionException failure = assertThrows(CompletionException.class, group::join);
+            assertInstanceOf(SQLException.class, failure.getCause());
+            for (CompletableFuture<List<Object>> spin : spins) {
+                assertTrue(spin.isCancelled());
+                assertThrows(CancellationException.class, spin::join);
+            }
+        }
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 10);
+        assertEquals(0, open.get());
+    }
+
+    @Test
+    void testSharedDeadline() {
+        long start = System.nanoTime();
+        try (AsyncQueryExecutor executor = new AsyncQueryExecutor(dataSource);
+             AsyncQueryExecutor.Group group = executor.group(Duration.ofSeconds(1))) {
+            CompletableFuture<List<Integer>> fast = group.query(number(7), rs -> rs.getInt(1));
+            CompletableFuture<List<Object>> slow = group.query(spin(), rs -> null);
+
+            CompletionException failure = assertThrows(CompletionException.class, group::join);
+            assertInstanceOf(TimeoutException.class, failure.getCause());
+            assertEquals(List.of(7), fast.join());
+            ExecutionException timeout = assertThrows(ExecutionException.class, slow::get);
+            assertInstanceOf(TimeoutException.class, timeout.getCause());
+        }
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 10);
+        assertEquals(0, open.get());
+    }
+
+    @Test
+    void testCloseCancelsUnjoinedQueries() {
+        CompletableFuture<List<Object>> slow;
+        try (AsyncQueryExecutor executor = new AsyncQueryExecutor(dataSource)) {
+            try (AsyncQueryExecutor.Group group = executor.group(Duration.ofSeconds(30))) {
+                slow = group.query(spin(), rs -> null);
+            }
+            assertTrue(slow.isCancelled());
+            assertEquals(0, executor.getActiveCount());
+        }
+        assertEquals(0, open.get());
+    }
+
+    /**
+     * Records the signals of a subscription.
+     */
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> items = new CopyOnWriteArrayList<>();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+
+        void awaitItems(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (items.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    private Query numbers() {
+        return new SelectBuilder(dialect).from("numbers").select("n").orderBy("n").asc().build();
+    }
+
+    @Test
+    void testPublisherReadsOnlyRequestedRows() throws InterruptedException {
+        try (AsyncQueryExecutor executor = new AsyncQueryExecutor(dataSource)) {
+            RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+            executor.publish(numbers(), rs -> rs.getInt(1)).subscribe(subscriber);
+            assertEquals(0, open.get());
+
+            subscriber.subscription.request(3);
+            subscriber.awaitItems(3);
+            Thread.sleep(50);
+            assertEquals(List.of(1, 2, 3), subscriber.items);
+            assertEquals(1, open.get());
+            assertEquals(1, executor.getActiveCount());
+
+            subscriber.subscription.request(2);
+            subscriber.awaitItems(5);
+            Thread.sleep(50);
+            assertEquals(List.of(1, 2, 3, 4, 5), subscriber.items);
+
+            subscriber.subscription.cancel();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (open.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(0, open.get());
+            assertEquals(0, executor.getActiveCount());
+            assertFalse(subscriber.completed);
+        }
+    }
+
+    @Test
+    void testPublisherCompletes() throws InterruptedException {
+        try (AsyncQueryExecutor executor = new AsyncQueryExecutor(dataSource)) {
+            Flow.Publisher<Integer> publisher = executor.publish(numbers(), rs -> rs.getInt(1));
+            RecordingSubscriber<Integer> unbounded = new RecordingSubscriber<>();
+            publisher.subscribe(unbounded);
+            unbounded.subscription.request(Long.MAX_VALUE);
+            assertTrue(unbounded.terminated.await(10, TimeUnit.SECONDS));
+            assertTrue(unbounded.completed);
+            assertEquals(100, unbounded.items.size());
+
+            // every subscription executes the query again; a request from onNext continues the read
+            RecordingSubscriber<Integer> oneByOne = new RecordingSubscriber<>() {
+                @Override
+                public void onNext(Integer item) {
+                    super.onNext(item);
+                    subscription.request(1);
+                }
+            };
+            publisher.subscribe(oneByOne);
+            oneByOne.subscription.request(1);
+            assertTrue(oneByOne.terminated.await(10, TimeUnit.SECONDS));
+            assertEquals(unbounded.items, oneByOne.items);
+        }
+        assertEquals(0, open.get());
+    }
+
+    @Test
+    void testPublisherCompletesWhenExactlyAllRowsAreRequested() throws InterruptedException {
+        try (AsyncQueryExecutor executor = new AsyncQueryExecutor(dataSource)) {
+            RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+            executor.publish(numbers(), rs -> rs.getInt(1)).subscribe(subscriber);
+
+            subscriber.subscription.request(60);
+            subscriber.awaitItems(60);
+            subscriber.subscription.request(40);
+            assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+            assertTrue(subscriber.completed);
+            assertEquals(100, subscriber.items.size());
+            assertEquals(0, open.get());
+            assertEquals(0, executor.getActiveCount());
+        }
+    }
+
+    @Test
+    void testPublisherSignalsErrors() throws InterruptedException {
+        try (AsyncQueryExecutor executor = new AsyncQueryExecutor(dataSource)) {
+            RecordingSubscriber<Object> missing = new RecordingSubscriber<>();
+            executor.publish(new Query("SELECT * FROM missing"), rs -> rs.getObject(1)).subscribe(missing);
+            missing.subscription.request(1);
+            assertTrue(missing.terminated.await(10, TimeUnit.SECONDS));
+            assertInstanceOf(SQLException.class, missing.error);
+
+            RecordingSubscriber<Integer> invalid = new RecordingSubscriber<>();
+            executor.publish(numbers(), rs -> rs.getInt(1)).subscribe(invalid);
+            invalid.subscription.request(0);
+            assertTrue(invalid.terminated.await(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, invalid.error);
+            assertEquals(0, executor.getActiveCount());
+        }
+        assertEquals(0, open.get());
+    }
+}
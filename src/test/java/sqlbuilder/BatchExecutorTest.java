@@ -0,0 +1,117 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.H2Dialect;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.execution.BatchExecutor;
+import sqlbuilder.execution.BatchResult;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.expressions.Expression;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchExecutorTest {
+    private final SqlDialect dialect = new H2Dialect();
+    private Connection connection;
+    private QueryExecutor executor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS users");
+            statement.execute("CREATE TABLE users (\"id\" INT PRIMARY KEY, \"name\" VARCHAR(100))");
+        }
+        executor = new QueryExecutor(connection);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.close();
+        connection.close();
+    }
+
+    private InsertBuilder insert(int id) {
+        return new InsertBuilder(dialect).into("users").value("id", id).value("name", "user" + id);
+    }
+
+    private int countUsers() throws SQLException {
+        try (ResultSet rs = executor.executeQuery(new SelectBuilder(dialect).select("COUNT(*)").from("users").build())) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void testGroupsQueriesIntoBatches() throws SQLException {
+        try (BatchExecutor batch = new BatchExecutor(executor, 4)) {
+            for (int id = 0; id < 10; id++) {
+                batch.add(insert(id).build());
+            }
+            assertEquals(2, batch.getPendingCount());
+            assertEquals(2, batch.getResults().size());
+        }
+
+        assertEquals(1, executor.getMissCount());
+        assertEquals(10, countUsers());
+    }
+
+    @Test
+    void testFlushesWhenStatementChanges() throws SQLException {
+        BatchExecutor batch = new BatchExecutor(executor);
+        batch.add(insert(1));
+        batch.add(insert(2));
+        batch.add(new UpdateBuilder(dialect).table("users").set("name", "renamed").where(Expression.eq("id", 1)));
+        batch.add(new DeleteBuilder(dialect).from("users").where(Expression.eq("id", 2)));
+        batch.close();
+
+        List<BatchResult> results = batch.getResults();
+        assertEquals(3, results.size());
+        assertArrayEquals(new int[]{1, 1}, results.get(0).getUpdateCounts());
+        assertTrue(results.get(1).getStatement().startsWith("UPDATE"));
+        assertEquals(1, results.get(2).getUpdateCount());
+        assertFalse(batch.hasFailures());
+        assertEquals(1, countUsers());
+    }
+
+    @Test
+    void testReportsFailures() throws SQLException {
+        BatchExecutor batch = new BatchExecutor(executor);
+        batch.add(insert(1));
+        batch.add(insert(1));
+        BatchResult failed = batch.flush();
+
+        assertFalse(failed.isSuccessful());
+        assertNotNull(failed.getFailure());
+        assertTrue(batch.hasFailures());
+
+        batch.add(insert(2));
+        assertTrue(batch.flush().isSuccessful());
+        assertNull(batch.flush());
+    }
+
+    @Test
+    void testWithoutStatementCache() throws SQLException {
+        try (QueryExecutor uncached = new QueryExecutor(connection, 0);
+             BatchExecutor batch = new BatchExecutor(uncached)) {
+            batch.add(insert(1));
+            batch.add(insert(2));
+            assertEquals(2, batch.flush().getUpdateCount());
+        }
+        assertEquals(2, countUsers());
+    }
+
+    @Test
+    void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchExecutor(executor, 0));
+    }
+}
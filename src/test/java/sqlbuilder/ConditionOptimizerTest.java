@@ -0,0 +1,173 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.H2Dialect;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.expressions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionOptimizerTest {
+    private final SqlDialect dialect = new H2Dialect();
+    private final ConditionOptimizer optimizer = ConditionOptimizer.defaults();
+
+    private String optimized(Condition condition) {
+        return optimizer.optimize(condition).toSql(dialect);
+    }
+
+    @Test
+    void testOrEqualitiesBecomeInList() {
+        Condition condition = Expression.eq("a", 1).or().eq("a", 2).or().eq("b", 3).or().in("a", 2, 4);
+        Condition result = optimizer.optimize(condition);
+        assertEquals("\"a\" IN (?, ?, ?) OR \"b\" = ?", result.toSql(dialect));
+        assertEquals(List.of(1, 2, 4, 3), result.getParameters());
+    }
+
+    @Test
+    void testSingleValueInBecomesComparison() {
+        assertEquals("\"a\" = ?", optimized(Expression.in("a", 1)));
+        assertEquals("\"a\" <> ?", optimized(Expression.notIn("a", 1)));
+        assertEquals("\"a\" = ?", optimized(Expression.eq("a", 1).or().eq("a", 1)));
+    }
+
+    @Test
+    void testNotIsPushedInward() {
+        assertEquals("\"a\" = ?", optimized(Expression.not(Expression.not(Expression.eq("a", 1)))));
+        assertEquals("\"a\" <> ? AND \"b\" IS NOT NULL AND \"c\" NOT IN (?, ?)",
+                optimized(Expression.not(Expression.brackets(Expression.eq("a", 1).or().isNull("b").or().in("c", 1, 2)))));
+        assertEquals("\"a\" >= ? OR \"b\" NOT LIKE ?",
+                optimized(Expression.not(Expression.brackets(Expression.lt("a", 1).and().like("b", "x%")))));
+    }
+
+    @Test
+    void testConditionsAreReadAsTheirSql() {
+        // renders as a OR b AND c, which the database reads as a OR (b AND c)
+        Condition chain = Expression.eq("a", 1).or().eq("b", 2).and().eq("c", 3);
+        assertEquals(chain.toSql(dialect), optimized(chain));
+
+        // NOT only negates the first term of an unbracketed composite
+        Condition not = Expression.not(Expression.eq("a", 1).and().eq("b", 2));
+        assertEquals("\"a\" <> ? AND \"b\" = ?", optimized(not));
+
+        Condition grouped = Expression.brackets(Expression.eq("a", 1).or().eq("b", 2)).and().eq("c", 3);
+        assertEquals("(\"a\" = ? OR \"b\" = ?) AND \"c\" = ?", optimized(grouped));
+    }
+
+    @Test
+    void testDuplicatesAndTautologiesAreRemoved() {
+        assertEquals("\"a\" = ? AND \"b\" = ?", optimized(Expression.eq("a", 1).and().eq("b", 2).and().eq("a", 1)));
+        assertEquals("\"b\" = ?", optimized(Expression.brackets(Expression.isNull("a").or().isNotNull("a")).and().eq("b", 2)));
+        assertNull(optimizer.optimize(Expression.isNull("a").or().eq("b", 1).or().isNotNull("a")));
+
+        // equal values in different operands are not duplicates
+        assertEquals("\"a\" = ? AND \"a\" = ?", optimized(Expression.eq("a", 1).and().eq("a", 1L)));
+    }
+
+    @Test
+    void testUnknownStructuresAndCustomRules() {
+        Condition xor = new CompositeCondition("XOR", Expression.eq("a", 1), Expression.eq("a", 2));
+        assertSame(xor, optimizer.optimize(xor));
+        Condition unknown = new CompositeCondition("OR", xor, Expression.eq("a", 3));
+        assertSame(unknown, optimizer.optimize(unknown));
+
+        ConditionOptimizer.Rule likeToEquals = condition -> condition instanceof ComparisonCondition comparison
+                && comparison.getOperator().equals("LIKE")
+                ? new ComparisonCondition(comparison.getColumn(), "=", comparison.getComparisonValue()) : condition;
+        ConditionOptimizer custom = new ConditionOptimizer(List.of(ConditionOptimizer.FLATTEN)).with(likeToEquals);
+        assertEquals("\"a\" = ? OR \"b\" = ?", custom.optimize(Expression.like("a", "x").or().eq("b", 1)).toSql(dialect));
+        assertThrows(IllegalArgumentException.class, () -> ConditionOptimizer.defaults().with(null));
+    }
+
+    @Test
+    void testBuildersOptimizeWhereAndHaving() {
+        Query query = new SelectBuilder(dialect).optimizeConditions(optimizer).from("users")
+                .where(Expression.brackets(Expression.eq("status", "a").or().eq("status", "b")))
+                .where(Expression.not(Expression.in("id", 7)))
+                .groupBy("status")
+                .having(Expression.isNull("status").or().isNotNull("status"))
+                .build();
+        assertEquals("SELECT * FROM users WHERE \"status\" IN (?, ?) AND \"id\" <> ? GROUP BY \"status\"", query.getStatement());
+        assertEquals(List.of("a", "b", 7), query.getParameters());
+
+        StatementCache cache = new StatementCache(10);
+        SelectBuilder cached = new SelectBuilder(dialect).useStatementCache(cache).optimizeConditions(optimizer)
+                .from("users").where(Expression.eq("id", 1).or().eq("id", 2));
+        cached.build();
+        assertEquals(List.of(1, 2), cached.build().getParameters());
+        assertEquals(1, cache.getHitCount());
+
+        Query delete = new DeleteBuilder(dialect).optimizeConditions(optimizer).from("users")
+                .where(Expression.eq("id", 1).or().eq("id", 1)).build();
+        assertEquals("DELETE FROM users WHERE \"id\" = ?", delete.getStatement());
+    }
+
+    @Test
+    void testConditionsAreOptimizedOncePerBuild() {
+        AtomicInteger calls = new AtomicInteger();
+        ConditionOptimizer counting = optimizer.with(condition -> {
+            calls.incrementAndGet();
+            return condition;
+        });
+        Condition where = Expression.brackets(Expression.eq("id", 1).or().eq("id", 2));
+        Condition having = Expression.isNotNull("status");
+        counting.optimize(where);
+        counting.optimize(having);
+        int perBuild = calls.getAndSet(0);
+
+        SelectBuilder builder = new SelectBuilder(dialect).optimizeConditions(counting).from("users")
+                .where(where).groupBy("status").having(having);
+        builder.build();
+        assertEquals(perBuild, calls.getAndSet(0));
+        builder.build();
+        builder.countParameters();
+        assertEquals(0, calls.get());
+
+        builder.where(Expression.eq("name", "x"));
+        Query query = builder.build();
+        assertEquals("SELECT * FROM users WHERE \"id\" IN (?, ?) AND \"name\" = ? GROUP BY \"status\" HAVING \"status\" IS NOT NULL",
+                query.getStatement());
+        assertTrue(calls.get() > 0);
+
+        DeleteBuilder delete = new DeleteBuilder(dialect).optimizeConditions(counting).from("users").where(where);
+        assertEquals("DELETE FROM users WHERE \"id\" IN (?, ?)", delete.build().getStatement());
+        delete.where(Expression.eq("name", "x"));
+        assertEquals("DELETE FROM users WHERE \"id\" IN (?, ?) AND \"name\" = ?", delete.build().getStatement());
+    }
+
+    @Test
+    void testOptimizedConditionsSelectTheSameRows() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:optimizer");
+             QueryExecutor executor = new QueryExecutor(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE t (\"id\" INT PRIMARY KEY, \"a\" INT, \"b\" VARCHAR(10))");
+                statement.execute("INSERT INTO t VALUES (1, 1, 'x'), (2, 2, NULL), (3, NULL, 'y'), (4, 3, 'xy'), (5, NULL, NULL)");
+            }
+            List<Condition> conditions = List.of(
+                    Expression.eq("a", 1).or().eq("b", "y").and().eq("a", 2),
+                    Expression.not(Expression.eq("a", 1).or().eq("a", 2)),
+                    Expression.not(Expression.brackets(Expression.eq("a", 1).or().isNull("b"))),
+                    Expression.not(Expression.brackets(Expression.lt("a", 3).and().like("b", "x%"))),
+                    Expression.not(Expression.notIn("a", 1, 3)),
+                    Expression.isNull("a").or().isNotNull("a").or().eq("b", "x"),
+                    Expression.brackets(Expression.eq("a", 1).or().eq("a", 3)).and().not(Expression.in("b", "x")));
+            for (Condition condition : conditions) {
+                assertEquals(ids(executor, condition, null), ids(executor, condition, optimizer), condition.toSql(dialect));
+            }
+        }
+    }
+
+    private List<Integer> ids(QueryExecutor executor, Condition condition, ConditionOptimizer optimizer) throws SQLException {
+        Query query = new SelectBuilder(dialect).optimizeConditions(optimizer).select("id").from("t")
+                .where(condition).orderBy("id").asc().build();
+        return new ArrayList<>(executor.query(query, rs -> rs.getInt(1)));
+    }
+}
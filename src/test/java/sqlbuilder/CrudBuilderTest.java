@@ -5,6 +5,11 @@ import sqlbuilder.dialects.SqlDialect;
 import sqlbuilder.dialects.*;
 import sqlbuilder.expressions.Expression;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CrudBuilderTest {
@@ -146,4 +151,89 @@ class CrudBuilderTest {
         UpdateBuilder builder = new UpdateBuilder(new OracleDialect());
         assertThrows(sqlbuilder.exceptions.ValueCannotBeEmptyException.class, () -> builder.set("", "value"));
     }
+
+    private static Iterator<List<Object>> rows(int count) {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(List.of(i, "user" + i, i % 2 == 0));
+        }
+        return rows.iterator();
+    }
+
+    private static List<Query> drain(Iterator<Query> queries) {
+        List<Query> result = new ArrayList<>();
+        queries.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    void testMultiRowInsert() {
+        List<Query> queries = drain(new InsertBuilder(new PostgresDialect())
+                .into("USERS")
+                .columns("ID", "NAME", "ACTIVE")
+                .buildRows(rows(2)));
+
+        assertEquals(1, queries.size());
+        assertEquals("INSERT INTO USERS (\"ID\", \"NAME\", \"ACTIVE\") VALUES (?, ?, ?), (?, ?, ?)", queries.get(0).getStatement());
+        assertEquals(List.of(0, "user0", true, 1, "user1", false), queries.get(0).getParameters());
+    }
+
+    @Test
+    void testMultiRowInsertChunksByParameterLimit() {
+        List<Query> queries = drain(new InsertBuilder(new MsSQLDialect())
+                .into("USERS")
+                .columns("ID", "NAME", "ACTIVE")
+                .buildRows(rows(1500)));
+
+        assertEquals(3, queries.size());
+        assertEquals(2100, queries.get(0).getParameterCount());
+        assertSame(queries.get(0).getStatement(), queries.get(1).getStatement());
+        assertEquals(300, queries.get(2).getParameterCount());
+        assertEquals(699 * 3, queries.get(1).getParameters().indexOf(1399));
+    }
+
+    @Test
+    void testMultiRowInsertChunksByRowLimit() {
+        List<Query> queries = drain(new InsertBuilder(new MsSQLDialect())
+                .into("USERS")
+                .columns("ID")
+                .buildRows(IntStream.range(0, 2001).mapToObj(i -> List.<Object>of(i)).iterator()));
+
+        assertEquals(List.of(1000, 1000, 1), queries.stream().map(Query::getParameterCount).toList());
+    }
+
+    @Test
+    void testMultiRowInsertAll() {
+        List<Query> queries = drain(new InsertBuilder(new OracleDialect(), "APP")
+                .into("USERS")
+                .columns("ID", "NAME", "ACTIVE")
+                .buildRows(rows(2)));
+
+        assertEquals("INSERT ALL INTO APP.USERS (\"ID\", \"NAME\", \"ACTIVE\") VALUES (?, ?, ?)"
+                + " INTO APP.USERS (\"ID\", \"NAME\", \"ACTIVE\") VALUES (?, ?, ?) SELECT 1 FROM DUAL", queries.get(0).getStatement());
+        assertEquals(6, queries.get(0).getParameterCount());
+    }
+
+    @Test
+    void testMultiRowInsertAllChunksByValueLimit() {
+        List<Query> queries = drain(new InsertBuilder(new OracleDialect())
+                .into("USERS")
+                .columns("ID", "NAME", "ACTIVE")
+                .buildRows(rows(3000)));
+
+        assertEquals(10, queries.size());
+        assertEquals(999, queries.get(0).getParameterCount());
+        assertEquals(333, queries.get(0).getStatement().split(" INTO ").length - 1);
+        assertEquals(3000 * 3 - 9 * 999, queries.get(9).getParameterCount());
+    }
+
+    @Test
+    void testMultiRowInsertValidation() {
+        assertThrows(IllegalStateException.class, () -> new InsertBuilder(new H2Dialect()).into("USERS").buildRows(rows(1)));
+        assertThrows(IllegalStateException.class, () -> new InsertBuilder(new H2Dialect()).columns("ID").buildRows(rows(1)));
+
+        Iterator<Query> queries = new InsertBuilder(new H2Dialect()).into("USERS").columns("ID", "NAME")
+                .buildRows(rows(1));
+        assertThrows(IllegalArgumentException.class, queries::next);
+    }
 }
@@ -8,46 +8,110 @@ import sqlbuilder.exceptions.ValueCannotBeEmptyException;
 import java.util.Collections;
 import java.util.Set;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 class DialectTest {
 
     @Test
     void testPostgresDialect() {
         SqlDialect dialect = new PostgresDialect();
-        assertEquals("LIMIT 10 OFFSET 5", dialect.applyPaging(10, 5));
+        assertEquals("LIMIT ? OFFSET ?", dialect.applyPaging(10, 5));
+        assertArrayEquals(new Object[]{10, 5}, dialect.getPagingParameters(10, 5));
         assertEquals("\"user\"", dialect.quote("user"));
     }
 
     @Test
     void testOracleDialect() {
-        SqlDialect dialect = new OracleDialect();
-        assertEquals("LIMIT 10 OFFSET 5", dialect.applyPaging(10, 5));
+        AbstractSqlDialect dialect = new OracleDialect();
+        assertEquals("OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", dialect.applyPaging(10, 5));
+        assertArrayEquals(new Object[]{5, 10}, dialect.getPagingParameters(10, 5));
+        assertEquals("FETCH FIRST ? ROWS ONLY", dialect.applyPaging(10, 0));
+        assertArrayEquals(new Object[]{10}, dialect.getPagingParameters(10, 0));
+
+        dialect.setPagingParameters(false);
+        assertEquals("OFFSET 5 ROWS FETCH NEXT 10 ROWS ONLY", dialect.applyPaging(10, 5));
+        assertEquals("FETCH FIRST 10 ROWS ONLY", dialect.applyPaging(10, 0));
+    }
+
+    @Test
+    void testPagingParameterCountMatchesParameters() {
+        for (AbstractSqlDialect dialect : new AbstractSqlDialect[]{new PostgresDialect(), new H2Dialect(),
+                new OracleDialect(), new DB2Dialect(), new MsSQLDialect()}) {
+            for (boolean bound : new boolean[]{true, false}) {
+                dialect.setPagingParameters(bound);
+                for (int offset : new int[]{0, 5}) {
+                    assertEquals(dialect.getPagingParameters(10, offset).length, dialect.getPagingParameterCount(10, offset),
+                            dialect.getClass().getSimpleName());
+                }
+            }
+        }
     }
 
     @Test
     void testH2Dialect() {
-        SqlDialect dialect = new H2Dialect();
+        AbstractSqlDialect dialect = new H2Dialect();
+        assertEquals("LIMIT ? OFFSET ?", dialect.applyPaging(10, 5));
+
+        dialect.setPagingParameters(false);
         assertEquals("LIMIT 10 OFFSET 5", dialect.applyPaging(10, 5));
+        assertEquals(0, dialect.getPagingParameters(10, 5).length);
     }
 
     @Test
     void testMsSQLDialect() {
-        SqlDialect dialect = new MsSQLDialect();
-        assertEquals("", dialect.applyPaging(10, 5)); // Current placeholder behavior
+        AbstractSqlDialect dialect = new MsSQLDialect();
+        assertTrue(dialect.requiresOrderByForPaging());
+        assertEquals("TOP (?)", dialect.applyTop(10, 0));
+        assertNull(dialect.applyTop(10, 5));
+        assertEquals("OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", dialect.applyPaging(10, 5));
+
+        dialect.setPagingParameters(false);
+        assertEquals("TOP (10)", dialect.applyTop(10, 0));
     }
 
     @Test
     void testDB2Dialect() {
         SqlDialect dialect = new DB2Dialect();
-        assertEquals("", dialect.applyPaging(10, 5));
+        assertEquals("OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", dialect.applyPaging(10, 5));
+        assertEquals("FETCH FIRST ? ROWS ONLY", dialect.applyPaging(10, 0));
+        assertNull(dialect.applyTop(10, 0));
         
         Set<String> context = Set.of("users");
         assertEquals("id", dialect.formatTableIdentifier("users.id", context));
         assertEquals("other.id", dialect.formatTableIdentifier("other.id", context));
     }
 
+    @Test
+    void testQuoteQualifiedIdentifiers() {
+        SqlDialect dialect = new H2Dialect();
+        assertEquals("\"u\".\"id\"", dialect.quote("u.id"));
+        assertEquals("\"s\".\"u\".\"id\"", dialect.quote("s.u.id"));
+        assertEquals("\"u\".*", dialect.quote("u.*"));
+        assertEquals("\"u\"", dialect.quote("u."));
+        assertEquals("COUNT(u.id)", dialect.quote("COUNT(u.id)"));
+        assertEquals("*", dialect.quote("*"));
+        assertNull(dialect.quote(null));
+    }
+
+    @Test
+    void testQuoteCacheIsBounded() {
+        AbstractSqlDialect dialect = new PostgresDialect();
+        String first = dialect.quote("u.name");
+        assertSame(first, dialect.quote("u.name"));
+
+        AbstractSqlDialect small = new AbstractSqlDialect(2) {
+            @Override
+            public String applyPaging(int limit, int offset) {
+                return "";
+            }
+        };
+        small.quote("a");
+        small.quote("b");
+        small.quote("c");
+        assertEquals(2, small.getCachedIdentifierCount());
+        assertEquals("\"c\"", small.quote("c"));
+    }
+
     @Test
     void testDB2DialectExceptions() {
          DB2Dialect dialect = new DB2Dialect();
@@ -0,0 +1,86 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.dialects.*;
+import sqlbuilder.exceptions.ValueCannotBeEmptyException;
+import sqlbuilder.expressions.Expression;
+import sqlbuilder.identifiers.Identifier;
+import sqlbuilder.identifiers.Table;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentifierTest {
+    private static final Table USERS = Table.of("users", "u");
+    private static final Identifier USER_ID = USERS.column("id");
+    private static final Identifier USER_NAME = USERS.column("name");
+    private static final Table ORDERS = Table.of("orders", "o");
+    private static final Identifier ORDER_USER_ID = ORDERS.column("user_id");
+
+    private final SqlDialect dialect = new PostgresDialect();
+
+    @Test
+    void testQuotedFormIsReused() {
+        Identifier identifier = Identifier.of("u", "name");
+        String quoted = identifier.quoted(dialect);
+
+        assertEquals("\"u\".\"name\"", quoted);
+        assertSame(quoted, identifier.quoted(new PostgresDialect()));
+        assertEquals(quoted, identifier.quoted(new H2Dialect()));
+    }
+
+    @Test
+    void testTableColumns() {
+        assertEquals("u.id", USER_ID.getName());
+        assertEquals("orders.id", Table.of("orders").column("id").getName());
+        assertNull(Table.of("orders", " ").getAlias());
+    }
+
+    @Test
+    void testDeclaredIdentifiersRenderLikeStrings() {
+        Query declared = new SelectBuilder(dialect)
+                .select(USER_ID, USER_NAME)
+                .from(USERS)
+                .leftJoin(ORDERS, Expression.eq(USER_ID, Expression.column(ORDER_USER_ID)))
+                .where(Expression.eq(USER_NAME, "John").and().in(USER_ID, 1, 2).and().isNotNull(ORDER_USER_ID))
+                .groupBy(USER_ID, USER_NAME)
+                .orderBy(USER_NAME).asc()
+                .build();
+        Query strings = new SelectBuilder(dialect)
+                .select("u.id", "u.name")
+                .from("users", "u")
+                .leftJoin("orders", "o", Expression.eq("u.id", Expression.column("o.user_id")))
+                .where(Expression.eq("u.name", "John").and().in("u.id", 1, 2).and().isNotNull("o.user_id"))
+                .groupBy("u.id", "u.name")
+                .orderBy("u.name").asc()
+                .build();
+
+        assertEquals(strings.getStatement(), declared.getStatement());
+        assertEquals(List.of("John", 1, 2), declared.getParameters());
+    }
+
+    @Test
+    void testDeclaredColumnsInWriteBuilders() {
+        Query insert = new InsertBuilder(dialect).into("users").value(Identifier.of("name"), "John").build();
+        Query update = new UpdateBuilder(dialect).table("users").set(Identifier.of("name"), "Jane").build();
+
+        assertEquals("INSERT INTO users (\"name\") VALUES (?)", insert.getStatement());
+        assertEquals("UPDATE users SET \"name\" = ?", update.getStatement());
+    }
+
+    @Test
+    void testEmptyIdentifierFails() {
+        assertThrows(ValueCannotBeEmptyException.class, () -> Identifier.of(" "));
+        assertThrows(ValueCannotBeEmptyException.class, () -> Table.of(null));
+    }
+
+    @Test
+    void testStringColumnsAreNotValidated() {
+        assertEquals(" IS NULL", new sqlbuilder.expressions.NullCondition("").toSql(dialect));
+        assertEquals("null = ?", Expression.eq((String) null, 1).toSql(dialect));
+        assertEquals("  IN (?)", Expression.in(" ", 1).toSql(dialect));
+        assertEquals(Identifier.unchecked(null), Identifier.unchecked(null));
+    }
+}
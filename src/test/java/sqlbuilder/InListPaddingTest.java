@@ -0,0 +1,121 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.H2Dialect;
+import sqlbuilder.dialects.InListPadding;
+import sqlbuilder.dialects.PostgresDialect;
+import sqlbuilder.expressions.Expression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InListPaddingTest {
+
+    @Test
+    void testNoPaddingByDefault() {
+        Query query = new SelectBuilder(new H2Dialect()).from("users").where(Expression.in("id", 1, 2, 3)).build();
+
+        assertEquals("SELECT * FROM users WHERE \"id\" IN (?, ?, ?)", query.getStatement());
+        assertEquals(List.of(1, 2, 3), query.getParameters());
+    }
+
+    @Test
+    void testPowerOfTwoSizes() {
+        InListPadding padding = InListPadding.powerOfTwo();
+
+        assertEquals(1, padding.paddedSize(1));
+        assertEquals(4, padding.paddedSize(3));
+        assertEquals(8, padding.paddedSize(8));
+        assertEquals(1024, padding.paddedSize(1000));
+    }
+
+    @Test
+    void testBucketSizes() {
+        InListPadding padding = InListPadding.buckets(100, 10, 50);
+
+        assertEquals(10, padding.paddedSize(1));
+        assertEquals(50, padding.paddedSize(11));
+        assertEquals(100, padding.paddedSize(100));
+        assertEquals(300, padding.paddedSize(201));
+        assertThrows(IllegalArgumentException.class, InListPadding::buckets);
+        assertThrows(IllegalArgumentException.class, () -> InListPadding.buckets(0, 10));
+    }
+
+    @Test
+    void testBuilderPaddingRepeatsLastValue() {
+        Query query = new SelectBuilder(new H2Dialect())
+                .from("users")
+                .where(Expression.notIn("id", 1, 2, 3))
+                .inListPadding(InListPadding.powerOfTwo())
+                .build();
+
+        assertEquals("SELECT * FROM users WHERE \"id\" NOT IN (?, ?, ?, ?)", query.getStatement());
+        assertEquals(List.of(1, 2, 3, 3), query.getParameters());
+    }
+
+    @Test
+    void testDialectPaddingAndBuilderOverride() {
+        PostgresDialect dialect = new PostgresDialect();
+        dialect.setInListPadding(InListPadding.buckets(5));
+
+        Query padded = new DeleteBuilder(dialect).from("users").where(Expression.in("id", 1, 2)).build();
+        assertEquals(5, padded.getParameterCount());
+
+        Query unpadded = new DeleteBuilder(dialect).from("users").where(Expression.in("id", 1, 2))
+                .inListPadding(InListPadding.NONE)
+                .build();
+        assertEquals(2, unpadded.getParameterCount());
+    }
+
+    @Test
+    void testCountAndCollectIncludePaddedValues() {
+        SelectBuilder builder = new SelectBuilder(new H2Dialect())
+                .from("users")
+                .where(Expression.in("id", 1, 2, 3))
+                .inListPadding(InListPadding.powerOfTwo());
+        Query query = builder.build();
+        List<Object> collected = new ArrayList<>();
+        builder.collectParameters(collected::add);
+
+        assertEquals(4, placeholders(query.getStatement()));
+        assertEquals(4, builder.countParameters());
+        assertEquals(List.of(1, 2, 3, 3), collected);
+        assertEquals(query.getParameters(), collected);
+
+        PostgresDialect dialect = new PostgresDialect();
+        dialect.setInListPadding(InListPadding.buckets(4));
+        SelectBuilder subQuery = new SelectBuilder(new H2Dialect()).select("user_id").from("orders")
+                .where(Expression.in("status", "a", "b"));
+        var condition = Expression.exists(subQuery).and().in("id", 1, 2, 3);
+
+        assertEquals(8, placeholders(condition.toSql(dialect)));
+        assertEquals(List.of("a", "b", "b", "b", 1, 2, 3, 3), condition.getParameters(dialect));
+        assertEquals(List.of("a", "b", 1, 2, 3), condition.getParameters());
+    }
+
+    private static int placeholders(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+
+    @Test
+    void testPaddingReducesDistinctShapes() {
+        InListPadding padding = InListPadding.powerOfTwo();
+        StatementCache cache = new StatementCache(16);
+        H2Dialect dialect = new H2Dialect();
+        for (int size = 1; size <= 16; size++) {
+            Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = i;
+            }
+            new SelectBuilder(dialect).from("users").where(Expression.in("id", values))
+                    .inListPadding(padding)
+                    .useStatementCache(cache)
+                    .build();
+        }
+
+        assertEquals(5, padding.getDistinctShapeCount());
+        assertEquals(5, cache.size());
+    }
+}
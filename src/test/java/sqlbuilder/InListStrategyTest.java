@@ -0,0 +1,188 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.*;
+import sqlbuilder.expressions.Condition;
+import sqlbuilder.expressions.Expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InListStrategyTest {
+
+    private static List<Object> values(int count) {
+        List<Object> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+    private static Query select(SqlDialect dialect, List<Object> values, boolean negated) {
+        return new SelectBuilder(dialect)
+                .from("users")
+                .where(negated ? Expression.notIn("id", values) : Expression.in("id", values))
+                .build();
+    }
+
+    @Test
+    void testSmallListsAreExpanded() {
+        Query query = select(new PostgresDialect(), values(3), false);
+
+        assertEquals("SELECT * FROM users WHERE \"id\" IN (?, ?, ?)", query.getStatement());
+    }
+
+    @Test
+    void testArrayParameter() {
+        Query in = select(new PostgresDialect(), values(5000), false);
+        Query notIn = select(new H2Dialect(), values(5000), true);
+
+        assertEquals("SELECT * FROM users WHERE \"id\" = ANY (?)", in.getStatement());
+        assertEquals("SELECT * FROM users WHERE \"id\" <> ALL (?)", notIn.getStatement());
+        assertEquals(1, in.getParameterCount());
+        Integer[] array = assertInstanceOf(Integer[].class, in.getParameter(0));
+        assertEquals(5000, array.length);
+        assertEquals(4999, array[4999]);
+    }
+
+    private static OracleDialect expandingOracle() {
+        OracleDialect dialect = new OracleDialect();
+        dialect.setLargeInListStrategy(InListStrategy.EXPAND, Integer.MAX_VALUE);
+        return dialect;
+    }
+
+    @Test
+    void testOracleBindsLargeListsAsJson() {
+        Query in = select(new OracleDialect(), values(100_000), false);
+        Query notIn = select(new OracleDialect(), values(101), true);
+
+        assertEquals("SELECT * FROM users WHERE \"id\" IN (SELECT v FROM JSON_TABLE(?, '$[*]' COLUMNS (v PATH '$')))",
+                in.getStatement());
+        assertEquals(1, in.getParameterCount());
+        assertTrue(((String) in.getParameter(0)).endsWith(",99999]"));
+        assertTrue(notIn.getStatement().endsWith("\"id\" NOT IN (SELECT v FROM JSON_TABLE(?, '$[*]' COLUMNS (v PATH '$')))"));
+        assertEquals(3, select(new OracleDialect(), values(3), false).getParameterCount());
+    }
+
+    @Test
+    void testListsBeyondTheParameterLimitFailToBuild() {
+        OracleDialect oracle = expandingOracle();
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> select(oracle, values(100_000), false));
+        assertTrue(e.getMessage().contains("100000"), e.getMessage());
+        assertEquals(65535, select(oracle, values(65535), false).getParameterCount());
+
+        assertThrows(IllegalStateException.class, () -> select(new DB2Dialect(), values(32768), false));
+        DB2Dialect values = new DB2Dialect();
+        values.setLargeInListStrategy(InListStrategy.VALUES, 100);
+        assertThrows(IllegalStateException.class, () -> select(values, values(100_000), true));
+        assertEquals(32767, select(new DB2Dialect(), values(32767), false).getParameterCount());
+    }
+
+    @Test
+    void testOracleChunksLargeLists() {
+        Query in = select(expandingOracle(), values(2500), false);
+        Query notIn = select(expandingOracle(), values(1001), true);
+
+        String statement = in.getStatement();
+        assertTrue(statement.startsWith("SELECT * FROM users WHERE (\"id\" IN (?"));
+        assertEquals(2, statement.split(" OR ").length - 1);
+        assertTrue(statement.endsWith("?))"));
+        assertEquals(2500, in.getParameterCount());
+        assertEquals(values(2500), in.getParameters());
+
+        assertTrue(notIn.getStatement().endsWith(" AND \"id\" NOT IN (?))"));
+    }
+
+    @Test
+    void testOracleChunksPaddedLists() {
+        OracleDialect dialect = expandingOracle();
+        dialect.setInListPadding(InListPadding.powerOfTwo());
+
+        Query query = select(dialect, values(1500), false);
+
+        assertEquals(2048, query.getParameterCount());
+        assertEquals(2, query.getStatement().split(" OR ").length - 1);
+        assertEquals(1499, query.getParameter(2047));
+    }
+
+    @Test
+    void testJsonParameter() {
+        Query query = new SelectBuilder(new MsSQLDialect())
+                .from("users")
+                .where(Expression.in("name", new ArrayList<>(List.of("a\"b", "c\\d", "e\nf", "g")))
+                        .and().in("id", values(101)))
+                .build();
+
+        assertEquals("SELECT * FROM users WHERE \"name\" IN (?, ?, ?, ?) AND \"id\" IN (SELECT value FROM OPENJSON(?))",
+                query.getStatement());
+        assertEquals(5, query.getParameterCount());
+        assertTrue(((String) query.getParameter(4)).startsWith("[0,1,2,"));
+
+        MsSQLDialect dialect = new MsSQLDialect();
+        dialect.setLargeInListStrategy(InListStrategy.JSON, 0);
+        Query escaped = new SelectBuilder(dialect)
+                .from("users")
+                .where(Expression.notIn("name", Arrays.asList("a\"b", "c\\d", "e\nf", null)))
+                .build();
+        assertEquals("[\"a\\\"b\",\"c\\\\d\",\"e\\u000af\",null]", escaped.getParameter(0));
+        assertTrue(escaped.getStatement().endsWith("\"name\" NOT IN (SELECT value FROM OPENJSON(?))"));
+    }
+
+    @Test
+    void testValuesDerivedTable() {
+        DB2Dialect dialect = new DB2Dialect();
+        dialect.setLargeInListStrategy(InListStrategy.VALUES, 1);
+
+        Query query = select(dialect, values(3), false);
+
+        assertEquals("SELECT * FROM users WHERE \"id\" IN (SELECT v FROM (VALUES (?), (?), (?)) AS t (v))",
+                query.getStatement());
+        assertEquals(values(3), query.getParameters());
+    }
+
+    @Test
+    void testTemplateParametersAreExpanded() {
+        List<Object> values = values(200);
+        values.set(0, Expression.param(1));
+
+        QueryTemplate template = QueryTemplate.compile(new SelectBuilder(new PostgresDialect())
+                .from("users")
+                .where(Expression.in("id", values)));
+
+        Query query = template.bind(-1);
+        assertEquals(200, query.getParameterCount());
+        assertEquals(-1, query.getParameter(0));
+    }
+
+    @Test
+    void testParametersMatchPlaceholdersForEveryStrategy() {
+        for (InListStrategy strategy : InListStrategy.values()) {
+            MsSQLDialect dialect = new MsSQLDialect();
+            dialect.setLargeInListStrategy(strategy, 2);
+
+            Condition in = Expression.in("id", values(5));
+            SelectBuilder subQuery = new SelectBuilder(new H2Dialect()).select("user_id").from("orders")
+                    .where(Expression.notIn("status", values(3)));
+            Condition nested = Expression.exists(subQuery).and().in("id", subQuery);
+            for (Condition condition : List.of(in, nested)) {
+                assertEquals(placeholders(condition.toSql(dialect)), condition.getParameters(dialect).size(),
+                        strategy + ": " + condition.toSql(dialect));
+            }
+
+            SelectBuilder builder = new SelectBuilder(dialect).from("users").where(in).where(nested);
+            Query query = builder.build();
+            List<Object> collected = new ArrayList<>();
+            builder.collectParameters(collected::add);
+            assertEquals(placeholders(query.getStatement()), query.getParameterCount(), strategy.name());
+            assertEquals(query.getParameterCount(), builder.countParameters(), strategy.name());
+            assertArrayEquals(query.getParameters().toArray(), collected.toArray(), strategy.name());
+        }
+    }
+
+    private static int placeholders(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+}
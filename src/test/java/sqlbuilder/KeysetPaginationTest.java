@@ -0,0 +1,137 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.*;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.expressions.Expression;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPaginationTest {
+    private final Keyset byCreatedAndId = Keyset.of(Keyset.asc("created"), Keyset.asc("id"));
+    private final Keyset mixed = Keyset.of(Keyset.desc("category"), Keyset.asc("id"));
+
+    @Test
+    void testFirstPage() {
+        Query query = new SelectBuilder(new H2Dialect()).from("events").seek(byCreatedAndId, 20).build();
+
+        assertEquals("SELECT * FROM events ORDER BY \"created\" ASC, \"id\" ASC LIMIT ? OFFSET ?", query.getStatement());
+        assertEquals(List.of(20, 0), query.getParameters());
+    }
+
+    @Test
+    void testRowValuePredicate() {
+        Query query = new SelectBuilder(new PostgresDialect())
+                .from("events")
+                .where(Expression.eq("type", "click"))
+                .seekAfter(byCreatedAndId, 20, 5L, 7L)
+                .build();
+
+        assertEquals("SELECT * FROM events WHERE (\"type\" = ?) AND (\"created\", \"id\") > (?, ?)"
+                + " ORDER BY \"created\" ASC, \"id\" ASC LIMIT ? OFFSET ?", query.getStatement());
+        assertEquals(List.of("click", 5L, 7L, 20, 0), query.getParameters());
+    }
+
+    @Test
+    void testExpandedPredicateForMixedDirections() {
+        SelectBuilder builder = new SelectBuilder(new PostgresDialect())
+                .from("items")
+                .seekAfter(mixed, 10, "b", 3L);
+        Query query = builder.build();
+
+        assertEquals("SELECT * FROM items WHERE (\"category\" < ? OR (\"category\" = ? AND \"id\" > ?))"
+                + " ORDER BY \"category\" DESC, \"id\" ASC LIMIT ? OFFSET ?", query.getStatement());
+        assertEquals(List.of("b", "b", 3L, 10, 0), query.getParameters());
+        assertEquals(5, builder.countParameters());
+    }
+
+    @Test
+    void testExpandedPredicateWithoutRowValueSupport() {
+        Keyset keyset = Keyset.of(Keyset.desc("a"), Keyset.desc("b"), Keyset.desc("c"));
+        Query query = new SelectBuilder(new OracleDialect()).from("t").seekAfter(keyset, 5, 1, 2, 3).build();
+
+        assertTrue(query.getStatement().startsWith(
+                "SELECT * FROM t WHERE (\"a\" < ? OR (\"a\" = ? AND \"b\" < ?) OR (\"a\" = ? AND \"b\" = ? AND \"c\" < ?))"));
+        assertEquals(List.of(1, 1, 2, 1, 2, 3, 5), query.getParameters());
+    }
+
+    @Test
+    void testCursorRoundTrip() {
+        Keyset keyset = Keyset.of(Keyset.asc("a"), Keyset.asc("b"), Keyset.asc("c"), Keyset.asc("d"), Keyset.asc("e"),
+                Keyset.asc("f"), Keyset.asc("g"), Keyset.asc("h"), Keyset.asc("i"));
+        UUID uuid = UUID.randomUUID();
+        List<Object> values = List.of(1L, 2, "x:yä", new BigDecimal("1.50"), LocalDate.of(2024, 2, 29),
+                LocalDateTime.of(2024, 1, 1, 12, 30), java.time.Instant.EPOCH, uuid, true);
+
+        String cursor = keyset.cursor(values.toArray());
+
+        assertEquals(values, keyset.decode(cursor));
+        assertThrows(IllegalArgumentException.class, () -> byCreatedAndId.decode(cursor));
+        assertThrows(IllegalArgumentException.class, () -> byCreatedAndId.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> byCreatedAndId.cursor(1L, null));
+        assertThrows(IllegalArgumentException.class, () -> byCreatedAndId.cursor(1L, new Object()));
+    }
+
+    @Test
+    void testOrderByConflict() {
+        SelectBuilder builder = new SelectBuilder(new H2Dialect()).from("t").orderBy("x").seek(mixed, 10);
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    void testWalksAllPages() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:keyset");
+             QueryExecutor executor = new QueryExecutor(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE items (\"id\" BIGINT PRIMARY KEY, \"category\" VARCHAR(1))");
+                statement.execute("INSERT INTO items SELECT X, CHAR(97 + MOD(X, 4)) FROM SYSTEM_RANGE(1, 23)");
+            }
+
+            List<Long> expected = new ArrayList<>();
+            try (ResultSet rs = connection.createStatement()
+                    .executeQuery("SELECT \"id\" FROM items ORDER BY \"category\" DESC, \"id\" ASC")) {
+                while (rs.next()) {
+                    expected.add(rs.getLong(1));
+                }
+            }
+
+            for (SqlDialect dialect : List.of(new H2Dialect(), new OracleDialect())) {
+                for (Keyset keyset : List.of(mixed, Keyset.of(Keyset.desc("category"), Keyset.desc("id")))) {
+                    List<Long> seen = new ArrayList<>();
+                    String cursor = null;
+                    int pages = 0;
+                    do {
+                        Query page = new SelectBuilder(dialect).from("items").seek(keyset, 5, cursor).build();
+                        cursor = null;
+                        try (ResultSet rs = executor.executeQuery(page)) {
+                            while (rs.next()) {
+                                seen.add(rs.getLong("id"));
+                                cursor = keyset.cursor(rs);
+                            }
+                        }
+                        pages++;
+                    } while (cursor != null);
+
+                    assertEquals(6, pages);
+                    if (keyset == mixed) {
+                        assertEquals(expected, seen);
+                    } else {
+                        assertEquals(23, seen.stream().distinct().count());
+                    }
+                }
+            }
+        }
+    }
+}
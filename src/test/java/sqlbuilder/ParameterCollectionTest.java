@@ -0,0 +1,80 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.dialects.*;
+import sqlbuilder.expressions.Condition;
+import sqlbuilder.expressions.Expression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParameterCollectionTest {
+    private final SqlDialect dialect = new H2Dialect();
+
+    private void assertCollectedLikeRendered(AbstractBuilder<?> builder) {
+        Query query = builder.build();
+        List<Object> collected = new ArrayList<>();
+        builder.collectParameters(collected::add);
+
+        assertEquals(query.getParameters(), collected);
+        assertEquals(query.getParameterCount(), builder.countParameters());
+    }
+
+    @Test
+    void testSelectParametersMatchRendering() {
+        SelectBuilder subQuery = new SelectBuilder(dialect).select("user_id").from("orders").where(Expression.gt("amount", 5));
+        assertCollectedLikeRendered(new SelectBuilder(dialect)
+                .from("users", "u")
+                .join("roles", "r", Expression.eq("r.name", "admin"))
+                .where(Expression.in("u.id", subQuery).and().in("u.state", 1, 2, 3))
+                .where(Expression.not(Expression.exists(subQuery)))
+                .groupBy("u.id")
+                .having(Expression.gt("COUNT(*)", 2)));
+    }
+
+    @Test
+    void testWriteBuilderParametersMatchRendering() {
+        assertCollectedLikeRendered(new InsertBuilder(dialect).into("users").value("id", 1).value("name", "John"));
+        assertCollectedLikeRendered(new UpdateBuilder(dialect).table("users").set("name", "Jane").where(Expression.eq("id", 1)));
+        assertCollectedLikeRendered(new DeleteBuilder(dialect).from("users").where(Expression.eq("id", 1).or().isNull("name")));
+    }
+
+    @Test
+    void testConditionCountsAndCollects() {
+        Condition condition = Expression.eq("a", 1).and().in("b", 2, 3).or().like("c", Expression.column("d"));
+        List<Object> collected = new ArrayList<>();
+        condition.collectParameters(collected::add);
+
+        assertEquals(3, condition.countParameters());
+        assertEquals(List.of(1, 2, 3), collected);
+        assertEquals(List.of(1, 2, 3), condition.getParameters());
+    }
+
+    @Test
+    void testQueryExposesParametersByIndex() {
+        Query query = new SelectBuilder(dialect).from("users").where(Expression.eq("a", "x").and().eq("b", "y")).build();
+
+        assertEquals(2, query.getParameterCount());
+        assertEquals("x", query.getParameter(0));
+        assertEquals("y", query.getParameter(1));
+
+        query.addParameter("z");
+        assertEquals(List.of("x", "y", "z"), query.getParameters());
+    }
+
+    @Test
+    void testParameterArrayIsExactlySized() {
+        ParameterArray parameters = new ParameterArray(2);
+        parameters.accept(1);
+        parameters.accept(2);
+        Object[] array = parameters.toArray();
+        assertEquals(2, array.length);
+        assertSame(array, parameters.toArray());
+
+        parameters.accept(3);
+        assertArrayEquals(new Object[]{1, 2, 3}, parameters.toArray());
+    }
+}
@@ -0,0 +1,135 @@
+package sqlbuilder;
+
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.*;
+import sqlbuilder.execution.PipelineResults;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.expressions.Expression;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineTest {
+    private static Server server;
+    // keeps the in-memory database of the server open
+    private static Connection setup;
+
+    /**
+     * H2 only returns multiple result sets through its PostgreSQL server, so the pipelined queries
+     * are sent with the PostgreSQL driver.
+     */
+    @BeforeAll
+    static void startServer() throws SQLException {
+        server = Server.createPgServer("-pgPort", "0", "-ifNotExists", "-key", "pipeline", "mem:pipeline").start();
+        setup = connectToServer();
+        try (Statement statement = setup.createStatement()) {
+            createTables(statement);
+        }
+    }
+
+    private static void createTables(Statement statement) throws SQLException {
+        statement.execute("CREATE TABLE users (\"id\" INT PRIMARY KEY, \"name\" VARCHAR(50), \"team\" VARCHAR(10))");
+        statement.execute("INSERT INTO users SELECT \"X\", 'user' || \"X\", CASEWHEN(MOD(\"X\", 2) = 0, 'red', 'blue') FROM SYSTEM_RANGE(1, 20)");
+        statement.execute("CREATE TABLE teams (\"name\" VARCHAR(10) PRIMARY KEY)");
+        statement.execute("INSERT INTO teams VALUES ('red'), ('blue')");
+    }
+
+    @AfterAll
+    static void stopServer() throws SQLException {
+        setup.close();
+        server.stop();
+    }
+
+    private static Connection connectToServer() throws SQLException {
+        return DriverManager.getConnection("jdbc:postgresql://localhost:" + server.getPort() + "/pipeline", "sa", "sa");
+    }
+
+    private static List<Query> queries(SqlDialect dialect) {
+        return List.of(
+                new SelectBuilder(dialect).from("users").select("name").where(Expression.eq("id", 3)).build(),
+                new SelectBuilder(dialect).from("users").select("id").where(Expression.eq("team", "red"))
+                        .orderBy("id").asc().limit(3).offset(2).build(),
+                new SelectBuilder(dialect).from("teams").select("name").orderBy("name").asc().build());
+    }
+
+    @Test
+    void testResultSetsInOrderInOneStatement() throws SQLException {
+        PostgresDialect dialect = new PostgresDialect();
+        try (Connection connection = connectToServer(); QueryExecutor executor = new QueryExecutor(connection)) {
+            for (int run = 0; run < 2; run++) {
+                try (PipelineResults results = executor.pipeline(queries(dialect))) {
+                    assertTrue(results.isPipelined());
+                    assertEquals(3, results.size());
+                    assertEquals(List.of("user3"), results.next(rs -> rs.getString(1)));
+                    assertEquals(List.of(6, 8, 10), results.next(rs -> rs.getInt(1)));
+                    ResultSet teams = results.next();
+                    assertTrue(teams.next());
+                    assertEquals("blue", teams.getString(1));
+                    assertFalse(results.hasNext());
+                    assertThrows(NoSuchElementException.class, results::next);
+                }
+            }
+            assertEquals(1, executor.getMissCount());
+            assertEquals(1, executor.getHitCount());
+        }
+    }
+
+    @Test
+    void testUncachedPipelineClosesItsStatement() throws SQLException {
+        try (Connection connection = connectToServer(); QueryExecutor executor = new QueryExecutor(connection, 0)) {
+            PipelineResults results = executor.pipeline(queries(new PostgresDialect()));
+            assertEquals(List.of("user3"), results.next(rs -> rs.getString(1)));
+            results.close();
+            assertEquals(0, executor.getCachedStatementCount());
+        }
+    }
+
+    @Test
+    void testFallsBackToOneQueryAtATime() throws SQLException {
+        H2Dialect dialect = new H2Dialect();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:pipeline-embedded");
+             QueryExecutor executor = new QueryExecutor(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                createTables(statement);
+            }
+            PipelineResults results = executor.pipeline(queries(dialect));
+            assertFalse(results.isPipelined());
+            assertEquals(List.of("user3"), results.next(rs -> rs.getString(1)));
+            assertEquals(List.of(6, 8, 10), results.next(rs -> rs.getInt(1)));
+            assertEquals(List.of("blue", "red"), results.next(rs -> rs.getString(1)));
+            results.close();
+        }
+    }
+
+    @Test
+    void testMixedDialectsAreNotCombined() throws SQLException {
+        try (Connection connection = connectToServer(); QueryExecutor executor = new QueryExecutor(connection);
+             PipelineResults results = executor.pipeline(queries(new PostgresDialect()).get(0), new Query("SELECT 1"))) {
+            assertFalse(results.isPipelined());
+            assertEquals(List.of("user3"), results.next(rs -> rs.getString(1)));
+            assertEquals(List.of(1), results.next(rs -> rs.getInt(1)));
+        }
+    }
+
+    @Test
+    void testDialectPipelines() {
+        List<String> statements = List.of("SELECT 1", "SELECT ?");
+        assertEquals("SELECT 1; SELECT ?", new PostgresDialect().pipeline(statements));
+        assertEquals("SELECT 1; SELECT ?", new MsSQLDialect().pipeline(statements));
+        assertEquals("DECLARE c0 SYS_REFCURSOR; c1 SYS_REFCURSOR; BEGIN"
+                + " OPEN c0 FOR SELECT 1; DBMS_SQL.RETURN_RESULT(c0);"
+                + " OPEN c1 FOR SELECT ?; DBMS_SQL.RETURN_RESULT(c1); END;", new OracleDialect().pipeline(statements));
+        assertNull(new H2Dialect().pipeline(statements));
+        assertNull(new DB2Dialect().pipeline(statements));
+    }
+}
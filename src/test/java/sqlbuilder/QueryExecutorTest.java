@@ -0,0 +1,210 @@
+package sqlbuilder;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.H2Dialect;
+import sqlbuilder.dialects.PostgresDialect;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.exceptions.QueryExecutionException;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.expressions.Expression;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryExecutorTest {
+    private static final String URL = "jdbc:h2:mem:executor;DB_CLOSE_DELAY=-1";
+
+    private final SqlDialect dialect = new H2Dialect();
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection(URL);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS users");
+            statement.execute("CREATE TABLE users (\"id\" INT PRIMARY KEY, \"name\" VARCHAR(100))");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private Query insert(int id, String name) {
+        return new InsertBuilder(dialect).into("users").value("id", id).value("name", name).build();
+    }
+
+    private Query selectName(int id) {
+        return new SelectBuilder(dialect).from("users").select("name").where(Expression.eq("id", id)).build();
+    }
+
+    @Test
+    void testReusesPreparedStatements() throws SQLException {
+        try (QueryExecutor executor = new QueryExecutor(connection)) {
+            assertEquals(1, executor.executeUpdate(insert(1, "John")));
+            assertEquals(1, executor.executeUpdate(insert(2, "Jane")));
+
+            try (ResultSet rs = executor.executeQuery(selectName(2))) {
+                assertTrue(rs.next());
+                assertEquals("Jane", rs.getString(1));
+            }
+
+            assertEquals(2, executor.getMissCount());
+            assertEquals(1, executor.getHitCount());
+            assertEquals(2, executor.getCachedStatementCount());
+        }
+    }
+
+    @Test
+    void testEvictionClosesStatements() throws SQLException {
+        try (QueryExecutor executor = new QueryExecutor(connection, 1)) {
+            PreparedStatement first = executor.prepare(insert(1, "John"));
+            executor.executeQuery(selectName(1)).close();
+
+            assertTrue(first.isClosed());
+            assertEquals(1, executor.getEvictionCount());
+            assertEquals(1, executor.getCachedStatementCount());
+        }
+    }
+
+    @Test
+    void testCloseClosesCachedStatementsButNotConnection() throws SQLException {
+        QueryExecutor executor = new QueryExecutor(connection);
+        PreparedStatement statement = executor.prepare(selectName(1));
+        executor.close();
+
+        assertTrue(statement.isClosed());
+        assertFalse(connection.isClosed());
+    }
+
+    @Test
+    void testDisabledCacheClosesStatements() throws SQLException {
+        try (QueryExecutor executor = new QueryExecutor(connection, 0)) {
+            executor.executeUpdate(insert(1, "John"));
+            PreparedStatement statement = executor.prepare(selectName(1));
+            statement.executeQuery().close();
+
+            assertTrue(statement.isClosed());
+            assertEquals(0, executor.getCachedStatementCount());
+            assertEquals(2, executor.getMissCount());
+        }
+    }
+
+    @Test
+    void testFailedBindClosesUncachedStatement() throws SQLException {
+        List<PreparedStatement> prepared = new ArrayList<>();
+        Connection failingBinds = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            try {
+                Object result = method.invoke(connection, args);
+                if (!(result instanceof PreparedStatement statement)) {
+                    return result;
+                }
+                prepared.add(statement);
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, (p, m, a) -> {
+                    if (m.getName().equals("setObject")) {
+                        throw new SQLException("bind failed");
+                    }
+                    try {
+                        return m.invoke(statement, a);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+
+        try (QueryExecutor uncached = new QueryExecutor(failingBinds, 0);
+             QueryExecutor cached = new QueryExecutor(failingBinds)) {
+            assertThrows(SQLException.class, () -> uncached.prepare(selectName(1)));
+            assertThrows(SQLException.class, () -> cached.prepare(selectName(1)));
+
+            assertTrue(prepared.get(0).isClosed());
+            assertFalse(prepared.get(1).isClosed());
+        }
+    }
+
+    @Test
+    void testDataSourceConnectionIsClosed() throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(URL);
+
+        QueryExecutor executor = new QueryExecutor(dataSource);
+        executor.executeUpdate(insert(1, "John"));
+        Connection owned = executor.getConnection();
+        executor.close();
+
+        assertTrue(owned.isClosed());
+        try (ResultSet rs = new QueryExecutor(connection).executeQuery(selectName(1))) {
+            assertTrue(rs.next());
+        }
+    }
+
+    private void insertRange(int count) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users SELECT X, 'user' || X FROM SYSTEM_RANGE(1, " + count + ")");
+        }
+    }
+
+    @Test
+    void testStreamReadsRowsLazily() throws SQLException {
+        insertRange(5000);
+        try (QueryExecutor executor = new QueryExecutor(connection)) {
+            executor.setFetchSize(100);
+            Query query = new SelectBuilder(dialect).from("users").select("id", "name").orderBy("id").asc().build();
+
+            try (Stream<String> names = query.stream(executor, rs -> rs.getString("name"))) {
+                assertEquals(List.of("user1", "user2", "user3"), names.limit(3).toList());
+            }
+            try (Stream<Long> ids = executor.stream(query, rs -> rs.getLong(1))) {
+                assertEquals(12502500L, ids.mapToLong(Long::longValue).sum());
+            }
+            assertEquals(0, executor.getCachedStatementCount());
+        }
+    }
+
+    @Test
+    void testStreamDisablesAutoCommitWhenDialectRequiresCursor() throws SQLException {
+        insertRange(10);
+        try (QueryExecutor executor = new QueryExecutor(connection)) {
+            Query query = new SelectBuilder(new PostgresDialect()).from("users").select("id").build();
+
+            Stream<Integer> ids = executor.stream(query, rs -> rs.getInt(1));
+            assertFalse(connection.getAutoCommit());
+            ids.close();
+            assertTrue(connection.getAutoCommit());
+
+            executor.stream(query, rs -> rs.getInt(1)).forEach(id -> { });
+            assertTrue(connection.getAutoCommit());
+        }
+    }
+
+    @Test
+    void testStreamWrapsMappingFailures() throws SQLException {
+        insertRange(10);
+        try (QueryExecutor executor = new QueryExecutor(connection);
+             Stream<Object> rows = executor.stream(new SelectBuilder(new PostgresDialect()).from("users").build(),
+                     rs -> rs.getObject("missing"))) {
+            QueryExecutionException e = assertThrows(QueryExecutionException.class, rows::toList);
+            assertNotNull(e.getCause().getSQLState());
+            assertTrue(connection.getAutoCommit());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new QueryExecutor(connection).setFetchSize(-1));
+    }
+}
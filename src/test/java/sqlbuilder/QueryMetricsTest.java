@@ -0,0 +1,156 @@
+package sqlbuilder;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.H2Dialect;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.expressions.Expression;
+import sqlbuilder.metrics.LatencyHistogram;
+import sqlbuilder.metrics.Phase;
+import sqlbuilder.metrics.PrometheusExporter;
+import sqlbuilder.metrics.QueryMetrics;
+import sqlbuilder.metrics.TemplateMetrics;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMetricsTest {
+    private final SqlDialect dialect = new H2Dialect();
+
+    private SelectBuilder byId(int id) {
+        return new SelectBuilder(dialect).from("users").select("name").where(Expression.eq("id", id));
+    }
+
+    @Test
+    void testHistogramBuckets() {
+        QueryMetrics metrics = new QueryMetrics();
+        LatencyHistogram histogram = metrics.template("SELECT 1").latency(Phase.EXECUTE);
+        histogram.record(800);
+        histogram.record(1_500);
+        histogram.record(2_000_000);
+        histogram.record(60_000_000_000L);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        long[] bounds = LatencyHistogram.getBounds();
+        assertEquals(bounds.length + 1, snapshot.counts().length);
+        assertEquals(1, snapshot.counts()[0]);
+        assertEquals(1, snapshot.counts()[1]);
+        assertEquals(1, snapshot.counts()[bounds.length]);
+        assertEquals(4, snapshot.count());
+        assertEquals(2, snapshot.cumulativeCount(1));
+        assertEquals(2_500_000L, snapshot.quantileNanos(0.75));
+        assertEquals(Long.MAX_VALUE, snapshot.quantileNanos(1));
+    }
+
+    @Test
+    void testBuildTimeIsRecordedPerTemplate() {
+        QueryMetrics metrics = new QueryMetrics();
+        for (int id = 0; id < 5; id++) {
+            byId(id).useMetrics(metrics).build();
+        }
+        byId(1).build();
+
+        List<TemplateMetrics.Snapshot> snapshots = metrics.snapshot();
+        assertEquals(1, snapshots.size());
+        assertEquals("SELECT \"name\" FROM users WHERE \"id\" = ?", snapshots.get(0).statement());
+        assertEquals(5, snapshots.get(0).latency(Phase.BUILD).count());
+        assertEquals(0, snapshots.get(0).latency(Phase.EXECUTE).count());
+    }
+
+    @Test
+    void testExecutionAndFetchAreRecorded() throws SQLException {
+        QueryMetrics metrics = new QueryMetrics();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:metrics");
+             QueryExecutor executor = new QueryExecutor(connection)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE users (\"id\" INT PRIMARY KEY, \"name\" VARCHAR(50))");
+                statement.execute("INSERT INTO users SELECT X, 'user' || X FROM SYSTEM_RANGE(1, 10)");
+            }
+            executor.query(byId(1).build(), rs -> rs.getString(1));
+            executor.setMetrics(metrics);
+
+            Query select = byId(2).build();
+            Query all = new SelectBuilder(dialect).from("users").select("name").build();
+            assertEquals(List.of("user2"), executor.query(select, rs -> rs.getString(1)));
+            assertEquals(10, executor.query(all, rs -> rs.getString(1)).size());
+            Query delete = new DeleteBuilder(dialect).from("users").where(Expression.gt("id", 8)).build();
+            assertEquals(2, executor.executeUpdate(delete));
+            assertThrows(SQLException.class, () -> executor.executeQuery(new Query("SELECT \"missing\" FROM users")));
+
+            TemplateMetrics.Snapshot selected = metrics.template(select.getStatement()).snapshot();
+            assertEquals(1, selected.latency(Phase.EXECUTE).count());
+            assertEquals(1, selected.latency(Phase.FETCH).count());
+            assertEquals(1, selected.rows());
+            assertEquals(10, metrics.template(all.getStatement()).snapshot().rows());
+
+            TemplateMetrics.Snapshot deleted = metrics.template(delete.getStatement()).snapshot();
+            assertEquals(1, deleted.latency(Phase.EXECUTE).count());
+            assertEquals(0, deleted.latency(Phase.FETCH).count());
+            assertEquals(0, deleted.errors());
+            assertEquals(4, metrics.getTemplateCount());
+            assertEquals(1, metrics.template("SELECT \"missing\" FROM users").snapshot().errors());
+        }
+    }
+
+    @Test
+    void testTemplatesBeyondTheMaximumShareOverflow() {
+        QueryMetrics metrics = new QueryMetrics(2);
+        metrics.record("SELECT 1", Phase.EXECUTE, 10);
+        metrics.record("SELECT 2", Phase.EXECUTE, 30);
+        metrics.record("SELECT 3", Phase.EXECUTE, 20);
+        metrics.record("SELECT 4", Phase.EXECUTE, 5);
+
+        assertEquals(2, metrics.getTemplateCount());
+        List<TemplateMetrics.Snapshot> snapshots = metrics.snapshot();
+        assertEquals(List.of("SELECT 2", QueryMetrics.OVERFLOW_STATEMENT, "SELECT 1"),
+                snapshots.stream().map(TemplateMetrics.Snapshot::statement).toList());
+        assertEquals(2, snapshots.get(1).latency(Phase.EXECUTE).count());
+    }
+
+    @Test
+    void testPrometheusExposition() throws IOException, InterruptedException {
+        QueryMetrics metrics = new QueryMetrics();
+        metrics.record("SELECT \"a\" FROM t", Phase.EXECUTE, 3_000_000);
+        metrics.recordFetch("SELECT \"a\" FROM t", 1_000, 7);
+        metrics.recordError("SELECT \"a\" FROM t");
+
+        PrometheusExporter exporter = new PrometheusExporter(metrics);
+        String text = exporter.scrape();
+        String labels = "statement=\"SELECT \\\"a\\\" FROM t\"";
+        assertTrue(text.contains("# TYPE sqlbuilder_query_duration_seconds histogram\n"));
+        assertTrue(text.contains("sqlbuilder_query_duration_seconds_bucket{" + labels + ",phase=\"execute\",le=\"0.0025\"} 0\n"));
+        assertTrue(text.contains("sqlbuilder_query_duration_seconds_bucket{" + labels + ",phase=\"execute\",le=\"0.005\"} 1\n"));
+        assertTrue(text.contains("sqlbuilder_query_duration_seconds_bucket{" + labels + ",phase=\"execute\",le=\"+Inf\"} 1\n"));
+        assertTrue(text.contains("sqlbuilder_query_duration_seconds_sum{" + labels + ",phase=\"execute\"} 0.003\n"));
+        assertTrue(text.contains("sqlbuilder_query_duration_seconds_count{" + labels + ",phase=\"fetch\"} 1\n"));
+        assertFalse(text.contains("phase=\"build\""));
+        assertTrue(text.contains("sqlbuilder_query_rows_total{" + labels + "} 7\n"));
+        assertTrue(text.contains("sqlbuilder_query_errors_total{" + labels + "} 1\n"));
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/metrics", exporter);
+        server.start();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + server.getAddress().getPort() + "/metrics")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertEquals(PrometheusExporter.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElseThrow());
+            assertEquals(text, response.body());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.dialects.*;
+import sqlbuilder.expressions.Expression;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryTemplateTest {
+    private final SqlDialect dialect = new PostgresDialect();
+
+    @Test
+    void testBindInterleavesLiteralsAndSlots() {
+        QueryTemplate template = QueryTemplate.compile(new SelectBuilder(dialect)
+                .from("users")
+                .where(Expression.eq("tenant", "acme")
+                        .and().eq("status", Expression.param(2))
+                        .and().gt("age", 18)
+                        .and().lt("created", Expression.param(1))));
+
+        Query query = template.bind("2024-01-01", "active");
+
+        assertEquals("SELECT * FROM users WHERE \"tenant\" = ? AND \"status\" = ? AND \"age\" > ? AND \"created\" < ?", query.getStatement());
+        assertSame(template.getStatement(), query.getStatement());
+        assertEquals(List.of("acme", "active", 18, "2024-01-01"), query.getParameters());
+        assertEquals(2, template.getArgumentCount());
+    }
+
+    @Test
+    void testSlotCanBeUsedMultipleTimes() {
+        QueryTemplate template = QueryTemplate.compile(new UpdateBuilder(dialect)
+                .table("users")
+                .set("status", "locked")
+                .where(Expression.eq("id", Expression.param(1)).or().eq("parent_id", Expression.param(1))));
+
+        assertEquals(List.of("locked", 7, 7), template.bind(7).getParameters());
+        assertEquals(List.of("locked", 8, 8), template.bind(8).getParameters());
+    }
+
+    @Test
+    void testBindAcceptsNullArguments() {
+        QueryTemplate template = QueryTemplate.compile(new DeleteBuilder(dialect)
+                .from("users")
+                .where(Expression.eq("id", Expression.param(1))));
+
+        assertEquals(Arrays.asList((Object) null), template.bind((Object) null).getParameters());
+    }
+
+    @Test
+    void testWrongArgumentCountFails() {
+        QueryTemplate template = QueryTemplate.compile(new SelectBuilder(dialect)
+                .from("users")
+                .where(Expression.eq("id", Expression.param(1))));
+
+        assertThrows(IllegalArgumentException.class, template::bind);
+        assertThrows(IllegalArgumentException.class, () -> template.bind(1, 2));
+    }
+
+    @Test
+    void testInvalidParameterIndexFails() {
+        SelectBuilder builder = new SelectBuilder(dialect)
+                .from("users")
+                .where(Expression.eq("id", Expression.param(0)));
+
+        assertThrows(IllegalArgumentException.class, () -> QueryTemplate.compile(builder));
+    }
+}
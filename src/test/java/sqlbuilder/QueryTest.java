@@ -1,6 +1,13 @@
 package sqlbuilder;
 
 import org.junit.jupiter.api.Test;
+import sqlbuilder.execution.QueryExecutor;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class QueryTest {
@@ -15,8 +22,15 @@ class QueryTest {
     }
 
     @Test
-    void testExecuteReturnsNull() {
-        Query query = new Query("SELECT 1");
-        assertNull(query.execute());
+    void testExecuteBindsParameters() throws SQLException {
+        Query query = new Query("SELECT ? + 1");
+        query.addParameter(41);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:query");
+             QueryExecutor executor = new QueryExecutor(connection);
+             ResultSet rs = query.execute(executor)) {
+            assertTrue(rs.next());
+            assertEquals(42, rs.getInt(1));
+        }
     }
 }
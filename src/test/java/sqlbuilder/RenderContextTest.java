@@ -0,0 +1,110 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.dialects.*;
+import sqlbuilder.expressions.Condition;
+import sqlbuilder.expressions.Expression;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RenderContextTest {
+    private final SqlDialect dialect = new PostgresDialect();
+
+    @Test
+    void testAppendAndParameters() {
+        RenderContext context = new RenderContext(dialect);
+        context.appendIdentifier("u.id").append(" = ").appendParameter(1);
+
+        assertEquals("\"u\".\"id\" = ?", context.getSql());
+        assertEquals(List.of(1), context.getParameters());
+    }
+
+    @Test
+    void testConditionRendersIntoSharedContext() {
+        RenderContext context = new RenderContext(dialect);
+        context.append("WHERE ");
+        Expression.eq("a", 1).and().in("b", 2, 3).render(context);
+
+        assertEquals("WHERE \"a\" = ? AND \"b\" IN (?, ?)", context.getSql());
+        assertEquals(List.of(1, 2, 3), context.getParameters());
+    }
+
+    @Test
+    void testSubqueryParametersCollectedInStatementOrder() {
+        SelectBuilder subQuery = new SelectBuilder(dialect)
+                .select("user_id")
+                .from("orders")
+                .where(Expression.gt("amount", 100));
+        Query query = new SelectBuilder(dialect)
+                .from("users", "u")
+                .join("roles", "r", Expression.eq("r.name", "admin"))
+                .where(Expression.in("id", subQuery))
+                .where(Expression.eq("status", "active"))
+                .build();
+
+        assertEquals("SELECT * FROM users u INNER JOIN roles r ON \"r\".\"name\" = ? WHERE \"id\" IN (SELECT \"user_id\" FROM orders WHERE \"amount\" > ?) AND \"status\" = ?", query.getStatement());
+        assertEquals(List.of("admin", 100, "active"), query.getParameters());
+    }
+
+    @Test
+    void testSharedSubqueryRenderedOncePerBuild() {
+        int[] renders = new int[1];
+        SelectBuilder subQuery = new SelectBuilder(dialect) {
+            @Override
+            public void render(RenderContext context) {
+                renders[0]++;
+                super.render(context);
+            }
+        }.select("user_id").from("orders").where(Expression.gt("amount", 100));
+
+        Query query = new SelectBuilder(dialect)
+                .from("users")
+                .where(Expression.in("id", subQuery).or().exists(subQuery))
+                .build();
+
+        assertEquals(1, renders[0]);
+        assertEquals("SELECT * FROM users WHERE \"id\" IN (SELECT \"user_id\" FROM orders WHERE \"amount\" > ?) OR EXISTS (SELECT \"user_id\" FROM orders WHERE \"amount\" > ?)", query.getStatement());
+        assertEquals(List.of(100, 100), query.getParameters());
+    }
+
+    @Test
+    void testSharedSubqueryWithStatementCache() {
+        SelectBuilder subQuery = new SelectBuilder(dialect).from("orders").where(Expression.eq("state", "open"));
+        SelectBuilder builder = new SelectBuilder(dialect)
+                .from("users")
+                .where(Expression.exists(subQuery).and().notExists(subQuery));
+        Query expected = builder.build();
+
+        StatementCache cache = new StatementCache(1);
+        builder.useStatementCache(cache);
+        Query miss = builder.build();
+        Query hit = builder.build();
+
+        assertEquals(expected.getStatement(), miss.getStatement());
+        assertEquals(expected.getStatement(), hit.getStatement());
+        assertEquals(List.of("open", "open"), hit.getParameters());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testCustomConditionFallsBackToToSql() {
+        Condition custom = new Condition() {
+            @Override
+            public String toSql(SqlDialect dialect) {
+                return "1 = ?";
+            }
+
+            @Override
+            public List<Object> getParameters() {
+                return List.of(1);
+            }
+        };
+        Query query = new SelectBuilder(dialect).from("users").where(custom).build();
+
+        assertEquals("SELECT * FROM users WHERE 1 = ?", query.getStatement());
+        assertEquals(List.of(1), query.getParameters());
+    }
+}
@@ -0,0 +1,202 @@
+package sqlbuilder;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.H2Dialect;
+import sqlbuilder.dialects.InListStrategy;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.execution.AsyncQueryExecutor;
+import sqlbuilder.execution.BatchExecutor;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.execution.ResultCache;
+import sqlbuilder.execution.RowMapper;
+import sqlbuilder.expressions.Expression;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+    private static final RowMapper<String> NAME = rs -> rs.getString(1);
+
+    private final SqlDialect dialect = new H2Dialect();
+    private JdbcDataSource dataSource;
+    private Connection connection;
+    private QueryExecutor executor;
+    private ResultCache cache;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:results;DB_CLOSE_DELAY=-1");
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS users");
+            statement.execute("DROP TABLE IF EXISTS bans");
+            statement.execute("CREATE TABLE users (\"id\" INT PRIMARY KEY, \"name\" VARCHAR(50))");
+            statement.execute("INSERT INTO users SELECT X, 'user' || X FROM SYSTEM_RANGE(1, 10)");
+            statement.execute("CREATE TABLE bans (\"user_id\" INT PRIMARY KEY)");
+        }
+        cache = new ResultCache(100, 1000, Duration.ofMinutes(1));
+        executor = new QueryExecutor(connection);
+        executor.setResultCache(cache);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.close();
+        connection.close();
+    }
+
+    private Query name(int id) {
+        return new SelectBuilder(dialect).from("users").select("name").where(Expression.eq("id", id)).build();
+    }
+
+    @Test
+    void testBuiltQueriesRecordTheirTables() {
+        SelectBuilder banned = new SelectBuilder(dialect).from("bans").select("user_id");
+        Query query = new SelectBuilder(dialect).from("users", "u")
+                .where(Expression.in("id", banned)).build();
+
+        assertEquals(Set.of("users", "bans"), query.getTables());
+        assertEquals(Set.of("users"), new DeleteBuilder(dialect).from("users").build().getTables());
+        assertEquals(Set.of("app.users"), new UpdateBuilder(dialect, "app").table("users").set("name", "x").build().getTables());
+        assertNull(new Query("SELECT 1").getTables());
+    }
+
+    @Test
+    void testWritesInvalidateTheirTables() throws SQLException {
+        assertEquals(List.of("user1"), executor.query(name(1), NAME));
+        assertEquals(List.of("user1"), executor.query(name(1), NAME));
+        assertEquals(List.of("user2"), executor.query(name(2), NAME));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+
+        executor.executeUpdate(new UpdateBuilder(dialect).table("users").set("name", "renamed")
+                .where(Expression.eq("id", 1)).build());
+        assertEquals(0, cache.size());
+        assertEquals(List.of("renamed"), executor.query(name(1), NAME));
+
+        executor.executeUpdate(new InsertBuilder(dialect).into("bans").value("user_id", 1).build());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testArrayParametersAreComparedByContent() throws SQLException {
+        H2Dialect arrays = new H2Dialect();
+        arrays.setLargeInListStrategy(InListStrategy.ARRAY, 1);
+        RowMapper<Integer> id = rs -> rs.getInt(1);
+
+        Query first = new SelectBuilder(arrays).from("users").select("id").where(Expression.in("id", 1, 2)).orderBy("id").asc().build();
+        Query second = new SelectBuilder(arrays).from("users").select("id").where(Expression.in("id", 1, 2)).orderBy("id").asc().build();
+        Query other = new SelectBuilder(arrays).from("users").select("id").where(Expression.in("id", 1, 3)).orderBy("id").asc().build();
+        assertInstanceOf(Integer[].class, first.getParameter(0));
+        assertNotSame(first.getParameter(0), second.getParameter(0));
+
+        assertEquals(List.of(1, 2), executor.query(first, id));
+        assertEquals(List.of(1, 2), executor.query(second, id));
+        assertEquals(List.of(1, 3), executor.query(other, id));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testSubqueryTablesAreInvalidated() throws SQLException {
+        Query allowed = new SelectBuilder(dialect).from("users").select("name")
+                .where(Expression.notIn("id", new SelectBuilder(dialect).from("bans").select("user_id")))
+                .orderBy("id").asc().build();
+        assertEquals(10, executor.query(allowed, NAME).size());
+
+        try (BatchExecutor batch = new BatchExecutor(executor)) {
+            batch.add(new InsertBuilder(dialect).into("bans").value("user_id", 1));
+            batch.add(new InsertBuilder(dialect).into("bans").value("user_id", 2));
+        }
+        assertEquals(8, executor.query(allowed, NAME).size());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void testQueriesWithoutTablesAreNotCached() throws SQLException {
+        Query handMade = new Query("SELECT \"name\" FROM users WHERE \"id\" = ?");
+        handMade.addParameter(3);
+        assertEquals(List.of("user3"), executor.query(handMade, NAME));
+        assertEquals(List.of("user3"), executor.query(handMade, NAME));
+        assertEquals(0, cache.size());
+
+        executor.query(name(3), NAME);
+        executor.executeUpdate(new Query("DELETE FROM bans"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testTransactionsBypassTheCacheUntilCommitted() throws SQLException {
+        executor.query(name(4), NAME);
+        connection.setAutoCommit(false);
+        try {
+            executor.executeUpdate(new UpdateBuilder(dialect).table("users").set("name", "pending")
+                    .where(Expression.eq("id", 4)).build());
+            assertEquals(List.of("pending"), executor.query(name(4), NAME));
+            assertEquals(0, cache.size());
+
+            // another connection reads the committed row while the transaction is open
+            try (QueryExecutor other = new QueryExecutor(dataSource)) {
+                other.setResultCache(cache);
+                assertEquals(List.of("user4"), other.query(name(4), NAME));
+            }
+            assertEquals(1, cache.size());
+
+            executor.rollback();
+            assertEquals(0, cache.size());
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        assertEquals(List.of("user4"), executor.query(name(4), NAME));
+    }
+
+    @Test
+    void testEvictionAndExpiry() throws SQLException, InterruptedException {
+        ResultCache small = new ResultCache(3, 5, Duration.ofMillis(200));
+        executor.setResultCache(small);
+        Query all = new SelectBuilder(dialect).from("users").select("name").build();
+
+        executor.query(all, NAME);
+        assertEquals(0, small.size());
+
+        for (int id = 1; id <= 4; id++) {
+            executor.query(name(id), NAME);
+        }
+        assertEquals(3, small.size());
+        assertEquals(3, small.getWeight());
+        assertEquals(1, small.getEvictionCount());
+
+        executor.query(name(4), NAME);
+        assertEquals(1, small.getHitCount());
+        Thread.sleep(300);
+        executor.query(name(4), NAME);
+        assertEquals(1, small.getHitCount());
+
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache(0, 1, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache(1, 1, Duration.ZERO));
+    }
+
+    @Test
+    void testAsyncExecutorSharesTheCache() throws Exception {
+        try (AsyncQueryExecutor async = new AsyncQueryExecutor(dataSource)) {
+            async.setResultCache(cache);
+            assertEquals(List.of("user5"), async.query(name(5), NAME).get());
+            assertEquals(List.of("user5"), executor.query(name(5), NAME));
+            assertEquals(1, cache.getHitCount());
+
+            async.update(new DeleteBuilder(dialect).from("users").where(Expression.eq("id", 5)).build()).get();
+            assertEquals(List.of(), executor.query(name(5), NAME));
+        }
+    }
+}
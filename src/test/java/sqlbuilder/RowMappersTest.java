@@ -0,0 +1,135 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.H2Dialect;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.execution.RowMapper;
+import sqlbuilder.execution.RowMappers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowMappersTest {
+    enum Status { ACTIVE, LOCKED }
+
+    record Account(long id, String name, Integer age, BigDecimal balance, LocalDate createdAt, Status status) {
+    }
+
+    record User(String name, String email) {
+    }
+
+    record Missing(long id, String nickname) {
+    }
+
+    static class AccountBean {
+        private long id;
+        private String name;
+        private Integer age;
+        private boolean setterUsed;
+        String unmatched = "default";
+
+        public void setName(String name) {
+            this.name = name;
+            this.setterUsed = true;
+        }
+    }
+
+    private Connection connection;
+    private QueryExecutor executor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:mappers;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS accounts");
+            statement.execute("CREATE TABLE accounts (\"id\" BIGINT, \"name\" VARCHAR(50), \"age\" INT, "
+                    + "\"balance\" DECIMAL(10, 2), \"created_at\" DATE, \"status\" VARCHAR(10))");
+            statement.execute("INSERT INTO accounts VALUES (1, 'John', 30, 10.50, DATE '2024-01-31', 'ACTIVE'), "
+                    + "(2, 'Jane', NULL, NULL, NULL, NULL)");
+        }
+        executor = new QueryExecutor(connection);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.close();
+        connection.close();
+    }
+
+    private <T> List<T> select(RowMapper<T> mapper) throws SQLException {
+        Query query = new SelectBuilder(new H2Dialect()).from("accounts").orderBy("id").asc().build();
+        try (Stream<T> rows = query.stream(executor, mapper)) {
+            return rows.toList();
+        }
+    }
+
+    @Test
+    void testMapsRecords() throws SQLException {
+        List<Account> accounts = select(RowMappers.of(Account.class));
+
+        assertEquals(new Account(1, "John", 30, new BigDecimal("10.50"), LocalDate.of(2024, 1, 31), Status.ACTIVE),
+                accounts.get(0));
+        assertEquals(new Account(2, "Jane", null, null, null, null), accounts.get(1));
+    }
+
+    @Test
+    void testMapsClasses() throws SQLException {
+        List<AccountBean> accounts = select(RowMappers.of(AccountBean.class));
+
+        assertEquals(1, accounts.get(0).id);
+        assertEquals("John", accounts.get(0).name);
+        assertTrue(accounts.get(0).setterUsed);
+        assertNull(accounts.get(1).age);
+        assertEquals("default", accounts.get(1).unmatched);
+    }
+
+    @Test
+    void testMapperIsSharedAcrossExecutions() throws SQLException {
+        RowMapper<Account> mapper = RowMappers.of(Account.class);
+        assertSame(mapper, RowMappers.of(Account.class));
+
+        Query query = new SelectBuilder(new H2Dialect())
+                .select("status", "created_at", "balance", "age", "name", "id")
+                .from("accounts")
+                .build();
+        for (int run = 0; run < 2; run++) {
+            try (ResultSet rs = executor.executeQuery(query)) {
+                assertTrue(rs.next());
+                assertEquals(Status.ACTIVE, mapper.map(rs).status());
+            }
+        }
+    }
+
+    @Test
+    void testResolvesColumnsPerResultSetOfOneStatement() throws SQLException {
+        RowMapper<User> mapper = RowMappers.of(User.class);
+
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT 'n1' AS name, 'e1' AS email")) {
+                assertTrue(rs.next());
+                assertEquals(new User("n1", "e1"), mapper.map(rs));
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT 'e2' AS email, 'n2' AS name")) {
+                assertTrue(rs.next());
+                assertEquals(new User("n2", "e2"), mapper.map(rs));
+            }
+        }
+    }
+
+    @Test
+    void testMissingRecordComponent() {
+        assertThrows(IllegalStateException.class, () -> select(RowMappers.of(Missing.class)));
+        assertThrows(IllegalArgumentException.class, () -> RowMappers.of(Runnable.class));
+    }
+}
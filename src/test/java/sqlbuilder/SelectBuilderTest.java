@@ -3,11 +3,19 @@ package sqlbuilder;
 import org.junit.jupiter.api.Test;
 import sqlbuilder.dialects.SqlDialect;
 import sqlbuilder.dialects.*;
+import sqlbuilder.execution.QueryExecutor;
 import sqlbuilder.expressions.Expression;
 
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class SelectBuilderTest {
@@ -151,7 +159,8 @@ class SelectBuilderTest {
                 .limit(10)
                 .offset(5)
                 .build();
-        assertEquals("SELECT * FROM products ORDER BY \"price\" DESC LIMIT 10 OFFSET 5", query.getStatement());
+        assertEquals("SELECT * FROM products ORDER BY \"price\" DESC LIMIT ? OFFSET ?", query.getStatement());
+        assertEquals(List.of(10, 5), query.getParameters());
     }
 
     @Test
@@ -161,7 +170,25 @@ class SelectBuilderTest {
                 .limit(5)
                 .offset(0)
                 .build();
-        assertEquals("SELECT * FROM tasks LIMIT 5 OFFSET 0", query.getStatement());
+        assertEquals("SELECT * FROM tasks FETCH FIRST ? ROWS ONLY", query.getStatement());
+        assertEquals(List.of(5), query.getParameters());
+    }
+
+    @Test
+    void testMsSQLDialectPaging() {
+        MsSQLDialect dialect = new MsSQLDialect();
+        Query top = new SelectBuilder(dialect).from("tasks").select("id").distinct()
+                .where(Expression.eq("done", false)).limit(5).build();
+        assertEquals("SELECT DISTINCT TOP (?) \"id\" FROM tasks WHERE \"done\" = ?", top.getStatement());
+        assertEquals(List.of(5, false), top.getParameters());
+
+        Query page = new SelectBuilder(dialect).from("tasks").where(Expression.eq("done", false)).limit(5).offset(10).build();
+        assertEquals("SELECT * FROM tasks WHERE \"done\" = ? ORDER BY (SELECT NULL) OFFSET ? ROWS FETCH NEXT ? ROWS ONLY",
+                page.getStatement());
+        assertEquals(List.of(false, 10, 5), page.getParameters());
+
+        Query ordered = new SelectBuilder(dialect).from("tasks").orderBy("id").asc().limit(5).offset(10).build();
+        assertEquals("SELECT * FROM tasks ORDER BY \"id\" ASC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", ordered.getStatement());
     }
 
     @Test
@@ -263,16 +290,83 @@ class SelectBuilderTest {
                 .limit(10)
                 .build();
         
-        String expected = "SELECT \"u\".\"name\", SUM(o.amount) FROM users u LEFT JOIN orders o ON \"u\".\"id\" = \"o\".\"user_id\" WHERE \"u\".\"status\" = ? GROUP BY \"u\".\"name\" HAVING SUM(o.amount) > ? ORDER BY \"u\".\"name\" ASC LIMIT 10 OFFSET 0";
+        String expected = "SELECT \"u\".\"name\", SUM(o.amount) FROM users u LEFT JOIN orders o ON \"u\".\"id\" = \"o\".\"user_id\" WHERE \"u\".\"status\" = ? GROUP BY \"u\".\"name\" HAVING SUM(o.amount) > ? ORDER BY \"u\".\"name\" ASC LIMIT ? OFFSET ?";
         assertEquals(expected, query.getStatement());
-        assertEquals(List.of("active", 1000), query.getParameters());
+        assertEquals(List.of("active", 1000, 10, 0), query.getParameters());
     }
 
     @Test
     void testH2DialectPaging() {
         SelectBuilder builder = new SelectBuilder(new H2Dialect());
         Query query = builder.from("users").limit(10).offset(20).build();
-        assertEquals("SELECT * FROM users LIMIT 10 OFFSET 20", query.getStatement());
+        assertEquals("SELECT * FROM users LIMIT ? OFFSET ?", query.getStatement());
+        assertEquals(List.of(10, 20), query.getParameters());
+    }
+
+    @Test
+    void testPagingParameterCount() {
+        for (SqlDialect dialect : List.of(new H2Dialect(), new MsSQLDialect(), new DB2Dialect(), new OracleDialect())) {
+            for (int offset : new int[]{0, 10}) {
+                SelectBuilder builder = new SelectBuilder(dialect).from("t").where(Expression.eq("a", 1)).limit(5).offset(offset);
+                Query query = builder.build();
+                assertEquals(query.getParameterCount(), builder.countParameters());
+                ParameterArray collected = new ParameterArray(0);
+                builder.collectParameters(collected);
+                assertEquals(query.getParameters(), collected.asList());
+            }
+        }
+    }
+
+    @Test
+    void testPagingReturnsOnlyRequestedRows() throws SQLException {
+        for (SqlDialect dialect : List.of(new H2Dialect(), new MsSQLDialect(), new DB2Dialect(), new OracleDialect())) {
+            // H2 only accepts TOP in its SQL Server mode, which in turn rejects LIMIT
+            String mode = dialect instanceof MsSQLDialect ? "MSSQLServer" : "Regular";
+            try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:paging;MODE=" + mode);
+                 QueryExecutor executor = new QueryExecutor(connection)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TABLE numbers (\"n\" INT PRIMARY KEY)");
+                    statement.execute("INSERT INTO numbers SELECT X FROM SYSTEM_RANGE(1, 100)");
+                }
+
+                assertEquals(List.of(1, 2, 3), numbers(executor,
+                        new SelectBuilder(dialect).from("numbers").select("n").orderBy("n").asc().limit(3).build()));
+                assertEquals(List.of(11, 12, 13), numbers(executor,
+                        new SelectBuilder(dialect).from("numbers").select("n").orderBy("n").asc().limit(3).offset(10).build()));
+                assertEquals(5, numbers(executor,
+                        new SelectBuilder(dialect).from("numbers").select("n").limit(5).offset(90).build()).size());
+            }
+        }
+    }
+
+    private static List<Integer> numbers(QueryExecutor executor, Query query) throws SQLException {
+        List<Integer> numbers = new ArrayList<>();
+        try (ResultSet rs = executor.executeQuery(query)) {
+            while (rs.next()) {
+                numbers.add(rs.getInt(1));
+            }
+        }
+        return numbers;
+    }
+
+    @Test
+    void testInlinePaging() {
+        H2Dialect dialect = new H2Dialect();
+        dialect.setPagingParameters(false);
+        Query query = new SelectBuilder(dialect).from("users").where(Expression.eq("id", 1)).limit(10).offset(20).build();
+        assertEquals("SELECT * FROM users WHERE \"id\" = ? LIMIT 10 OFFSET 20", query.getStatement());
+        assertEquals(List.of(1), query.getParameters());
+    }
+
+    @Test
+    void testBoundPagingSharesStatementText() {
+        StatementCache cache = new StatementCache(4);
+        H2Dialect dialect = new H2Dialect();
+        Query first = new SelectBuilder(dialect).useStatementCache(cache).from("users").limit(10).offset(0).build();
+        Query second = new SelectBuilder(dialect).useStatementCache(cache).from("users").limit(10).offset(10).build();
+        assertSame(first.getStatement(), second.getStatement());
+        assertEquals(List.of(10, 10), second.getParameters());
+        assertEquals(1, cache.getHitCount());
     }
 
     @Test
@@ -317,4 +411,65 @@ class SelectBuilderTest {
         assertThrows(sqlbuilder.exceptions.ValueCannotBeEmptyException.class, () -> builder.from(""));
         assertThrows(sqlbuilder.exceptions.ValueCannotBeEmptyException.class, () -> builder.from((String)null));
     }
+
+    @Test
+    void testForkIsIndependentOfItsBase() {
+        SelectBuilder base = new SelectBuilder(new PostgresDialect()).select("id").from("users")
+                .where(Expression.eq("tenant", "acme"));
+        SelectBuilder active = base.fork().where(Expression.eq("status", "active")).orderBy("id").asc();
+        SelectBuilder named = base.fork().select("name").where(Expression.eq("status", "named"));
+        base.where(Expression.eq("id", 1));
+
+        assertEquals("SELECT \"id\" FROM users WHERE \"tenant\" = ? AND \"id\" = ?", base.build().getStatement());
+        assertEquals("SELECT \"id\" FROM users WHERE \"tenant\" = ? AND \"status\" = ? ORDER BY \"id\" ASC",
+                active.build().getStatement());
+        Query query = named.build();
+        assertEquals("SELECT \"id\", \"name\" FROM users WHERE \"tenant\" = ? AND \"status\" = ?", query.getStatement());
+        assertEquals(List.of("acme", "named"), query.getParameters());
+    }
+
+    @Test
+    void testBuildHasNoSideEffects() {
+        SelectBuilder builder = new SelectBuilder(new PostgresDialect()).from("users").orderBy("name");
+        assertEquals("SELECT * FROM users ORDER BY \"name\" DESC", builder.build().getStatement());
+
+        Query query = builder.select("id").asc().build();
+        assertEquals("SELECT \"id\" FROM users ORDER BY \"name\" ASC", query.getStatement());
+    }
+
+    @Test
+    void testForksOfSharedBaseBuildConcurrently() throws Exception {
+        SelectBuilder base = new SelectBuilder(new PostgresDialect()).from("orders").where(Expression.eq("tenant", "acme"));
+        int threads = 8;
+        try (var executor = java.util.concurrent.Executors.newFixedThreadPool(threads)) {
+            List<java.util.concurrent.Future<List<Query>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    List<Query> queries = new ArrayList<>();
+                    for (int i = 0; i < 200; i++) {
+                        SelectBuilder fork = base.fork();
+                        for (int c = 0; c <= i % 5; c++) {
+                            fork.where(Expression.eq("c" + c, thread * 1000 + i));
+                        }
+                        queries.add(fork.build());
+                        queries.add(base.build());
+                    }
+                    return queries;
+                }));
+            }
+            for (int t = 0; t < threads; t++) {
+                List<Query> queries = futures.get(t).get();
+                for (int i = 0; i < 200; i++) {
+                    Query query = queries.get(2 * i);
+                    assertEquals(2 + i % 5, query.getParameterCount());
+                    assertEquals("acme", query.getParameter(0));
+                    for (int c = 1; c < query.getParameterCount(); c++) {
+                        assertEquals(t * 1000 + i, query.getParameter(c));
+                    }
+                    assertEquals("SELECT * FROM orders WHERE \"tenant\" = ?", queries.get(2 * i + 1).getStatement());
+                }
+            }
+        }
+    }
 }
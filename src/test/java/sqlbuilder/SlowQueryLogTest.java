@@ -0,0 +1,150 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.*;
+import sqlbuilder.execution.QueryExecutor;
+import sqlbuilder.execution.SlowQueryLog;
+import sqlbuilder.expressions.Expression;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+    private final SqlDialect dialect = new H2Dialect();
+    private final List<SlowQueryLog.SlowQuery> reports = new CopyOnWriteArrayList<>();
+    private Connection connection;
+    private QueryExecutor executor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:slow");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (\"id\" INT PRIMARY KEY, \"name\" VARCHAR(50))");
+            statement.execute("INSERT INTO users SELECT X, 'user' || X FROM SYSTEM_RANGE(1, 10)");
+        }
+        executor = new QueryExecutor(connection);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.close();
+        connection.close();
+    }
+
+    private Query byId(SqlDialect dialect, int id) {
+        return new SelectBuilder(dialect).from("users").select("name").where(Expression.eq("id", id)).build();
+    }
+
+    @Test
+    void testSlowQueryIsReportedWithPlan() throws SQLException {
+        executor.setSlowQueryLog(new SlowQueryLog(Duration.ZERO, Duration.ofMinutes(1), reports::add));
+
+        assertEquals(List.of("user3"), executor.query(byId(dialect, 3), rs -> rs.getString(1)));
+
+        assertEquals(1, reports.size());
+        SlowQueryLog.SlowQuery report = reports.get(0);
+        assertEquals("SELECT \"name\" FROM users WHERE \"id\" = ?", report.statement());
+        assertEquals(List.of("Integer"), report.parameterTypes());
+        assertTrue(report.plan().contains("\"PUBLIC\".\"USERS\""), report.plan());
+        assertTrue(report.plan().contains("PRIMARY_KEY"), report.plan());
+        assertTrue(report.toString().startsWith("Slow query ("));
+    }
+
+    @Test
+    void testPlansAreRateLimitedPerStatement() throws SQLException {
+        executor.setSlowQueryLog(new SlowQueryLog(Duration.ZERO, Duration.ofMinutes(1), reports::add));
+
+        executor.query(byId(dialect, 1), rs -> rs.getString(1));
+        executor.query(byId(dialect, 2), rs -> rs.getString(1));
+        executor.executeUpdate(new UpdateBuilder(dialect).table("users").set("name", "x").where(Expression.eq("id", 1)).build());
+
+        assertEquals(3, reports.size());
+        assertNotNull(reports.get(0).plan());
+        assertNull(reports.get(1).plan());
+        assertNotNull(reports.get(2).plan());
+        assertEquals(List.of("String", "Integer"), reports.get(2).parameterTypes());
+    }
+
+    @Test
+    void testExecuteQueryIsCheckedOnceTheResultSetIsClosed() throws SQLException, InterruptedException {
+        executor.setSlowQueryLog(new SlowQueryLog(Duration.ofMillis(50), Duration.ZERO, reports::add));
+        ResultSet resultSet = executor.executeQuery(byId(dialect, 1));
+        assertTrue(resultSet.next());
+        Thread.sleep(60);
+        assertTrue(reports.isEmpty());
+
+        resultSet.close();
+        resultSet.close();
+        assertEquals(1, reports.size());
+        assertNotNull(reports.get(0).plan());
+        assertTrue(reports.get(0).duration().toMillis() >= 50);
+    }
+
+    @Test
+    void testFastQueriesAreNotReported() throws SQLException {
+        executor.setSlowQueryLog(new SlowQueryLog(Duration.ofMinutes(1), Duration.ZERO, reports::add));
+        try (ResultSet resultSet = executor.executeQuery(byId(dialect, 1))) {
+            assertTrue(resultSet.next());
+        }
+        assertTrue(reports.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new SlowQueryLog(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void testFailedExplainKeepsTransactionAndRunsTeardown() throws SQLException {
+        SqlDialect broken = new H2Dialect() {
+            @Override
+            public Explain explain(String statement) {
+                return new Explain(List.of("SET @PLAN_STATE = 1"), "EXPLAIN NOT SQL", true, List.of("SET @PLAN_STATE = 2"));
+            }
+        };
+        executor.setSlowQueryLog(new SlowQueryLog(Duration.ZERO, Duration.ZERO, reports::add));
+        connection.setAutoCommit(false);
+        try {
+            executor.executeUpdate(new UpdateBuilder(broken).table("users").set("name", "renamed").where(Expression.eq("id", 5)).build());
+            assertEquals(List.of("renamed"), executor.query(byId(broken, 5), rs -> rs.getString(1)));
+            executor.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        assertEquals(2, reports.size());
+        assertNull(reports.get(0).plan());
+        try (Statement statement = connection.createStatement(); ResultSet state = statement.executeQuery("SELECT @PLAN_STATE")) {
+            assertTrue(state.next());
+            assertEquals(2, state.getInt(1));
+        }
+
+        executor.query(new Query("SELECT 1"), rs -> rs.getInt(1));
+        assertNull(reports.get(2).plan());
+    }
+
+    @Test
+    void testDialectExplainSyntax() {
+        assertEquals(Explain.of("EXPLAIN SELECT 1"), new H2Dialect().explain("SELECT 1"));
+        assertEquals(Explain.of("EXPLAIN SELECT 1"), new PostgresDialect().explain("SELECT 1"));
+
+        Explain oracle = new OracleDialect().explain("SELECT \"a?\" FROM t WHERE \"x\" = ? AND \"y\" = '?' AND \"z\" IN (?, ?)");
+        assertEquals(List.of("EXPLAIN PLAN FOR SELECT \"a?\" FROM t WHERE \"x\" = :1 AND \"y\" = '?' AND \"z\" IN (:2, :3)"), oracle.setup());
+        assertEquals("SELECT PLAN_TABLE_OUTPUT FROM TABLE(DBMS_XPLAN.DISPLAY())", oracle.plan());
+        assertFalse(oracle.bindParameters());
+
+        Explain msSql = new MsSQLDialect().explain("SELECT ?");
+        assertEquals(List.of("SET SHOWPLAN_TEXT ON"), msSql.setup());
+        assertEquals("SELECT ?", msSql.plan());
+        assertTrue(msSql.bindParameters());
+        assertEquals(List.of("SET SHOWPLAN_TEXT OFF"), msSql.teardown());
+
+        assertNull(new DB2Dialect().explain("SELECT 1"));
+    }
+}
@@ -0,0 +1,213 @@
+package sqlbuilder;
+
+import org.junit.jupiter.api.Test;
+import sqlbuilder.dialects.SqlDialect;
+import sqlbuilder.dialects.*;
+import sqlbuilder.expressions.Condition;
+import sqlbuilder.expressions.Expression;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCacheTest {
+    private final SqlDialect dialect = new PostgresDialect();
+
+    private SelectBuilder select(StatementCache cache, Object status, Object... roles) {
+        return new SelectBuilder(dialect)
+                .useStatementCache(cache)
+                .select("u.id", "u.name")
+                .from("users", "u")
+                .where(Expression.eq("u.status", status).and().in("u.role", roles))
+                .orderBy("u.name").asc();
+    }
+
+    @Test
+    void testSameShapeReusesStatement() {
+        StatementCache cache = new StatementCache(10);
+        Query first = select(cache, "active", "admin", "editor").build();
+        Query second = select(cache, "inactive", "guest", "viewer").build();
+
+        assertEquals("SELECT \"u\".\"id\", \"u\".\"name\" FROM users u WHERE \"u\".\"status\" = ? AND \"u\".\"role\" IN (?, ?) ORDER BY \"u\".\"name\" ASC", first.getStatement());
+        assertSame(first.getStatement(), second.getStatement());
+        assertEquals(List.of("active", "admin", "editor"), first.getParameters());
+        assertEquals(List.of("inactive", "guest", "viewer"), second.getParameters());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testInListArityIsPartOfShape() {
+        StatementCache cache = new StatementCache(10);
+        Query two = select(cache, "active", "admin", "editor").build();
+        Query three = select(cache, "active", "admin", "editor", "guest").build();
+
+        assertNotEquals(two.getStatement(), three.getStatement());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void testCachedStatementMatchesUncachedBuild() {
+        StatementCache cache = new StatementCache(10);
+        SelectBuilder subQuery = new SelectBuilder(dialect).select("user_id").from("orders").where(Expression.gt("amount", 10));
+        SelectBuilder cached = new SelectBuilder(dialect, "app")
+                .useStatementCache(cache)
+                .from("users", "u")
+                .leftJoin("roles", "r", Expression.eq("u.role_id", Expression.column("r.id")))
+                .where(Expression.exists(subQuery))
+                .groupBy("u.id")
+                .limit(10);
+        SelectBuilder uncached = new SelectBuilder(dialect, "app")
+                .from("users", "u")
+                .leftJoin("roles", "r", Expression.eq("u.role_id", Expression.column("r.id")))
+                .where(Expression.exists(subQuery))
+                .groupBy("u.id")
+                .limit(10);
+
+        Query expected = uncached.build();
+        cached.build();
+        Query actual = cached.build();
+
+        assertEquals(expected.getStatement(), actual.getStatement());
+        assertEquals(expected.getParameters(), actual.getParameters());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void testDialectAndSchemaArePartOfShape() {
+        StatementCache cache = new StatementCache(10);
+        new SelectBuilder(dialect).useStatementCache(cache).from("users").build();
+        new SelectBuilder(new H2Dialect()).useStatementCache(cache).from("users").build();
+        new SelectBuilder(dialect, "app").useStatementCache(cache).from("users").build();
+
+        assertEquals(3, cache.getMissCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedStatementIsEvicted() {
+        StatementCache cache = new StatementCache(2);
+        new SelectBuilder(dialect).useStatementCache(cache).from("a").build();
+        new SelectBuilder(dialect).useStatementCache(cache).from("b").build();
+        new SelectBuilder(dialect).useStatementCache(cache).from("a").build();
+        new SelectBuilder(dialect).useStatementCache(cache).from("c").build();
+        new SelectBuilder(dialect).useStatementCache(cache).from("a").build();
+        new SelectBuilder(dialect).useStatementCache(cache).from("b").build();
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void testCrudBuildersUseCache() {
+        StatementCache cache = new StatementCache(10);
+        Query first = new UpdateBuilder(dialect).useStatementCache(cache).table("users").set("name", "a").where(Expression.eq("id", 1)).build();
+        Query second = new UpdateBuilder(dialect).useStatementCache(cache).table("users").set("name", "b").where(Expression.eq("id", 2)).build();
+
+        assertSame(first.getStatement(), second.getStatement());
+        assertEquals(List.of("b", 2), second.getParameters());
+    }
+
+    @Test
+    void testHitsDoNotRender() {
+        AtomicInteger renders = new AtomicInteger();
+        Condition counted = new Condition() {
+            @Override
+            public void render(RenderContext context) {
+                renders.incrementAndGet();
+                context.append("1 = 1");
+            }
+
+            @Override
+            public void appendShape(StatementShape shape) {
+                shape.add("1 = 1");
+            }
+
+            @Override
+            public List<Object> getParameters() {
+                return List.of();
+            }
+        };
+        StatementCache cache = new StatementCache(10);
+        for (int i = 0; i < 3; i++) {
+            Query query = new SelectBuilder(dialect).useStatementCache(cache).from("users").where(counted)
+                    .where(Expression.in("id", i, i + 1)).build();
+            assertEquals("SELECT * FROM users WHERE 1 = 1 AND \"id\" IN (?, ?)", query.getStatement());
+            assertEquals(List.of(i, i + 1), query.getParameters());
+            assertEquals(Set.of("users"), query.getTables());
+        }
+        assertEquals(1, renders.get());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    void testEveryClauseIsPartOfShape() {
+        MsSQLDialect mssql = new MsSQLDialect();
+        mssql.setLargeInListStrategy(InListStrategy.JSON, 3);
+        Keyset keyset = Keyset.of(Keyset.asc("name"), Keyset.desc("id"));
+        SelectBuilder orders = new SelectBuilder(dialect).select("user_id").from("orders");
+        List<Supplier<AbstractBuilder<?>>> builders = List.of(
+                () -> new SelectBuilder(dialect).from("users"),
+                () -> new SelectBuilder(dialect).distinct().from("users"),
+                () -> new SelectBuilder(dialect).select("id").from("users"),
+                () -> new SelectBuilder(dialect).from("users").limit(10),
+                () -> new SelectBuilder(dialect).from("users").limit(10).offset(5),
+                () -> new SelectBuilder(mssql).from("users").limit(10),
+                () -> new SelectBuilder(mssql).from("users").limit(10).offset(5),
+                () -> new SelectBuilder(dialect).from("users").leftJoin("roles", "r", Expression.eq("role_id", Expression.column("r.id"))),
+                () -> new SelectBuilder(dialect).from("users").innerJoin("roles", "r", Expression.eq("role_id", Expression.column("r.id"))),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.eq("id", 1)),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.lt("id", 1)),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.isNull("id")),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.isNotNull("id")),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.not(Expression.isNull("id"))),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.brackets(Expression.isNull("id"))),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.isNull("id").or().isNull("name")),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.isNull("id").and().isNull("name")),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.in("id", 1, 2)),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.notIn("id", 1, 2)),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.in("id", 1, 2, 3)).inListPadding(InListPadding.powerOfTwo()),
+                () -> new SelectBuilder(mssql).from("users").where(Expression.in("id", 1, 2, 3)),
+                () -> new SelectBuilder(mssql).from("users").where(Expression.in("id", 1, 2, 3, 4)),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.in("id", orders)),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.exists(orders)),
+                () -> new SelectBuilder(dialect).from("users").where(Expression.notExists(orders)),
+                () -> new SelectBuilder(dialect).from("users").groupBy("name"),
+                () -> new SelectBuilder(dialect).from("users").groupBy("name").having(Expression.isNotNull("name")),
+                () -> new SelectBuilder(dialect).from("users").orderBy("name").asc(),
+                () -> new SelectBuilder(dialect).from("users").orderBy("name").desc(),
+                () -> new SelectBuilder(dialect).from("users").seekAfter(keyset, 10, "a", 1),
+                () -> new SelectBuilder(new OracleDialect()).from("users").seekAfter(keyset, 10, "a", 1),
+                () -> new DeleteBuilder(dialect).from("users"),
+                () -> new DeleteBuilder(dialect).from("users").where(Expression.eq("id", 1)),
+                () -> new UpdateBuilder(dialect).table("users").set("name", "a"),
+                () -> new UpdateBuilder(dialect).table("users").set("name", "a").set("id", 1),
+                () -> new InsertBuilder(dialect).into("users").value("name", "a"),
+                () -> new InsertBuilder(dialect).into("users").value("id", 1));
+
+        StatementCache cache = new StatementCache(100);
+        for (int round = 0; round < 2; round++) {
+            for (Supplier<AbstractBuilder<?>> builder : builders) {
+                Query expected = builder.get().build();
+                Query actual = builder.get().useStatementCache(cache).build();
+                assertEquals(expected.getStatement(), actual.getStatement());
+                assertArrayEquals(expected.getParameters().toArray(), actual.getParameters().toArray(), expected.getStatement());
+                assertEquals(expected.getTables(), actual.getTables());
+            }
+        }
+        assertEquals(builders.size(), cache.getMissCount());
+        assertEquals(builders.size(), cache.getHitCount());
+    }
+
+    @Test
+    void testInvalidMaximumSizeFails() {
+        assertThrows(IllegalArgumentException.class, () -> new StatementCache(0));
+    }
+}
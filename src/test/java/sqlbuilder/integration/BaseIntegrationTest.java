@@ -7,6 +7,8 @@ import sqlbuilder.SelectBuilder;
 import sqlbuilder.expressions.*;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -61,4 +63,67 @@ public abstract class BaseIntegrationTest extends AbstractDatabaseTest {
 
         assertEquals(2, results.size());
     }
+
+    @Test
+    void testLargeInList() throws SQLException {
+        execute(new InsertBuilder(dialect).into("users").value("id", 5).value("name", "Carol").value("email", "carol@example.com").build());
+        execute(new InsertBuilder(dialect).into("users").value("id", 6).value("name", "Dave").value("email", "dave@example.com").build());
+
+        List<Object> ids = new ArrayList<>();
+        for (int id = 6; id < 5006; id++) {
+            ids.add(id);
+        }
+
+        List<Map<String, Object>> in = query(new SelectBuilder(dialect).from("users").select("name").where(Expression.in("id", ids)).build());
+        List<Map<String, Object>> notIn = query(new SelectBuilder(dialect).from("users").select("name").where(Expression.notIn("id", ids)).build());
+
+        assertEquals(1, in.size());
+        assertEquals("Dave", in.get(0).get("name"));
+        assertEquals(1, notIn.size());
+        assertEquals("Carol", notIn.get(0).get("name"));
+    }
+
+    @Test
+    void testPaging() throws SQLException {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int id = 200; id < 250; id++) {
+            rows.add(List.of(id, "User " + id, "user" + id + "@example.com"));
+        }
+        Iterator<Query> queries = new InsertBuilder(dialect).into("users").columns("id", "name", "email").buildRows(rows.iterator());
+        while (queries.hasNext()) {
+            execute(queries.next());
+        }
+
+        SelectBuilder firstPage = new SelectBuilder(dialect).from("users").select("id")
+                .where(Expression.geq("id", 200)).orderBy("id").asc().limit(10);
+        List<Map<String, Object>> first = query(firstPage.build());
+        List<Map<String, Object>> third = query(firstPage.offset(20).build());
+        List<Map<String, Object>> unordered = query(new SelectBuilder(dialect).from("users").select("id")
+                .where(Expression.geq("id", 200)).limit(7).offset(40).build());
+
+        assertEquals(10, first.size());
+        assertEquals(200, ((Number) first.get(0).get("id")).intValue());
+        assertEquals(10, third.size());
+        assertEquals(220, ((Number) third.get(0).get("id")).intValue());
+        assertEquals(7, unordered.size());
+    }
+
+    @Test
+    void testMultiRowInsert() throws SQLException {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int id = 100; id < 3100; id++) {
+            rows.add(List.of(id, "User " + id, "user" + id + "@example.com"));
+        }
+
+        Iterator<Query> queries = new InsertBuilder(dialect)
+                .into("users")
+                .columns("id", "name", "email")
+                .buildRows(rows.iterator());
+        while (queries.hasNext()) {
+            execute(queries.next());
+        }
+
+        List<Map<String, Object>> results = query(new SelectBuilder(dialect).from("users").select("id").where(Expression.geq("id", 100)).build());
+        assertEquals(3000, results.size());
+    }
 }